@@ -0,0 +1,87 @@
+package com.thoroldvix.economatic.goldprice;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a G2G offer payload covering every tracked server, streamed or read as a tree. {@code treeWithNewMapper}
+ * reads the tree with a new {@link ObjectMapper} per call and normalizes every title, like the deserializer did before
+ * it streamed and memoized server names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GoldPriceDeserializerBenchmark {
+
+    private static final int OFFER_COUNT = 96;
+    private static final String[] SERVERS = {"Pyrewood Village", "Giantstalker", "Whitemane", "Mograine", "Firemaw", "Golemagg",
+            "Earthshaker", "Gehennas", "Everlook", "Lakeshire", "Razorfen", "Transcendence"};
+    private static final String[] REGIONS = {"EU", "US", "OCE", "RU"};
+    private static final String[] FACTIONS = {"Alliance", "Horde"};
+
+    private final GoldPriceDeserializer goldPriceDeserializer = new GoldPriceDeserializer();
+    private final GoldPriceDeserializer unmemoizedDeserializer = new GoldPriceDeserializer(null, 0);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String payload;
+    private byte[] payloadBytes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("{\"code\":2000,\"payload\":{\"page_size\":96,\"results\":[");
+        for (int offer = 0; offer < OFFER_COUNT; offer++) {
+            if (offer > 0) {
+                json.append(',');
+            }
+            String title = "%s [%s] - %s".formatted(
+                    SERVERS[offer % SERVERS.length],
+                    REGIONS[offer / SERVERS.length % REGIONS.length],
+                    FACTIONS[offer / (SERVERS.length * REGIONS.length) % FACTIONS.length]);
+            json.append("{\"title\":\"").append(title)
+                    .append("\",\"offer_id\":\"G").append(1_000_000 + offer)
+                    .append("\",\"converted_unit_price\":").append(String.format(Locale.ROOT, "%.6f", random.nextDouble() * 0.0025))
+                    .append(",\"unit_price\":").append(String.format(Locale.ROOT, "%.6f", random.nextDouble() * 0.0025))
+                    .append(",\"available_qty\":").append(random.nextInt(1_000_000))
+                    .append(",\"brand_id\":\"lgc_game_29076\"}");
+        }
+        payload = json.append("]}}").toString();
+        payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<GoldPriceResponse> extractPricesFromJson() {
+        return goldPriceDeserializer.extractPricesFromJson(payload);
+    }
+
+    @Benchmark
+    public List<GoldPriceResponse> parseStream() {
+        return goldPriceDeserializer.parse(new ByteArrayInputStream(payloadBytes));
+    }
+
+    @Benchmark
+    public List<GoldPriceResponse> tree() throws IOException {
+        try (JsonParser parser = objectMapper.createParser(payload)) {
+            return goldPriceDeserializer.deserialize(parser, objectMapper.getDeserializationContext());
+        }
+    }
+
+    @Benchmark
+    public List<GoldPriceResponse> treeWithNewMapper() throws IOException {
+        ObjectMapper newMapper = new ObjectMapper();
+        try (JsonParser parser = newMapper.createParser(payload)) {
+            return unmemoizedDeserializer.deserialize(parser, newMapper.getDeserializationContext());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.item.Item;
+import com.thoroldvix.economatic.server.Server;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping of one full server snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemPriceMapperBenchmark {
+
+    private static final int ITEM_COUNT = 17_000;
+
+    private final ItemPriceMapper itemPriceMapper = new ItemPriceMapperImpl();
+    private List<ItemPrice> itemPrices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        Server server = Server.builder()
+                .id(41003)
+                .uniqueName("everlook-alliance")
+                .build();
+        itemPrices = new ArrayList<>(ITEM_COUNT);
+        for (int itemId = 1; itemId <= ITEM_COUNT; itemId++) {
+            Item item = Item.builder()
+                    .id(itemId)
+                    .uniqueName("item-" + itemId)
+                    .build();
+            itemPrices.add(ItemPrice.builder()
+                    .id((long) itemId)
+                    .item(item)
+                    .server(server)
+                    .minBuyout(random.nextInt(5_000_000))
+                    .historicalValue(random.nextInt(5_000_000))
+                    .marketValue(random.nextInt(5_000_000))
+                    .quantity(random.nextInt(500))
+                    .numAuctions(random.nextInt(50))
+                    .updatedAt(now)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ItemPriceResponse> toList() {
+        return itemPriceMapper.toList(itemPrices);
+    }
+}
@@ -0,0 +1,76 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoroldvix.economatic.item.TrackedItems;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Decoding and filtering of a full NexusHub server payload, using both the buffered and the streaming paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NexusHubIngestionBenchmark {
+
+    private static final int PAYLOAD_ITEMS = 17_000;
+    private static final int TRACKED_ITEMS = 15_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final NexusHubPriceParser nexusHubPriceParser = new NexusHubPriceParser();
+    private byte[] payload;
+    private List<NexusHubResponse.NexusHubPrice> decodedPrices;
+    private NexusHubService nexusHubService;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("{\"slug\":\"everlook-alliance\",\"data\":[");
+        for (int itemId = 1; itemId <= PAYLOAD_ITEMS; itemId++) {
+            boolean listed = random.nextInt(10) > 0;
+            if (itemId > 1) {
+                json.append(',');
+            }
+            json.append("{\"itemId\":").append(itemId)
+                    .append(",\"minBuyout\":").append(listed ? random.nextInt(5_000_000) + 1 : 0)
+                    .append(",\"historicalValue\":").append(random.nextInt(5_000_000) + 1)
+                    .append(",\"marketValue\":").append(random.nextInt(5_000_000) + 1)
+                    .append(",\"quantity\":").append(listed ? random.nextInt(500) + 1 : 0)
+                    .append(",\"numAuctions\":").append(listed ? random.nextInt(50) + 1 : 0)
+                    .append(",\"previous\":null}");
+        }
+        payload = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        decodedPrices = objectMapper.readValue(payload, NexusHubResponse.class).data();
+        TrackedItems trackedItems = TrackedItems.of(IntStream.rangeClosed(1, TRACKED_ITEMS).boxed().toList());
+        nexusHubService = new NexusHubService(null, nexusHubPriceParser, null, trackedItems);
+    }
+
+    @Benchmark
+    public List<NexusHubResponse.NexusHubPrice> decodeAndFilter() throws IOException {
+        NexusHubResponse response = objectMapper.readValue(payload, NexusHubResponse.class);
+        return nexusHubService.filterPriceList(response.data());
+    }
+
+    @Benchmark
+    public List<NexusHubResponse.NexusHubPrice> filterPriceList() {
+        return nexusHubService.filterPriceList(decodedPrices);
+    }
+
+    @Benchmark
+    public void streamingParse(Blackhole blackhole) {
+        nexusHubPriceParser.parse(new ByteArrayInputStream(payload), blackhole::consume);
+    }
+}
@@ -0,0 +1,136 @@
+package com.thoroldvix.economatic.recommendation;
+
+import com.thoroldvix.economatic.goldprice.GoldPriceResponse;
+import com.thoroldvix.economatic.itemprice.ItemPriceResponse;
+import com.thoroldvix.economatic.population.PopulationResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the {@link ServerScores} engine with the previous {@code Map<String, BigDecimal>} scoring
+ * for 1k and 5k item lists across all servers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationScoringBenchmark {
+
+    private static final BigDecimal MAX_ITEM_PRICE_COPPER = new BigDecimal("15000000");
+    private static final BigDecimal MAX_POPULATION = new BigDecimal("20000");
+    private static final BigDecimal MAX_GOLD_PRICE_USD = new BigDecimal("0.0025");
+    private static final BigDecimal WEIGHT = BigDecimal.ONE;
+    private static final BigDecimal POPULATION_WEIGHT = new BigDecimal("0.1");
+    private static final int SCALE = 6;
+
+    @Param({"96"})
+    private int serverCount;
+
+    @Param({"1000", "5000"})
+    private int itemCount;
+
+    @Param({"5"})
+    private int limit;
+
+    private List<PopulationResponse> populations;
+    private List<ItemPriceResponse> itemPrices;
+    private List<GoldPriceResponse> goldPrices;
+    private PopulationScoreProvider populationScoreProvider;
+    private ItemPriceScoreProvider itemPriceScoreProvider;
+    private GoldPriceScoreProvider goldPriceScoreProvider;
+    private RecommendationMapper recommendationMapper;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        populations = new ArrayList<>(serverCount);
+        goldPrices = new ArrayList<>(serverCount);
+        itemPrices = new ArrayList<>(serverCount * itemCount);
+        for (int server = 0; server < serverCount; server++) {
+            String serverName = "server-" + server;
+            populations.add(new PopulationResponse(serverName, 500 + random.nextInt(15000), now));
+            goldPrices.add(new GoldPriceResponse(BigDecimal.valueOf(random.nextInt(2500), 6), serverName, now));
+            for (int item = 0; item < itemCount; item++) {
+                itemPrices.add(ItemPriceResponse.builder()
+                        .itemId(item)
+                        .itemName("item-" + item)
+                        .server(serverName)
+                        .minBuyout(random.nextInt(1_000_000))
+                        .marketValue(random.nextInt(1_000_000))
+                        .updatedAt(now)
+                        .build());
+            }
+        }
+
+        RecommendationProp prop = new RecommendationProp(WEIGHT, POPULATION_WEIGHT, WEIGHT, 1000);
+        populationScoreProvider = new PopulationScoreProvider(null, prop);
+        itemPriceScoreProvider = new ItemPriceScoreProvider(null, prop);
+        goldPriceScoreProvider = new GoldPriceScoreProvider(null, prop);
+        recommendationMapper = new RecommendationMapper() {
+        };
+    }
+
+    @Benchmark
+    public RecommendationListResponse serverScores() {
+        ServerScores scores = populationScoreProvider.createScores(populations, POPULATION_WEIGHT);
+        itemPriceScoreProvider.addScores(itemPrices, false, WEIGHT, scores);
+        goldPriceScoreProvider.addScores(goldPrices, WEIGHT, scores);
+        return recommendationMapper.toRecommendationResponse(scores, limit);
+    }
+
+    @Benchmark
+    public RecommendationListResponse bigDecimalMaps() {
+        Map<String, BigDecimal> populationScores = populations.stream()
+                .filter(population -> population.value() >= 1000)
+                .collect(Collectors.toMap(PopulationResponse::server,
+                        population -> weightedValue(population.value(), POPULATION_WEIGHT, MAX_POPULATION)));
+        Set<String> servers = populationScores.keySet();
+        Map<String, BigDecimal> itemPriceScores = itemPrices.stream()
+                .filter(itemPrice -> servers.contains(itemPrice.server()))
+                .collect(Collectors.toMap(ItemPriceResponse::server,
+                        itemPrice -> weightedValue(itemPrice.minBuyout(), WEIGHT, MAX_ITEM_PRICE_COPPER),
+                        BigDecimal::add));
+        Map<String, BigDecimal> goldPriceScores = goldPrices.stream()
+                .filter(goldPrice -> servers.contains(goldPrice.server()))
+                .collect(Collectors.toMap(GoldPriceResponse::server,
+                        goldPrice -> weightedValue(goldPrice.price(), WEIGHT, MAX_GOLD_PRICE_USD)));
+
+        List<RecommendationResponse> recommendations = goldPriceScores.keySet().stream()
+                .map(server -> {
+                    BigDecimal itemPriceScore = scaled(itemPriceScores, server);
+                    BigDecimal populationScore = scaled(populationScores, server);
+                    BigDecimal goldPriceScore = scaled(goldPriceScores, server);
+                    return RecommendationResponse.builder()
+                            .serverName(server)
+                            .totalScore(itemPriceScore.add(populationScore).add(goldPriceScore))
+                            .itemPriceScore(itemPriceScore)
+                            .populationScore(populationScore)
+                            .goldPriceScore(goldPriceScore)
+                            .build();
+                })
+                .sorted(Comparator.comparing(RecommendationResponse::totalScore).reversed())
+                .limit(limit)
+                .toList();
+        return new RecommendationListResponse(recommendations);
+    }
+
+    private static BigDecimal weightedValue(Number value, BigDecimal weight, BigDecimal maxValue) {
+        return BigDecimal.valueOf(value.doubleValue())
+                .divide(maxValue, MathContext.DECIMAL64)
+                .multiply(weight);
+    }
+
+    private static BigDecimal scaled(Map<String, BigDecimal> scores, String server) {
+        return scores.getOrDefault(server, BigDecimal.ZERO).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,74 @@
+package com.thoroldvix.economatic.search;
+
+import com.thoroldvix.economatic.item.Item;
+import com.thoroldvix.economatic.itemprice.ItemPrice;
+import com.thoroldvix.economatic.server.Server;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translation of a typical item price search request into a criteria predicate. Hibernate is bootstrapped
+ * without a database, so only specification and predicate building is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificationBuilderBenchmark {
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private SearchRequest searchRequest;
+
+    @Setup
+    public void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", PostgreSQLDialect.class.getName())
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", "false")
+                .applySetting("hibernate.hbm2ddl.auto", "none")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Item.class)
+                .addAnnotatedClass(Server.class)
+                .addAnnotatedClass(ItemPrice.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        searchRequest = SearchRequest.builder()
+                .globalOperator(SearchRequest.GlobalOperator.AND)
+                .searchCriteria(List.of(
+                        new SearchCriteria("uniqueName", "everlook-alliance", "server", SearchCriteria.Operation.EQUALS),
+                        new SearchCriteria("uniqueName", "copper-ore,tin-ore,iron-ore", "item", SearchCriteria.Operation.IN),
+                        new SearchCriteria("minBuyout", "100,5000000", null, SearchCriteria.Operation.BETWEEN_NUMERIC),
+                        new SearchCriteria("quantity", "10", null, SearchCriteria.Operation.GREATER_THAN),
+                        new SearchCriteria("updatedAt", "2023-04-01,2023-04-07", null, SearchCriteria.Operation.BETWEEN_DATE_TIME)))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        CriteriaQuery<ItemPrice> query = criteriaBuilder.createQuery(ItemPrice.class);
+        Root<ItemPrice> root = query.from(ItemPrice.class);
+        return SpecificationBuilder.<ItemPrice>from(searchRequest).toPredicate(root, query, criteriaBuilder);
+    }
+}
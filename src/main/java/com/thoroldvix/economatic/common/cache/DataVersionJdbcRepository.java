@@ -0,0 +1,42 @@
+package com.thoroldvix.economatic.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+class DataVersionJdbcRepository {
+
+    private static final String FIND_ALL_SQL = """
+            SELECT dataset, version
+            FROM data_version
+            """;
+    private static final String BUMP_SQL = """
+            UPDATE data_version
+            SET version    = version + 1,
+                updated_at = now()
+            WHERE dataset = ?
+            RETURNING version
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<Dataset, Long> findAll() {
+        return jdbcTemplate.query(FIND_ALL_SQL, rs -> {
+            Map<Dataset, Long> versions = new EnumMap<>(Dataset.class);
+            while (rs.next()) {
+                versions.put(Dataset.valueOf(rs.getString("dataset")), rs.getLong("version"));
+            }
+            return versions;
+        });
+    }
+
+    public long bump(Dataset dataset) {
+        Long version = jdbcTemplate.queryForObject(BUMP_SQL, Long.class, dataset.name());
+        return version == null ? 0 : version;
+    }
+}
@@ -0,0 +1,91 @@
+package com.thoroldvix.economatic.common.cache;
+
+import com.thoroldvix.economatic.common.lease.JobLeases;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versions of the data written by ingestion, stored in PostgreSQL so that they are shared between application nodes.
+ * Update services {@link #bump(Dataset) bump} the version of their dataset once new data is committed, and every node
+ * picks up versions bumped by other nodes every {@link JobLeases#RENEW_INTERVAL lease renew interval}. Caches built with
+ * {@link VersionedCache} drop their entries as soon as the version of their dataset changes, so they can keep entries
+ * for as long as the data stays the same. State a node derives from a dataset is reloaded by a listener registered with
+ * {@link #onChange(Dataset, Runnable)}, which runs before this node moves on to the new version.
+ */
+@Component
+@Slf4j
+public class DataVersions {
+
+    private final DataVersionJdbcRepository dataVersionJdbcRepository;
+    private final Map<Dataset, AtomicLong> versions = new EnumMap<>(Dataset.class);
+    private final Map<Dataset, List<Runnable>> listeners = new EnumMap<>(Dataset.class);
+
+    DataVersions(DataVersionJdbcRepository dataVersionJdbcRepository) {
+        this.dataVersionJdbcRepository = dataVersionJdbcRepository;
+        for (Dataset dataset : Dataset.values()) {
+            versions.put(dataset, new AtomicLong(-1));
+            listeners.put(dataset, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Latest version of the dataset known to this node, {@code -1} until versions are first read.
+     */
+    public long current(Dataset dataset) {
+        return versions.get(dataset).get();
+    }
+
+    /**
+     * Runs the listener when versions are first read and whenever another node changes the dataset, before this node
+     * moves on to the new version. If it fails, the version stays behind and the listener runs again on the next
+     * refresh.
+     */
+    public void onChange(Dataset dataset, Runnable listener) {
+        listeners.get(dataset).add(listener);
+    }
+
+    /**
+     * Marks the dataset as changed on every node. Must be called after the new data is committed and this node's
+     * state derived from it is reloaded, so that no node caches the old data under the new version.
+     */
+    public void bump(Dataset dataset) {
+        advance(dataset, dataVersionJdbcRepository.bump(dataset));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = JobLeases.RENEW_INTERVAL, timeUnit = TimeUnit.SECONDS)
+    public synchronized void refresh() {
+        dataVersionJdbcRepository.findAll().forEach((dataset, version) -> {
+            if (version > current(dataset) && notifyListeners(dataset)) {
+                advance(dataset, version);
+            }
+        });
+    }
+
+    private boolean notifyListeners(Dataset dataset) {
+        try {
+            listeners.get(dataset).forEach(Runnable::run);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to handle change of {} data", dataset, e);
+            return false;
+        }
+    }
+
+    private void advance(Dataset dataset, long version) {
+        long previous = versions.get(dataset).getAndAccumulate(version, Math::max);
+        if (version > previous) {
+            log.debug("{} data changed, version {}", dataset, version);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.thoroldvix.economatic.common.cache;
+
+/**
+ * Data written by ingestion whose changes invalidate cached reads.
+ */
+public enum Dataset {
+    ITEM_PRICE,
+    GOLD_PRICE,
+    POPULATION
+}
@@ -0,0 +1,92 @@
+package com.thoroldvix.economatic.common.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache whose entries belong to one version of a {@link Dataset}. Keys are stored together with the current version,
+ * and the whole cache is cleared on the first access after the version changes to free the entries of older versions.
+ * Reads cached with {@code sync = true} pick the version before loading the value, so a read that started before the
+ * version changed is stored under the old version and never served afterwards.
+ */
+public class VersionedCache implements Cache {
+
+    private final Cache delegate;
+    private final LongSupplier version;
+    private final AtomicLong seenVersion = new AtomicLong(-1);
+
+    public VersionedCache(Cache delegate, LongSupplier version) {
+        this.delegate = delegate;
+        this.version = version;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(versioned(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(versioned(key), type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(versioned(key), valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(versioned(key), value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(versioned(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(versioned(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(versioned(key));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private VersionedKey versioned(Object key) {
+        long current = version.getAsLong();
+        long seen = seenVersion.get();
+        if (current != seen && seenVersion.compareAndSet(seen, current)) {
+            delegate.clear();
+        }
+        return new VersionedKey(current, key);
+    }
+
+    private record VersionedKey(long version, Object key) {
+    }
+}
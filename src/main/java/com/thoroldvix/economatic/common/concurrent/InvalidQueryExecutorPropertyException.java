@@ -0,0 +1,8 @@
+package com.thoroldvix.economatic.common.concurrent;
+
+public class InvalidQueryExecutorPropertyException extends RuntimeException {
+
+    public InvalidQueryExecutorPropertyException(String s) {
+        super(s);
+    }
+}
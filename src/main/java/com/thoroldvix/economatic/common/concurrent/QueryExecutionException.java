@@ -0,0 +1,8 @@
+package com.thoroldvix.economatic.common.concurrent;
+
+public class QueryExecutionException extends RuntimeException {
+
+    public QueryExecutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
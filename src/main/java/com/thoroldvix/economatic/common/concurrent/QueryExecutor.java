@@ -0,0 +1,92 @@
+package com.thoroldvix.economatic.common.concurrent;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read queries in parallel on a bounded pool, so a request that needs several of them waits for the
+ * slowest one instead of their sum. Each query gets its own read-only transaction on the worker thread, which means
+ * queries submitted together do not share a persistence context or a snapshot.
+ * <p>
+ * The transaction of a query times out after the configured timeout, so statements still running by then are cancelled
+ * by the database. A caller that stops waiting for a query after the timeout also interrupts its worker thread.
+ * <p>
+ * When the pool and its queue are full the query runs on the calling thread instead of being rejected.
+ */
+@Component
+public class QueryExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final QueryExecutorProp queryExecutorProp;
+
+    public QueryExecutor(PlatformTransactionManager transactionManager, QueryExecutorProp queryExecutorProp) {
+        this.queryExecutorProp = queryExecutorProp;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout(timeoutSeconds(queryExecutorProp));
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(queryExecutorProp.poolSize());
+        this.executor.setMaxPoolSize(queryExecutorProp.poolSize());
+        this.executor.setQueueCapacity(queryExecutorProp.queueCapacity());
+        this.executor.setThreadNamePrefix("query-");
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.initialize();
+    }
+
+    private static int timeoutSeconds(QueryExecutorProp queryExecutorProp) {
+        return (int) Math.max(1, queryExecutorProp.timeout().toSeconds());
+    }
+
+    public <T> PendingQuery<T> submit(Supplier<T> query) {
+        Future<T> future = executor.submit(() -> transactionTemplate.execute(status -> query.get()));
+        return new PendingQuery<>(future, queryExecutorProp.timeout().toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    public static final class PendingQuery<T> {
+
+        private final Future<T> future;
+        private final long timeoutMillis;
+
+        private PendingQuery(Future<T> future, long timeoutMillis) {
+            this.future = future;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        /**
+         * Waits for the query and returns its result. Runtime exceptions thrown by the query are rethrown as is. When
+         * the query does not complete within the timeout its worker thread is interrupted.
+         */
+        public T join() {
+            try {
+                return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new QueryExecutionException("Query failed", e.getCause());
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw new QueryExecutionException("Query did not complete in " + timeoutMillis + " ms", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new QueryExecutionException("Interrupted while waiting for query", e);
+            }
+        }
+    }
+}
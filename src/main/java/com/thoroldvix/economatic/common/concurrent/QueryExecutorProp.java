@@ -0,0 +1,28 @@
+package com.thoroldvix.economatic.common.concurrent;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@ConfigurationProperties(prefix = "economatic.query-executor")
+public record QueryExecutorProp(
+        int poolSize,
+        int queueCapacity,
+        @DurationUnit(ChronoUnit.SECONDS)
+        Duration timeout
+) {
+
+    public QueryExecutorProp {
+        if (poolSize < 1) {
+            throw new InvalidQueryExecutorPropertyException("Query executor pool size cannot be less than 1");
+        }
+        if (queueCapacity < 0) {
+            throw new InvalidQueryExecutorPropertyException("Query executor queue capacity cannot be negative");
+        }
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new InvalidQueryExecutorPropertyException("Query executor timeout must be positive");
+        }
+    }
+}
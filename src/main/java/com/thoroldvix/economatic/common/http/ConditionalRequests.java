@@ -0,0 +1,146 @@
+package com.thoroldvix.economatic.common.http;
+
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fetches upstream resources with conditional requests, so an unchanged payload is neither downloaded again nor
+ * parsed and persisted. The {@code ETag} and {@code Last-Modified} headers of every handled response are remembered
+ * per resource and sent back as {@code If-None-Match} and {@code If-Modified-Since} on the next fetch. When an upstream
+ * sends neither header, the body is spooled to a temporary file while its SHA-256 hash is computed, and only handed to
+ * the handler from that file when the hash differs from the hash of the last handled body. Memory use stays
+ * independent of the payload size either way.
+ * <p>
+ * Validators are only remembered once the body handler returns normally, so a payload that failed to be parsed or
+ * persisted is fetched and handled again next time. They are kept in memory, which means the first fetch after a
+ * restart always handles the full payload.
+ */
+@Component
+@Slf4j
+public class ConditionalRequests {
+
+    private static final int NOT_MODIFIED = 304;
+    private static final int OK = 200;
+
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+
+    /**
+     * Sends the request with the validators remembered for the resource and passes the body to the handler when it
+     * changed since the last handled response.
+     *
+     * @return {@code true} if the body was handled, {@code false} if the resource has not changed
+     */
+    public boolean fetch(String resource, Request request, BodyHandler handler) throws IOException {
+        Validators previous = validators.get(resource);
+        try (Response response = request.send(previous == null ? Map.of() : previous.toRequestHeaders())) {
+            if (response.status() == NOT_MODIFIED) {
+                log.debug("Resource {} was not modified", resource);
+                return false;
+            }
+            if (response.status() != OK || response.body() == null) {
+                throw new UpstreamResponseException("Unexpected response status %d for %s"
+                        .formatted(response.status(), resource));
+            }
+            String etag = header(response, HttpHeaders.ETAG);
+            String lastModified = header(response, HttpHeaders.LAST_MODIFIED);
+            if (etag != null || lastModified != null) {
+                handler.handle(response.body().asInputStream());
+                validators.put(resource, new Validators(etag, lastModified, null));
+                return true;
+            }
+
+            Path spool = Files.createTempFile("conditional-request-", ".body");
+            try {
+                byte[] contentHash = spool(response, spool);
+                if (previous != null && Arrays.equals(previous.contentHash(), contentHash)) {
+                    log.debug("Resource {} has the same content as the last handled response", resource);
+                    return false;
+                }
+                try (InputStream body = Files.newInputStream(spool)) {
+                    handler.handle(body);
+                }
+                validators.put(resource, new Validators(null, null, contentHash));
+                return true;
+            } finally {
+                Files.deleteIfExists(spool);
+            }
+        }
+    }
+
+    /**
+     * Copies the body to the file and returns its SHA-256 hash.
+     */
+    private static byte[] spool(Response response, Path file) throws IOException {
+        try (DigestInputStream body = new DigestInputStream(response.body().asInputStream(), sha256());
+             OutputStream out = Files.newOutputStream(file)) {
+            body.transferTo(out);
+            return body.getMessageDigest().digest();
+        }
+    }
+
+    /**
+     * Makes the next fetch of the resource handle its body even if it has not changed.
+     */
+    public void forget(String resource) {
+        validators.remove(resource);
+    }
+
+    private static String header(Response response, String name) {
+        Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Request {
+
+        Response send(Map<String, String> headers);
+    }
+
+    @FunctionalInterface
+    public interface BodyHandler {
+
+        void handle(InputStream body) throws IOException;
+    }
+
+    private record Validators(
+            String etag,
+            String lastModified,
+            byte[] contentHash
+    ) {
+
+        Map<String, String> toRequestHeaders() {
+            Map<String, String> headers = new HashMap<>();
+            if (etag != null) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+            if (lastModified != null) {
+                headers.put(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+            return headers;
+        }
+    }
+}
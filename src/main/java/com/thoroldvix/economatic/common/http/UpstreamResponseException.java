@@ -0,0 +1,8 @@
+package com.thoroldvix.economatic.common.http;
+
+public class UpstreamResponseException extends RuntimeException {
+
+    public UpstreamResponseException(String message) {
+        super(message);
+    }
+}
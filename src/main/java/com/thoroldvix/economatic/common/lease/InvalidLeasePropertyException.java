@@ -0,0 +1,8 @@
+package com.thoroldvix.economatic.common.lease;
+
+public class InvalidLeasePropertyException extends RuntimeException {
+
+    public InvalidLeasePropertyException(String s) {
+        super(s);
+    }
+}
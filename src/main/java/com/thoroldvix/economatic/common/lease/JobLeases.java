@@ -0,0 +1,105 @@
+package com.thoroldvix.economatic.common.lease;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leases on scheduled jobs, stored in PostgreSQL so that only one of several application nodes sharing a database runs
+ * each job. A node owns a job once it acquires its lease and keeps it by renewing it in the background; when a node
+ * stops or dies, its leases are released or expire and the next node whose schedule fires takes the job over. Expiry
+ * is checked against the database clock, so nodes do not need synchronized clocks.
+ */
+@Component
+@Slf4j
+public class JobLeases {
+
+    public static final String RENEW_INTERVAL = "${economatic.lease.renew-interval}";
+
+    private final LeaseJdbcRepository leaseJdbcRepository;
+    private final LeaseProp leaseProp;
+    private final String owner;
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    JobLeases(LeaseJdbcRepository leaseJdbcRepository, LeaseProp leaseProp) {
+        this(leaseJdbcRepository, leaseProp, hostName() + "-" + UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    JobLeases(LeaseJdbcRepository leaseJdbcRepository, LeaseProp leaseProp, String owner) {
+        this.leaseJdbcRepository = leaseJdbcRepository;
+        this.leaseProp = leaseProp;
+        this.owner = owner;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+
+    /**
+     * @return {@code true} if this node owns the job, either because it already did or because the lease was free
+     */
+    public boolean tryAcquire(String job) {
+        if (!leaseJdbcRepository.tryAcquire(job, owner, leaseProp.ttl())) {
+            if (held.remove(job)) {
+                log.warn("Lost lease on job {} to another node", job);
+            }
+            return false;
+        }
+        if (held.add(job)) {
+            log.info("Node {} acquired lease on job {}", owner, job);
+        }
+        return true;
+    }
+
+    /**
+     * Identifies this node in leases. Unique per application start, so a restarted node never mistakes leases of its
+     * previous run for its own.
+     */
+    public String owner() {
+        return owner;
+    }
+
+    public Duration ttl() {
+        return leaseProp.ttl();
+    }
+
+    public Duration renewInterval() {
+        return leaseProp.renewInterval();
+    }
+
+    @Scheduled(fixedRateString = RENEW_INTERVAL, timeUnit = TimeUnit.SECONDS)
+    protected void renew() {
+        if (held.isEmpty()) {
+            return;
+        }
+        Set<String> jobs = Set.copyOf(held);
+        List<String> renewed = leaseJdbcRepository.renew(jobs, owner, leaseProp.ttl());
+        for (String job : jobs) {
+            if (!renewed.contains(job) && held.remove(job)) {
+                log.warn("Lost lease on job {}", job);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        held.clear();
+        leaseJdbcRepository.release(owner);
+    }
+}
@@ -0,0 +1,54 @@
+package com.thoroldvix.economatic.common.lease;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+class LeaseJdbcRepository {
+
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO job_lease (name, owner, expires_at)
+            VALUES (?, ?, now() + make_interval(secs => ?))
+            ON CONFLICT (name) DO UPDATE
+                SET owner      = EXCLUDED.owner,
+                    expires_at = EXCLUDED.expires_at
+                WHERE job_lease.owner = EXCLUDED.owner
+                   OR job_lease.expires_at < now()
+            """;
+    private static final String RENEW_SQL = """
+            UPDATE job_lease
+            SET expires_at = now() + make_interval(secs => ?)
+            WHERE owner = ? AND name = ANY (?)
+            RETURNING name
+            """;
+    private static final String RELEASE_SQL = """
+            DELETE FROM job_lease
+            WHERE owner = ?
+            """;
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean tryAcquire(String name, String owner, Duration ttl) {
+        return jdbcTemplate.update(ACQUIRE_SQL, name, owner, ttl.toSeconds()) == 1;
+    }
+
+    public List<String> renew(Collection<String> names, String owner, Duration ttl) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(RENEW_SQL);
+            ps.setLong(1, ttl.toSeconds());
+            ps.setString(2, owner);
+            ps.setArray(3, connection.createArrayOf("varchar", names.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getString("name"));
+    }
+
+    public void release(String owner) {
+        jdbcTemplate.update(RELEASE_SQL, owner);
+    }
+}
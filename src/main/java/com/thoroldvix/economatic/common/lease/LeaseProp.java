@@ -0,0 +1,28 @@
+package com.thoroldvix.economatic.common.lease;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@ConfigurationProperties(prefix = "economatic.lease")
+public record LeaseProp(
+        @DurationUnit(ChronoUnit.SECONDS)
+        Duration ttl,
+        @DurationUnit(ChronoUnit.SECONDS)
+        Duration renewInterval
+) {
+
+    public LeaseProp {
+        if (ttl == null || ttl.toSeconds() < 1) {
+            throw new InvalidLeasePropertyException("Lease TTL cannot be less than 1 second");
+        }
+        if (renewInterval == null || renewInterval.toSeconds() < 1) {
+            throw new InvalidLeasePropertyException("Lease renew interval cannot be less than 1 second");
+        }
+        if (renewInterval.compareTo(ttl) >= 0) {
+            throw new InvalidLeasePropertyException("Lease renew interval must be shorter than lease TTL");
+        }
+    }
+}
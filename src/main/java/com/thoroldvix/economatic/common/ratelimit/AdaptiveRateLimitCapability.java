@@ -0,0 +1,61 @@
+package com.thoroldvix.economatic.common.ratelimit;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Puts every Feign client behind an {@link AdaptiveRateLimiter}, one per upstream host. The current rate of each
+ * limiter is published as the {@code economatic.rate-limit.rate} gauge tagged with the host.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdaptiveRateLimitCapability implements Capability {
+
+    private final RateLimitProp rateLimitProp;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> execute(client, request, options);
+    }
+
+    private Response execute(Client client, Request request, Request.Options options) throws IOException {
+        AdaptiveRateLimiter limiter = limiterFor(request);
+        limiter.acquire();
+        long start = System.nanoTime();
+        try {
+            Response response = client.execute(request, options);
+            limiter.onResponse(response.status(), Duration.ofNanos(System.nanoTime() - start));
+            return response;
+        } catch (IOException e) {
+            limiter.onFailure();
+            throw e;
+        }
+    }
+
+    AdaptiveRateLimiter limiterFor(Request request) {
+        String host = URI.create(request.url()).getHost();
+        return limiters.computeIfAbsent(host, this::createLimiter);
+    }
+
+    private AdaptiveRateLimiter createLimiter(String host) {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(rateLimitProp);
+        Gauge.builder("economatic.rate-limit.rate", limiter, AdaptiveRateLimiter::rate)
+                .tag("host", host)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
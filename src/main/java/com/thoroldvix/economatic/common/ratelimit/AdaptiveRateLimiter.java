@@ -0,0 +1,81 @@
+package com.thoroldvix.economatic.common.ratelimit;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Request rate limiter for a single upstream that adjusts its rate with AIMD (additive increase, multiplicative
+ * decrease). Every healthy response raises the rate so that it grows by about {@code increaseStep} permits per second
+ * of traffic. Throttling or server errors, failed connections and responses much slower than the usual latency cut
+ * the rate by {@code decreaseFactor}, at most once per {@code decreaseCooldown} so that a burst of failures from
+ * requests already in flight counts as one signal. The usual latency is a moving average of all responses, so a
+ * lasting slowdown of the upstream becomes the new baseline instead of holding the rate down.
+ */
+public class AdaptiveRateLimiter {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProp rateLimitProp;
+    private final LongSupplier nanoClock;
+    private double rate;
+    private double baselineLatencyNanos;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    public AdaptiveRateLimiter(RateLimitProp rateLimitProp) {
+        this(rateLimitProp, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(RateLimitProp rateLimitProp, LongSupplier nanoClock) {
+        this.rateLimitProp = rateLimitProp;
+        this.nanoClock = nanoClock;
+        this.rate = rateLimitProp.initialRate();
+        this.rateLimiter = RateLimiter.create(rate);
+    }
+
+    public void acquire() {
+        rateLimiter.acquire();
+    }
+
+    public synchronized double rate() {
+        return rate;
+    }
+
+    public void onResponse(int status, Duration latency) {
+        if (status == 429 || status >= 500) {
+            onFailure();
+        } else {
+            onSuccess(latency.toNanos());
+        }
+    }
+
+    public synchronized void onFailure() {
+        long now = nanoClock.getAsLong();
+        if (decreased && now - lastDecreaseNanos < rateLimitProp.decreaseCooldown().toNanos()) {
+            return;
+        }
+        decreased = true;
+        lastDecreaseNanos = now;
+        setRate(rate * rateLimitProp.decreaseFactor());
+    }
+
+    private synchronized void onSuccess(long latencyNanos) {
+        boolean slow = baselineLatencyNanos > 0 && latencyNanos > baselineLatencyNanos * rateLimitProp.latencyTolerance();
+        baselineLatencyNanos = baselineLatencyNanos == 0
+                ? latencyNanos
+                : baselineLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - baselineLatencyNanos);
+        if (slow) {
+            onFailure();
+        } else {
+            setRate(rate + rateLimitProp.increaseStep() / rate);
+        }
+    }
+
+    private void setRate(double newRate) {
+        rate = Math.max(rateLimitProp.minRate(), Math.min(rateLimitProp.maxRate(), newRate));
+        rateLimiter.setRate(rate);
+    }
+}
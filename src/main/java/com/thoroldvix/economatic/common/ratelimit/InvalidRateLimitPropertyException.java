@@ -0,0 +1,8 @@
+package com.thoroldvix.economatic.common.ratelimit;
+
+public class InvalidRateLimitPropertyException extends RuntimeException {
+
+    public InvalidRateLimitPropertyException(String s) {
+        super(s);
+    }
+}
@@ -0,0 +1,41 @@
+package com.thoroldvix.economatic.common.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "economatic.rate-limit")
+public record RateLimitProp(
+        double initialRate,
+        double minRate,
+        double maxRate,
+        double increaseStep,
+        double decreaseFactor,
+        double latencyTolerance,
+        Duration decreaseCooldown
+) {
+
+    public RateLimitProp {
+        if (minRate <= 0) {
+            throw new InvalidRateLimitPropertyException("Minimum rate must be positive");
+        }
+        if (maxRate < minRate) {
+            throw new InvalidRateLimitPropertyException("Maximum rate cannot be less than minimum rate");
+        }
+        if (initialRate < minRate || initialRate > maxRate) {
+            throw new InvalidRateLimitPropertyException("Initial rate must be between minimum and maximum rate");
+        }
+        if (increaseStep <= 0) {
+            throw new InvalidRateLimitPropertyException("Rate increase step must be positive");
+        }
+        if (decreaseFactor <= 0 || decreaseFactor >= 1) {
+            throw new InvalidRateLimitPropertyException("Rate decrease factor must be between 0 and 1");
+        }
+        if (latencyTolerance <= 1) {
+            throw new InvalidRateLimitPropertyException("Latency tolerance must be greater than 1");
+        }
+        if (decreaseCooldown == null || decreaseCooldown.isNegative()) {
+            throw new InvalidRateLimitPropertyException("Rate decrease cooldown cannot be negative");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.thoroldvix.economatic.common.timeseries;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes one snapshot of a per-server time series, such as gold prices or populations, with a single multi-row
+ * {@code INSERT}. Going through JPA instead costs a round trip per row, because identity ids keep Hibernate from
+ * batching inserts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimeSeriesJdbcWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO %s (server_id, value, updated_at)
+            SELECT p.server_id, p.value, ?
+            FROM unnest(?, ?) AS p(server_id, value)
+            RETURNING id, server_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the value of every server with the same {@code updatedAt}.
+     *
+     * @return ids of the inserted rows by server id
+     */
+    public Map<Integer, Long> insert(Series series, LocalDateTime updatedAt, Map<Integer, ? extends Number> valuesByServer) {
+        if (valuesByServer.isEmpty()) {
+            return Map.of();
+        }
+        Integer[] serverIds = new Integer[valuesByServer.size()];
+        Number[] values = new Number[valuesByServer.size()];
+        int i = 0;
+        for (Map.Entry<Integer, ? extends Number> entry : valuesByServer.entrySet()) {
+            serverIds[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL.formatted(series.table));
+            ps.setTimestamp(1, Timestamp.valueOf(updatedAt));
+            ps.setArray(2, connection.createArrayOf("int4", serverIds));
+            ps.setArray(3, connection.createArrayOf(series.valueType, values));
+            return ps;
+        }, rs -> {
+            Map<Integer, Long> ids = new HashMap<>(serverIds.length * 2);
+            while (rs.next()) {
+                ids.put(rs.getInt("server_id"), rs.getLong("id"));
+            }
+            return ids;
+        });
+    }
+
+    public enum Series {
+        GOLD_PRICE("gold_price", "numeric"),
+        POPULATION("population", "int4");
+
+        private final String table;
+        private final String valueType;
+
+        Series(String table, String valueType) {
+            this.table = table;
+            this.valueType = valueType;
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.thoroldvix.economatic.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thoroldvix.economatic.common.cache.DataVersions;
+import com.thoroldvix.economatic.common.cache.Dataset;
+import com.thoroldvix.economatic.common.cache.VersionedCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
 import org.springframework.cache.support.CompositeCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,9 +22,20 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Caches of data written by ingestion are {@link VersionedCache versioned}: they keep entries until the data changes
+ * instead of for a fixed time, with a one day expiry only as a safety net. Caches of servers and items, which only
+ * change with migrations, expire after a few minutes. Keys include the name of the cached method, so methods of the
+ * same service taking the same arguments do not share entries.
+ */
 @Configuration
 @EnableCaching
-public class CachingConfig {
+@RequiredArgsConstructor
+public class CachingConfig implements CachingConfigurer {
+
+    private static final long VERSIONED_CACHE_MAX_AGE_DAYS = 1;
+
+    private final DataVersions dataVersions;
 
     @Primary
     @Bean
@@ -31,6 +51,11 @@ public class CachingConfig {
         return cacheManager;
     }
 
+    @Override
+    public KeyGenerator keyGenerator() {
+        return (target, method, params) -> new SimpleKey(method.getName(), SimpleKeyGenerator.generateKey(params));
+    }
+
     @Bean
     CacheManager itemCache() {
         return createCacheManager("item-cache", 100, 20000, 5, TimeUnit.MINUTES);
@@ -38,22 +63,22 @@ public class CachingConfig {
 
     @Bean
     CacheManager goldPriceStatsCache() {
-        return createCacheManager("gold-price-stats-cache", 100, 20000, 60, TimeUnit.SECONDS);
+        return createVersionedCacheManager("gold-price-stats-cache", Dataset.GOLD_PRICE, 100, 20000);
     }
 
     @Bean
     CacheManager itemPriceCache() {
-        return createCacheManager("item-price-cache", 100, 30000, 60, TimeUnit.SECONDS);
+        return createVersionedCacheManager("item-price-cache", Dataset.ITEM_PRICE, 100, 30000);
     }
 
     @Bean
     CacheManager populationCache() {
-        return createCacheManager("population-cache", 100, 30000, 60, TimeUnit.SECONDS);
+        return createVersionedCacheManager("population-cache", Dataset.POPULATION, 100, 30000);
     }
 
     @Bean
     CacheManager goldPriceCache() {
-        return createCacheManager("gold-price-cache", 96, 96, 60, TimeUnit.SECONDS);
+        return createVersionedCacheManager("gold-price-cache", Dataset.GOLD_PRICE, 96, 96);
     }
 
     @Bean
@@ -61,14 +86,30 @@ public class CachingConfig {
         return createCacheManager("server-cache", 96, 96, 5, TimeUnit.MINUTES);
     }
 
+    private CacheManager createVersionedCacheManager(String name, Dataset dataset, int initialCapacity, int maxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new VersionedCache(super.adaptCaffeineCache(name, cache), () -> dataVersions.current(dataset));
+            }
+        };
+        configure(cacheManager, name, initialCapacity, maxSize, VERSIONED_CACHE_MAX_AGE_DAYS, TimeUnit.DAYS);
+        return cacheManager;
+    }
+
     private CacheManager createCacheManager(String name, int initialCapacity, int maxSize, long duration, TimeUnit timeUnit) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCacheNames(Collections.singletonList(name));
+        configure(cacheManager, name, initialCapacity, maxSize, duration, timeUnit);
+        return cacheManager;
+    }
+
+    private static void configure(CaffeineCacheManager cacheManager, String name, int initialCapacity, int maxSize,
+                                  long duration, TimeUnit timeUnit) {
         Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
                 .initialCapacity(initialCapacity)
                 .maximumSize(maxSize)
                 .expireAfterWrite(duration, timeUnit);
         cacheManager.setCaffeine(cacheBuilder);
-        return cacheManager;
+        cacheManager.setCacheNames(Collections.singletonList(name));
     }
 }
\ No newline at end of file
@@ -18,7 +18,7 @@ interface ItemDealsRepository extends JpaRepository<ItemPrice, Long> {
                         ip.min_buyout as minBuyout,
                         (ip.market_value - ip.min_buyout) as dealDiff,
                         cast((cast((ip.market_value - ip.min_buyout) as numeric) / ip.market_value) as decimal(5, 2)) * 100 as discountPercentage
-                        from item_price ip
+                        from item_price_latest ip
                         join item i on ip.item_id = i.id
                         join server s on s.id = ip.server_id
                         where s.id = ?1 and ip.quantity >= ?2
@@ -1,11 +1,15 @@
 package com.thoroldvix.economatic.goldprice;
 
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(name = "G2GPriceClient", url = "https://sls.g2g.com/offer/search?service_id=lgc_service_1&brand_id=lgc_game_29076&sort=lowest_price&country=US&page_size=96&currency=USD")
+import java.util.Map;
+
+@FeignClient(name = "G2GPriceClient", url = "${economatic.upstream.g2g-url}")
 interface G2GPriceClient {
 
-    @GetMapping
-    String getAllPrices();
-}
\ No newline at end of file
+    @GetMapping("/offer/search?service_id=lgc_service_1&brand_id=lgc_game_29076&sort=lowest_price&country=US&page_size=96&currency=USD")
+    Response getAllPrices(@RequestHeader Map<String, String> headers);
+}
@@ -1,10 +0,0 @@
-package com.thoroldvix.economatic.goldprice;
-
-import com.thoroldvix.economatic.error.NotFoundException;
-
-public class G2GPriceNotFoundException extends NotFoundException {
-
-    public G2GPriceNotFoundException(String s) {
-        super(s);
-    }
-}
\ No newline at end of file
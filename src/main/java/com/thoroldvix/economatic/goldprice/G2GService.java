@@ -1,20 +1,36 @@
 package com.thoroldvix.economatic.goldprice;
 
+import com.thoroldvix.economatic.common.http.ConditionalRequests;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 class G2GService {
 
+    private static final String RESOURCE = "g2g:gold-prices";
+
     private final G2GPriceClient g2gPriceClient;
     private final GoldPriceDeserializer goldPriceDeserializer;
+    private final ConditionalRequests conditionalRequests;
 
-    public List<GoldPriceResponse> getGoldPrices() {
-        String pricesJson = g2gPriceClient.getAllPrices();
-        return goldPriceDeserializer.extractPricesFromJson(pricesJson);
+    /**
+     * Passes gold prices to the consumer if they changed since they were last handled. Prices only count as handled
+     * once the consumer returns normally.
+     *
+     * @return {@code true} if the prices were passed on, {@code false} if they have not changed
+     */
+    public boolean getGoldPricesIfChanged(Consumer<List<GoldPriceResponse>> pricesConsumer) {
+        try {
+            return conditionalRequests.fetch(RESOURCE, g2gPriceClient::getAllPrices,
+                    body -> pricesConsumer.accept(goldPriceDeserializer.parse(body)));
+        } catch (IOException e) {
+            throw new GoldPriceParsingException("Error while reading gold price json - " + e.getMessage());
+        }
     }
 
 }
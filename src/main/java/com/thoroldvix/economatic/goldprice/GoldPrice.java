@@ -34,6 +34,13 @@ public class GoldPrice {
     @ToString.Exclude
     private Server server;
 
+    @PrePersist
+    void setUpdatedAtIfMissing() {
+        if (updatedAt == null) {
+            updatedAt = LocalDateTime.now();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,13 +1,17 @@
 package com.thoroldvix.economatic.goldprice;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,9 +22,17 @@ import java.util.stream.StreamSupport;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Reads gold prices from G2G offer payloads. {@link #parse(InputStream)} and {@link #extractPricesFromJson(String)}
+ * stream over {@code payload.results} without building a tree, while {@link #deserialize(JsonParser,
+ * DeserializationContext)} reads the tree for use as a Jackson deserializer. Both accept prices sent as numbers or
+ * numeric strings and reject results that are not objects. Offer titles barely change between polls, so the server
+ * names normalized from them are memoized.
+ */
 @Component
 class GoldPriceDeserializer extends StdDeserializer<List<GoldPriceResponse>> {
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
     private static final Pattern SERVER_NAME_PATTERN = Pattern.compile("^(\\w+(?:\\s\\w+)?)\\s.*-\\s(\\w+)$");
     private static final String SERVER_NAME_REPLACE_REGEX = "\\s+";
     private static final String SERVER_NAME_FACTION_SEPARATOR = "-";
@@ -28,25 +40,67 @@ class GoldPriceDeserializer extends StdDeserializer<List<GoldPriceResponse>> {
     private static final String RESULTS_ARRAY = "results";
     private static final String NODE_TITLE = "title";
     private static final String NODE_PRICE = "converted_unit_price";
+    private static final int SERVER_NAME_CACHE_SIZE = 1024;
+
+    private final Cache<String, String> serverNames;
 
     public GoldPriceDeserializer() {
         this(null);
     }
 
     public GoldPriceDeserializer(Class<?> vc) {
+        this(vc, SERVER_NAME_CACHE_SIZE);
+    }
+
+    /**
+     * @param serverNameCacheSize number of offer titles whose normalized server names are memoized, {@code 0} to
+     *                            normalize every title
+     */
+    GoldPriceDeserializer(Class<?> vc, int serverNameCacheSize) {
         super(vc);
+        this.serverNames = Caffeine.newBuilder()
+                .maximumSize(serverNameCacheSize)
+                .executor(Runnable::run)
+                .build();
     }
 
     private static JsonNode getJsonNodeOrThrow(JsonNode rootNode, String nodeName) {
         return Optional.ofNullable(rootNode.get(nodeName))
-                .orElseThrow(() -> new GoldPriceParsingException("Received JSON doesn't contain expected node: " + nodeName));
+                .orElseThrow(() -> missingNode(nodeName));
     }
 
-    public List<GoldPriceResponse> extractPricesFromJson(String goldPriceJson) {
+    private static GoldPriceParsingException missingNode(String nodeName) {
+        return new GoldPriceParsingException("Received JSON doesn't contain expected node: " + nodeName);
+    }
+
+    private static GoldPriceParsingException invalidNode(String nodeName) {
+        return new GoldPriceParsingException("Received JSON contains invalid node: " + nodeName);
+    }
+
+    /**
+     * Reads a price sent either as a number or as a string holding one.
+     */
+    private static BigDecimal parsePrice(String price) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonParser parser = objectMapper.getFactory().createParser(goldPriceJson);
-            return deserialize(parser, objectMapper.getDeserializationContext());
+            return new BigDecimal(price.trim());
+        } catch (NumberFormatException e) {
+            throw invalidNode(NODE_PRICE);
+        }
+    }
+
+    public List<GoldPriceResponse> extractPricesFromJson(String goldPriceJson) {
+        requireNonNull(goldPriceJson, "Gold price json cannot be null");
+        try (JsonParser parser = JSON_FACTORY.createParser(goldPriceJson)) {
+            return readPrices(parser);
+        } catch (IOException e) {
+            throw new GoldPriceParsingException("Error while parsing gold price json - " + e.getMessage());
+        }
+    }
+
+    public List<GoldPriceResponse> parse(InputStream body) {
+        requireNonNull(body, "Response body cannot be null");
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return readPrices(parser);
         } catch (IOException e) {
             throw new GoldPriceParsingException("Error while parsing gold price json - " + e.getMessage());
         }
@@ -71,16 +125,106 @@ class GoldPriceDeserializer extends StdDeserializer<List<GoldPriceResponse>> {
     }
 
     private GoldPriceResponse buildServerPrice(JsonNode resultNode) {
-        String serverName = getJsonNodeOrThrow(resultNode, NODE_TITLE).asText();
-        BigDecimal price = getJsonNodeOrThrow(resultNode, NODE_PRICE).decimalValue();
+        if (!resultNode.isObject()) {
+            throw invalidNode(RESULTS_ARRAY);
+        }
+        JsonNode titleNode = getJsonNodeOrThrow(resultNode, NODE_TITLE);
+        if (!titleNode.isValueNode()) {
+            throw missingNode(NODE_TITLE);
+        }
+        JsonNode priceNode = getJsonNodeOrThrow(resultNode, NODE_PRICE);
+        BigDecimal price;
+        if (priceNode.isNumber()) {
+            price = priceNode.decimalValue();
+        } else if (priceNode.isTextual()) {
+            price = parsePrice(priceNode.textValue());
+        } else {
+            throw invalidNode(NODE_PRICE);
+        }
 
-        String formattedServerName = formatServerName(serverName);
+        return buildServerPrice(titleNode.asText(), price);
+    }
+
+    private GoldPriceResponse buildServerPrice(String serverName, BigDecimal price) {
         return GoldPriceResponse.builder()
-                .server(formattedServerName)
+                .server(serverNames.get(serverName, this::formatServerName))
                 .price(price)
                 .build();
     }
 
+    private List<GoldPriceResponse> readPrices(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw missingNode(ROOT_NODE_PAYLOAD);
+        }
+        moveToField(parser, ROOT_NODE_PAYLOAD);
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw missingNode(RESULTS_ARRAY);
+        }
+        moveToField(parser, RESULTS_ARRAY);
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            return new ArrayList<>();
+        }
+
+        List<GoldPriceResponse> prices = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw invalidNode(RESULTS_ARRAY);
+            }
+            prices.add(readPrice(parser));
+        }
+        return prices;
+    }
+
+    /**
+     * Moves the parser from the start of an object to the value of the given field, skipping the fields before it.
+     */
+    private static void moveToField(JsonParser parser, String fieldName) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String currentName = parser.getCurrentName();
+            parser.nextToken();
+            if (fieldName.equals(currentName)) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw missingNode(fieldName);
+    }
+
+    private GoldPriceResponse readPrice(JsonParser parser) throws IOException {
+        String serverName = null;
+        BigDecimal price = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (NODE_TITLE.equals(fieldName) && valueToken.isScalarValue()) {
+                serverName = parser.getText();
+            } else if (NODE_PRICE.equals(fieldName)) {
+                price = readPriceValue(parser, valueToken);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (serverName == null) {
+            throw missingNode(NODE_TITLE);
+        }
+        if (price == null) {
+            throw missingNode(NODE_PRICE);
+        }
+        return buildServerPrice(serverName, price);
+    }
+
+    private static BigDecimal readPriceValue(JsonParser parser, JsonToken valueToken) throws IOException {
+        if (valueToken.isNumeric()) {
+            return parser.getDecimalValue();
+        }
+        if (valueToken == JsonToken.VALUE_STRING) {
+            return parsePrice(parser.getText());
+        }
+        throw invalidNode(NODE_PRICE);
+    }
+
     private String formatServerName(String serverName) {
         Matcher serverNameMatcher = SERVER_NAME_PATTERN.matcher(serverName.replace("'", ""));
 
@@ -96,4 +240,4 @@ class GoldPriceDeserializer extends StdDeserializer<List<GoldPriceResponse>> {
 
         return server + SERVER_NAME_FACTION_SEPARATOR + faction;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.thoroldvix.economatic.goldprice;
 
 import com.thoroldvix.economatic.common.dto.TimeRange;
+import com.thoroldvix.economatic.common.timeseries.TimeSeriesJdbcWriter;
 import com.thoroldvix.economatic.common.util.StringEnumConverter;
 import com.thoroldvix.economatic.search.SearchRequest;
 import com.thoroldvix.economatic.search.SpecificationBuilder;
@@ -10,7 +11,9 @@ import com.thoroldvix.economatic.server.ServerResponse;
 import com.thoroldvix.economatic.server.ServerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -18,7 +21,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,7 +35,7 @@ import static com.thoroldvix.economatic.error.ErrorMessages.*;
 @Service
 @Validated
 @RequiredArgsConstructor
-@Cacheable("gold-price-cache")
+@CacheConfig(cacheNames = "gold-price-cache")
 @Transactional(readOnly = true)
 class GoldPriceServiceImpl implements GoldPriceService {
 
@@ -37,14 +44,18 @@ class GoldPriceServiceImpl implements GoldPriceService {
     private final ServerService serverService;
     private final GoldPriceRepository goldPriceRepository;
     private final GoldPriceMapper goldPriceMapper;
+    private final TimeSeriesJdbcWriter timeSeriesJdbcWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Cacheable(sync = true)
     public GoldPriceResponse getForId(long id) {
         return goldPriceRepository.findById(id).map(goldPriceMapper::toResponse)
                 .orElseThrow(() -> new GoldPriceNotFoundException("No gold price found with id " + id));
     }
 
     @Override
+    @Cacheable(sync = true)
     public GoldPricePageResponse getAll(TimeRange timeRange, Pageable pageable) {
         Page<GoldPrice> page = goldPriceRepository.findAllForTimeRange(timeRange.start(), timeRange.end(), pageable);
         notEmpty(page.getContent(),
@@ -53,6 +64,7 @@ class GoldPriceServiceImpl implements GoldPriceService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public GoldPricePageResponse getForServer(String serverIdentifier, TimeRange timeRange, Pageable pageable) {
         notEmpty(serverIdentifier, SERVER_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
 
@@ -68,6 +80,7 @@ class GoldPriceServiceImpl implements GoldPriceService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public GoldPriceListResponse getAllRecent() {
         List<GoldPrice> prices = goldPriceRepository.findAllRecent();
         notEmpty(prices,
@@ -77,6 +90,7 @@ class GoldPriceServiceImpl implements GoldPriceService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public GoldPricePageResponse search(@Valid SearchRequest searchRequest, Pageable pageable) {
         Specification<GoldPrice> spec = SpecificationBuilder.from(searchRequest);
         Page<GoldPrice> prices = goldPriceRepository.findAll(spec, pageable);
@@ -87,6 +101,7 @@ class GoldPriceServiceImpl implements GoldPriceService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public GoldPriceResponse getRecentForServer(String serverIdentifier) {
         notEmpty(serverIdentifier, SERVER_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
 
@@ -98,6 +113,7 @@ class GoldPriceServiceImpl implements GoldPriceService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public GoldPriceListResponse getRecentForRegion(String regionName) {
         notEmpty(regionName, REGION_NAME_CANNOT_BE_NULL_OR_EMPTY.message);
 
@@ -109,6 +125,7 @@ class GoldPriceServiceImpl implements GoldPriceService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public GoldPriceListResponse getRecentForFaction(String factionName) {
         notEmpty(factionName, FACTION_NAME_CANNOT_BE_NULL_OR_EMPTY.message);
 
@@ -120,6 +137,7 @@ class GoldPriceServiceImpl implements GoldPriceService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public GoldPriceListResponse getRecentForServerList(@Valid GoldPriceRequest request) {
         Set<Integer> serverIds = getServerIds(request.serverList());
         List<GoldPrice> prices = goldPriceRepository.findRecentForServerIds(serverIds);
@@ -139,6 +157,15 @@ class GoldPriceServiceImpl implements GoldPriceService {
     public void saveAll(List<GoldPrice> pricesToSave) {
         notEmpty(pricesToSave, () -> new IllegalArgumentException("Prices cannot be null or empty"));
 
-        goldPriceRepository.saveAll(pricesToSave);
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Map<Integer, BigDecimal> pricesByServer = pricesToSave.stream()
+                .collect(Collectors.toMap(price -> price.getServer().getId(), GoldPrice::getValue,
+                        (previous, last) -> last));
+        Map<Integer, Long> ids = timeSeriesJdbcWriter.insert(TimeSeriesJdbcWriter.Series.GOLD_PRICE, updatedAt, pricesByServer);
+        for (GoldPrice price : pricesToSave) {
+            price.setId(ids.get(price.getServer().getId()));
+            price.setUpdatedAt(updatedAt);
+        }
+        eventPublisher.publishEvent(new GoldPricesSavedEvent(pricesToSave));
     }
 }
\ No newline at end of file
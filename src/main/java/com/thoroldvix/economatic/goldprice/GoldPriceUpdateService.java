@@ -1,8 +1,11 @@
 package com.thoroldvix.economatic.goldprice;
 
+import com.thoroldvix.economatic.common.cache.DataVersions;
+import com.thoroldvix.economatic.common.cache.Dataset;
+import com.thoroldvix.economatic.common.lease.JobLeases;
 import com.thoroldvix.economatic.server.Server;
+import com.thoroldvix.economatic.server.ServerMatcher;
 import com.thoroldvix.economatic.server.ServerResponse;
-import com.thoroldvix.economatic.server.ServerService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +26,8 @@ import static com.thoroldvix.economatic.common.util.Utils.elapsedTimeInMillis;
 @Slf4j
 class GoldPriceUpdateService {
 
+    static final String JOB = "gold-price-update";
+    private static final String SOURCE = "g2g";
     public static final String UPDATE_ON_STARTUP_OR_DEFAULT = "#{${economatic.update-on-startup} ? -1 : ${economatic.gold-price.update-rate}}";
     public static final String UPDATE_RATE = "${economatic.gold-price.update-rate}";
 
@@ -30,41 +35,41 @@ class GoldPriceUpdateService {
     private final EntityManager entityManager;
     private final GoldPriceServiceImpl goldPriceService;
     private final G2GService g2gService;
-    private final ServerService serverService;
+    private final ServerMatcher serverMatcher;
+    private final JobLeases jobLeases;
+    private final DataVersions dataVersions;
 
     @Scheduled(fixedRateString = UPDATE_RATE,
             initialDelayString = UPDATE_ON_STARTUP_OR_DEFAULT,
             timeUnit = TimeUnit.MINUTES)
     @Retryable(maxAttempts = 5)
     protected void update() {
+        if (!jobLeases.tryAcquire(JOB)) {
+            log.info("Gold price update is run by another node");
+            return;
+        }
         log.info("Updating gold prices");
         Instant start = Instant.now();
 
-        List<GoldPriceResponse> prices = g2gService.getGoldPrices();
-        List<ServerResponse> servers = serverService.getAll().servers();
-        List<GoldPrice> pricesToSave = getPriceList(servers, prices);
-
-        goldPriceService.saveAll(pricesToSave);
+        if (!g2gService.getGoldPricesIfChanged(this::save)) {
+            log.info("Gold prices have not changed since the last update");
+            return;
+        }
         log.info("Finished updating gold prices in {} ms", elapsedTimeInMillis(start));
     }
 
-    private List<GoldPrice> getPriceList(List<ServerResponse> servers, List<GoldPriceResponse> prices) {
-        return servers.stream()
-                .map(server -> getPriceForServer(server, prices))
+    private void save(List<GoldPriceResponse> prices) {
+        List<GoldPrice> pricesToSave = serverMatcher.matchByUniqueName(SOURCE, prices, GoldPriceResponse::server)
+                .matched().stream()
+                .map(match -> mapToGoldPriceEntity(match.server(), match.record().price()))
                 .toList();
-    }
+        if (pricesToSave.isEmpty()) {
+            log.warn("None of {} gold prices matched a known server, nothing was saved", prices.size());
+            return;
+        }
 
-    private GoldPrice getPriceForServer(ServerResponse server, List<GoldPriceResponse> prices) {
-        BigDecimal price = findPriceForServer(prices, server.uniqueName());
-        return mapToGoldPriceEntity(server, price);
-    }
-
-    private BigDecimal findPriceForServer(List<GoldPriceResponse> prices, String uniqueServerName) {
-        return prices.stream()
-                .filter(result -> result.server().equals(uniqueServerName))
-                .findFirst()
-                .map(GoldPriceResponse::price)
-                .orElseThrow(() -> new G2GPriceNotFoundException("Price not found for server: " + uniqueServerName));
+        goldPriceService.saveAll(pricesToSave);
+        dataVersions.bump(Dataset.GOLD_PRICE);
     }
 
     private GoldPrice mapToGoldPriceEntity(ServerResponse server, BigDecimal price) {
@@ -0,0 +1,9 @@
+package com.thoroldvix.economatic.goldprice;
+
+import java.util.List;
+
+public record GoldPricesSavedEvent(
+        List<GoldPrice> prices
+) {
+
+}
@@ -0,0 +1,7 @@
+package com.thoroldvix.economatic.item;
+
+public record ItemDeletedEvent(
+        int itemId
+) {
+
+}
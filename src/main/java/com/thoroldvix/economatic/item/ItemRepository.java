@@ -2,8 +2,10 @@ package com.thoroldvix.economatic.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +13,7 @@ interface ItemRepository extends JpaRepository<Item, Integer>, JpaSpecificationE
 
     Optional<Item> findByUniqueName(String uniqueName);
 
+    @Query("SELECT i.id FROM Item i")
+    List<Integer> findAllIds();
+
 }
@@ -4,6 +4,7 @@ import com.thoroldvix.economatic.search.SearchRequest;
 import com.thoroldvix.economatic.search.SpecificationBuilder;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -25,6 +26,7 @@ class ItemServiceImpl implements ItemService {
     public static final String ITEMS_NOT_FOUND = "Items not found";
     private final ItemMapper itemMapper;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public ItemPageResponse search(@Valid SearchRequest searchRequest, Pageable pageable) {
@@ -69,6 +71,7 @@ class ItemServiceImpl implements ItemService {
         Item item = findItem(itemIdentifier)
                 .orElseThrow(() -> new ItemDoesNotExistException("No item exists with identifier " + itemIdentifier));
         itemRepository.delete(item);
+        eventPublisher.publishEvent(new ItemDeletedEvent(item.getId()));
 
         return itemMapper.toResponse(item);
     }
@@ -81,7 +84,10 @@ class ItemServiceImpl implements ItemService {
             throw new ItemAlreadyExistsException("Item with id " + item.getId() + " already exists");
         });
 
-        return itemMapper.toResponse(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemAddedEvent(savedItem.getId()));
+
+        return itemMapper.toResponse(savedItem);
     }
 
 }
@@ -0,0 +1,54 @@
+package com.thoroldvix.economatic.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Ids of the items in the catalog as a bitset indexed by item id, for components that only need to know whether an
+ * item is tracked. Loaded once on startup and kept up to date when items are added or deleted; readers always see a
+ * complete set, since every change replaces the bitset with an updated copy.
+ */
+@Component
+public class TrackedItems {
+
+    private volatile BitSet itemIds;
+
+    @Autowired
+    TrackedItems(ItemRepository itemRepository) {
+        this(itemRepository.findAllIds());
+    }
+
+    private TrackedItems(Collection<Integer> itemIds) {
+        BitSet bits = new BitSet();
+        itemIds.forEach(bits::set);
+        this.itemIds = bits;
+    }
+
+    public static TrackedItems of(Collection<Integer> itemIds) {
+        return new TrackedItems(itemIds);
+    }
+
+    public boolean contains(int itemId) {
+        return itemId >= 0 && itemIds.get(itemId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemAdded(ItemAddedEvent event) {
+        update(event.itemId(), true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        update(event.itemId(), false);
+    }
+
+    private synchronized void update(int itemId, boolean tracked) {
+        BitSet updated = (BitSet) itemIds.clone();
+        updated.set(itemId, tracked);
+        itemIds = updated;
+    }
+}
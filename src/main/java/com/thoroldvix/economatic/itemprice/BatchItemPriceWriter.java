@@ -0,0 +1,39 @@
+package com.thoroldvix.economatic.itemprice;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+@ConditionalOnProperty(prefix = "economatic.item-price", name = "writer", havingValue = "batch", matchIfMissing = true)
+@RequiredArgsConstructor
+class BatchItemPriceWriter implements ItemPriceWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO item_price (min_buyout, historical_value, market_value, quantity, num_auctions, item_id, server_id, updated_at)
+            SELECT p.min_buyout, p.historical_value, p.market_value, p.quantity, p.num_auctions, p.item_id, ?, ?
+            FROM unnest(?, ?, ?, ?, ?, ?) AS p(item_id, min_buyout, historical_value, market_value, quantity, num_auctions)
+            """;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(int serverId, LocalDateTime snapshotTime, Collection<NexusHubResponse.NexusHubPrice> prices) {
+        if (prices.isEmpty()) {
+            return;
+        }
+        PriceColumns columns = PriceColumns.of(prices);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL);
+            ps.setInt(1, serverId);
+            ps.setTimestamp(2, Timestamp.valueOf(snapshotTime));
+            columns.bind(connection, ps, 3);
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.thoroldvix.economatic.itemprice;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+@ConditionalOnProperty(prefix = "economatic.item-price", name = "writer", havingValue = "copy")
+@RequiredArgsConstructor
+class CopyItemPriceWriter implements ItemPriceWriter {
+
+    private static final String COPY_SQL = """
+            COPY item_price (min_buyout, historical_value, market_value, quantity, num_auctions, item_id, server_id, updated_at)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+    private static final int ESTIMATED_ROW_LENGTH = 80;
+    private final DataSource dataSource;
+
+    @Override
+    public void write(int serverId, LocalDateTime snapshotTime, Collection<NexusHubResponse.NexusHubPrice> prices) {
+        if (prices.isEmpty()) {
+            return;
+        }
+        String csv = toCsv(serverId, snapshotTime, prices);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyManager.copyIn(COPY_SQL, new StringReader(csv));
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY item_price", COPY_SQL, e);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Error while copying item prices for server " + serverId, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private String toCsv(int serverId, LocalDateTime snapshotTime, Collection<NexusHubResponse.NexusHubPrice> prices) {
+        String rowSuffix = "," + serverId + "," + snapshotTime + "\n";
+        StringBuilder csv = new StringBuilder(prices.size() * ESTIMATED_ROW_LENGTH);
+        for (NexusHubResponse.NexusHubPrice price : prices) {
+            csv.append(price.minBuyout()).append(',')
+                    .append(price.historicalValue()).append(',')
+                    .append(price.marketValue()).append(',')
+                    .append(price.quantity()).append(',')
+                    .append(price.numAuctions()).append(',')
+                    .append(price.itemId())
+                    .append(rowSuffix);
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,274 @@
+package com.thoroldvix.economatic.itemprice;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.thoroldvix.economatic.common.util.Utils.elapsedTimeInMillis;
+
+/**
+ * Keeps a fingerprint of the last stored price of every item on every server, so item price history only grows by
+ * the prices that changed since the previous snapshot. The first snapshot of a server on each day is stored in full,
+ * which keeps every daily item price partition self-contained: the value of an item at any snapshot can be read
+ * without rows from an older partition, and dropping old partitions never removes the base row of a newer one.
+ * <p>
+ * Fingerprints of a snapshot are staged while its chunks are written and only become the stored state once the
+ * snapshot is committed, so a failed attempt never hides changes from the next one. The stored state is rebuilt from
+ * the database on startup. When another node stored a newer snapshot of a server in the meantime, the state of that
+ * server is dropped and its next snapshot is stored in full.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class ItemPriceChangeTracker {
+
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final ItemPriceSnapshotJdbcRepository itemPriceSnapshotJdbcRepository;
+    private final Map<Integer, ServerFingerprints> servers = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();
+    private int[] itemSlots = new int[0];
+    private int[] slotItems = new int[0];
+    private int slotCount;
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return;
+            }
+            Instant start = Instant.now();
+            LocalDate today = LocalDate.now();
+            itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()
+                    .forEach((serverId, snapshotTime) -> server(serverId).lastFullDay = snapshotTime.toLocalDate());
+            itemPriceSnapshotJdbcRepository.findLatestSnapshotTimes()
+                    .forEach((serverId, snapshotTime) -> server(serverId).lastSnapshot = snapshotTime);
+            itemPriceSnapshotJdbcRepository.findStoredPrices(today.atStartOfDay(), (price, serverId) -> {
+                ServerFingerprints server = server(serverId);
+                server.store(slotOf(price.itemId()), fingerprint(price));
+            });
+            loaded = true;
+            log.info("Loaded item price fingerprints for {} servers in {} ms", servers.size(), elapsedTimeInMillis(start));
+        }
+    }
+
+    /**
+     * Drops the state of the server if its latest stored snapshot is not the one this tracker last committed.
+     *
+     * @return {@code true} if the state was dropped
+     */
+    public boolean sync(int serverId, LocalDateTime latestSnapshot) {
+        load();
+        ServerFingerprints server = server(serverId);
+        synchronized (server) {
+            if (Objects.equals(server.lastSnapshot, latestSnapshot)) {
+                return false;
+            }
+            server.reset(latestSnapshot);
+            return true;
+        }
+    }
+
+    public List<NexusHubResponse.NexusHubPrice> changed(int serverId, LocalDateTime snapshotTime,
+                                                        List<NexusHubResponse.NexusHubPrice> prices) {
+        load();
+        int[] slots = slotsOf(prices);
+        ServerFingerprints server = server(serverId);
+        synchronized (server) {
+            server.stage(snapshotTime);
+            List<NexusHubResponse.NexusHubPrice> changed = new ArrayList<>();
+            for (int i = 0; i < slots.length; i++) {
+                NexusHubResponse.NexusHubPrice price = prices.get(i);
+                if (server.stage(slots[i], fingerprint(price))) {
+                    changed.add(price);
+                }
+            }
+            return changed;
+        }
+    }
+
+    public Snapshot snapshot(int serverId, LocalDateTime snapshotTime) {
+        load();
+        ServerFingerprints server = server(serverId);
+        synchronized (server) {
+            server.stage(snapshotTime);
+            int[] removedSlots = server.removedSlots();
+            int[] removedItemIds = new int[removedSlots.length];
+            synchronized (this) {
+                for (int i = 0; i < removedSlots.length; i++) {
+                    removedItemIds[i] = slotItems[removedSlots[i]];
+                }
+            }
+            return new Snapshot(server.pendingFull, removedItemIds, server.pendingChanged, server.pendingSeen.cardinality());
+        }
+    }
+
+    public void commit(int serverId, LocalDateTime snapshotTime) {
+        ServerFingerprints server = server(serverId);
+        synchronized (server) {
+            if (snapshotTime.equals(server.pendingSnapshot)) {
+                server.commit();
+            }
+        }
+    }
+
+    public void discard(int serverId, LocalDateTime snapshotTime) {
+        ServerFingerprints server = server(serverId);
+        synchronized (server) {
+            if (snapshotTime.equals(server.pendingSnapshot)) {
+                server.clearPending();
+            }
+        }
+    }
+
+    static long fingerprint(NexusHubResponse.NexusHubPrice price) {
+        long hash = price.minBuyout();
+        hash = hash * MULTIPLIER + price.historicalValue();
+        hash = hash * MULTIPLIER + price.marketValue();
+        hash = hash * MULTIPLIER + price.quantity();
+        hash = hash * MULTIPLIER + price.numAuctions();
+        hash ^= hash >>> 31;
+        return hash == 0 ? 1 : hash;
+    }
+
+    private ServerFingerprints server(int serverId) {
+        return servers.computeIfAbsent(serverId, id -> new ServerFingerprints());
+    }
+
+    private synchronized int[] slotsOf(List<NexusHubResponse.NexusHubPrice> prices) {
+        int[] slots = new int[prices.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = slotOf(prices.get(i).itemId());
+        }
+        return slots;
+    }
+
+    private synchronized int slotOf(int itemId) {
+        if (itemId >= itemSlots.length) {
+            itemSlots = Arrays.copyOf(itemSlots, Math.max(itemId + 1, itemSlots.length * 2));
+        }
+        if (itemSlots[itemId] == 0) {
+            if (slotCount == slotItems.length) {
+                slotItems = Arrays.copyOf(slotItems, Math.max(16, slotCount * 2));
+            }
+            slotItems[slotCount] = itemId;
+            itemSlots[itemId] = ++slotCount;
+        }
+        return itemSlots[itemId] - 1;
+    }
+
+    /**
+     * Outcome of a staged snapshot: whether it is stored in full, which items disappeared since the previous snapshot,
+     * how many prices were stored and how many were received.
+     */
+    record Snapshot(
+            boolean full,
+            int[] removedItemIds,
+            int stored,
+            int received
+    ) {
+
+    }
+
+    private static final class ServerFingerprints {
+
+        private long[] stored = new long[0];
+        private LocalDate lastFullDay;
+        private LocalDateTime lastSnapshot;
+        private LocalDateTime pendingSnapshot;
+        private boolean pendingFull;
+        private long[] pending;
+        private BitSet pendingSeen;
+        private int pendingChanged;
+
+        void store(int slot, long fingerprint) {
+            stored = ensureCapacity(stored, slot);
+            stored[slot] = fingerprint;
+        }
+
+        void stage(LocalDateTime snapshotTime) {
+            if (snapshotTime.equals(pendingSnapshot)) {
+                return;
+            }
+            pendingSnapshot = snapshotTime;
+            pendingFull = !snapshotTime.toLocalDate().equals(lastFullDay);
+            pending = new long[stored.length];
+            pendingSeen = new BitSet();
+            pendingChanged = 0;
+        }
+
+        boolean stage(int slot, long fingerprint) {
+            pending = ensureCapacity(pending, slot);
+            pending[slot] = fingerprint;
+            pendingSeen.set(slot);
+            boolean changed = pendingFull || slot >= stored.length || stored[slot] != fingerprint;
+            if (changed) {
+                pendingChanged++;
+            }
+            return changed;
+        }
+
+        int[] removedSlots() {
+            int count = 0;
+            int[] removed = new int[0];
+            for (int slot = 0; slot < stored.length; slot++) {
+                if (stored[slot] != 0 && !pendingSeen.get(slot)) {
+                    removed = ensureCapacity(removed, count);
+                    removed[count++] = slot;
+                }
+            }
+            return Arrays.copyOf(removed, count);
+        }
+
+        void commit() {
+            stored = ensureCapacity(stored, pending.length - 1);
+            for (int slot = 0; slot < stored.length; slot++) {
+                stored[slot] = pendingSeen.get(slot) ? pending[slot] : 0;
+            }
+            if (pendingFull) {
+                lastFullDay = pendingSnapshot.toLocalDate();
+            }
+            lastSnapshot = pendingSnapshot;
+            clearPending();
+        }
+
+        void reset(LocalDateTime latestSnapshot) {
+            stored = new long[0];
+            lastFullDay = null;
+            lastSnapshot = latestSnapshot;
+            clearPending();
+        }
+
+        void clearPending() {
+            pendingSnapshot = null;
+            pending = null;
+            pendingSeen = null;
+            pendingChanged = 0;
+        }
+
+        private static long[] ensureCapacity(long[] array, int index) {
+            return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+        }
+
+        private static int[] ensureCapacity(int[] array, int index) {
+            return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.thoroldvix.economatic.itemprice;
+
+public class ItemPriceClaimLostException extends RuntimeException {
+
+    public ItemPriceClaimLostException(String s) {
+        super(s);
+    }
+}
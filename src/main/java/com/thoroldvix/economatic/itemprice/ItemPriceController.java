@@ -28,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 class ItemPriceController {
 
     private final ItemPriceService itemPriceService;
+    private final ItemPriceUpdateRunService itemPriceUpdateRunService;
 
     @Operation(summary = "Retrieve recent item prices for a server",
             description = "Returns all recent item prices for the specified server")
@@ -110,7 +111,7 @@ class ItemPriceController {
     }
 
     @Operation(summary = "Retrieve prices for specified search request",
-            description = "Returns all prices that match the given search request")
+            description = "Returns the latest prices of every item and server that match the given search request")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successful retrieval of prices for search request",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
@@ -147,7 +148,7 @@ class ItemPriceController {
     })
     @PostMapping("/recent")
     public ResponseEntity<ItemPricePageResponse> getRecentForItemList(@RequestBody @Valid ItemPriceRequest itemList,
-                                                                      @PageableDefault(sort = "updated_at", direction = Sort.Direction.DESC, size = 100)
+                                                                      @PageableDefault(sort = "updatedAt", direction = Sort.Direction.DESC, size = 100)
                                                                       @ParameterObject Pageable pageable) {
         var itemPrices = itemPriceService.getRecentForItemListAndServers(itemList, pageable);
         return ResponseEntity.ok(itemPrices);
@@ -202,4 +203,19 @@ class ItemPriceController {
         var auctionHouseInfo = itemPriceService.getRecentForFaction(factionName, itemIdentifier);
         return ResponseEntity.ok(auctionHouseInfo);
     }
+
+    @Operation(summary = "Retrieve progress of the latest item price update",
+            description = "Returns the status of the latest item price update run and of every server in it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful retrieval of update progress",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ItemPriceUpdateRunResponse.class))),
+            @ApiResponse(responseCode = "404", description = "No update runs found", content = @Content),
+            @ApiResponse(responseCode = "500", description = "An unexpected exception occurred", content = @Content)
+    })
+    @GetMapping("/updates/latest")
+    public ResponseEntity<ItemPriceUpdateRunResponse> getLatestUpdate() {
+        var updateRun = itemPriceUpdateRunService.getLatest();
+        return ResponseEntity.ok(updateRun);
+    }
 }
@@ -0,0 +1,57 @@
+package com.thoroldvix.economatic.itemprice;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Thread pools used by item price ingestion, kept apart from the common ForkJoinPool so blocking HTTP and JDBC work
+ * does not slow down parallel streams on the request path.
+ * <p>
+ * Fetching runs one task per server. Writing runs one task per chunk on a bounded queue; when the queue is full the
+ * fetching thread writes the chunk itself, so fetching slows down to the speed of the database instead of buffering
+ * without limit. Queue size and active threads of both pools are published as {@code executor.*} metrics tagged
+ * with {@code name=item-price-fetch} and {@code name=item-price-write}.
+ */
+@Component
+class ItemPriceIngestionExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor fetchExecutor;
+    private final ThreadPoolTaskExecutor writeExecutor;
+
+    ItemPriceIngestionExecutor(ItemPriceProp itemPriceProp, MeterRegistry meterRegistry) {
+        this.fetchExecutor = createExecutor("item-price-fetch", itemPriceProp.fetchConcurrency(), Integer.MAX_VALUE, meterRegistry);
+        this.writeExecutor = createExecutor("item-price-write", itemPriceProp.writeConcurrency(), itemPriceProp.writeQueueCapacity(), meterRegistry);
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(String name, int concurrency, int queueCapacity, MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(name + "-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), name);
+        return executor;
+    }
+
+    public CompletableFuture<Void> fetch(Runnable task) {
+        return CompletableFuture.runAsync(task, fetchExecutor);
+    }
+
+    public CompletableFuture<Void> write(Runnable task) {
+        return CompletableFuture.runAsync(task, writeExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        fetchExecutor.shutdown();
+        writeExecutor.shutdown();
+    }
+}
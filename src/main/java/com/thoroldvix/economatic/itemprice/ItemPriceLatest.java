@@ -0,0 +1,71 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.item.Item;
+import com.thoroldvix.economatic.server.Server;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Builder
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "item_price_latest")
+@IdClass(ItemPriceLatestId.class)
+public class ItemPriceLatest {
+
+    @Id
+    @Column(name = "server_id")
+    private int serverId;
+
+    @Id
+    @Column(name = "item_id")
+    private int itemId;
+
+    @Column(name = "min_buyout")
+    private long minBuyout;
+
+    @Column(name = "historical_value")
+    private long historicalValue;
+
+    @Column(name = "market_value")
+    private long marketValue;
+
+    @Column(name = "quantity")
+    private int quantity;
+
+    @Column(name = "num_auctions")
+    private int numAuctions;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    private Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "server_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    private Server server;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ItemPriceLatest that = (ItemPriceLatest) o;
+        return serverId == that.serverId && itemId == that.itemId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(serverId, itemId);
+    }
+}
@@ -0,0 +1,18 @@
+package com.thoroldvix.economatic.itemprice;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ItemPriceLatestId implements Serializable {
+
+    private int serverId;
+    private int itemId;
+}
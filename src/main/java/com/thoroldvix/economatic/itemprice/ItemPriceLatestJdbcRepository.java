@@ -0,0 +1,127 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.server.Faction;
+import com.thoroldvix.economatic.server.Region;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+class ItemPriceLatestJdbcRepository {
+
+    private static final String STAGE_SQL = """
+            INSERT INTO item_price_latest_staging (server_id, snapshot_time, item_id, min_buyout, historical_value, market_value, quantity, num_auctions)
+            SELECT DISTINCT ON (p.item_id) ?, ?, p.item_id, p.min_buyout, p.historical_value, p.market_value, p.quantity, p.num_auctions
+            FROM unnest(?, ?, ?, ?, ?, ?) AS p(item_id, min_buyout, historical_value, market_value, quantity, num_auctions)
+            ON CONFLICT (server_id, snapshot_time, item_id) DO UPDATE
+                SET min_buyout       = EXCLUDED.min_buyout,
+                    historical_value = EXCLUDED.historical_value,
+                    market_value     = EXCLUDED.market_value,
+                    quantity         = EXCLUDED.quantity,
+                    num_auctions     = EXCLUDED.num_auctions
+            """;
+    private static final String APPLY_STAGED_SQL = """
+            INSERT INTO item_price_latest (server_id, item_id, min_buyout, historical_value, market_value, quantity, num_auctions, updated_at)
+            SELECT server_id, item_id, min_buyout, historical_value, market_value, quantity, num_auctions, snapshot_time
+            FROM item_price_latest_staging
+            WHERE server_id = ? AND snapshot_time = ?
+            ON CONFLICT (server_id, item_id) DO UPDATE
+                SET min_buyout       = EXCLUDED.min_buyout,
+                    historical_value = EXCLUDED.historical_value,
+                    market_value     = EXCLUDED.market_value,
+                    quantity         = EXCLUDED.quantity,
+                    num_auctions     = EXCLUDED.num_auctions,
+                    updated_at       = EXCLUDED.updated_at
+                WHERE item_price_latest.updated_at <= EXCLUDED.updated_at
+            """;
+    private static final String DELETE_STAGED_SQL = """
+            DELETE FROM item_price_latest_staging
+            WHERE server_id = ? AND snapshot_time = ?
+            """;
+    private static final String DELETE_STALE_SQL = """
+            DELETE FROM item_price_latest
+            WHERE server_id = ? AND updated_at < ?
+            """;
+    private static final String SELECT_SERVERS_SQL = """
+            SELECT id, unique_name, region, faction
+            FROM server
+            ORDER BY id
+            """;
+    private static final String SELECT_ITEMS_SQL = """
+            SELECT i.id, i.unique_name
+            FROM item i
+            WHERE EXISTS (SELECT 1 FROM item_price_latest ipl WHERE ipl.item_id = i.id)
+            ORDER BY i.id
+            """;
+    private static final String SELECT_LATEST_SQL = """
+            SELECT server_id, item_id, min_buyout, historical_value, market_value, quantity, num_auctions, updated_at
+            FROM item_price_latest
+            """;
+    private static final int FETCH_SIZE = 10_000;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stages prices of a snapshot that is still being written. They only replace the latest prices of the server once
+     * the snapshot is applied with {@link #applyStaged(int, LocalDateTime)}.
+     */
+    public void stage(int serverId, LocalDateTime snapshotTime, Collection<NexusHubResponse.NexusHubPrice> prices) {
+        if (prices.isEmpty()) {
+            return;
+        }
+        PriceColumns columns = PriceColumns.of(prices);
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STAGE_SQL);
+            ps.setInt(1, serverId);
+            ps.setTimestamp(2, Timestamp.valueOf(snapshotTime));
+            columns.bind(connection, ps, 3);
+            return ps;
+        });
+    }
+
+    /**
+     * Replaces the latest prices of the server with the prices staged for the snapshot and removes them from staging.
+     */
+    public void applyStaged(int serverId, LocalDateTime snapshotTime) {
+        Timestamp snapshotTimestamp = Timestamp.valueOf(snapshotTime);
+        jdbcTemplate.update(APPLY_STAGED_SQL, serverId, snapshotTimestamp);
+        jdbcTemplate.update(DELETE_STAGED_SQL, serverId, snapshotTimestamp);
+    }
+
+    public void discardStaged(int serverId, LocalDateTime snapshotTime) {
+        jdbcTemplate.update(DELETE_STAGED_SQL, serverId, Timestamp.valueOf(snapshotTime));
+    }
+
+    public LatestPrices loadLatestPrices() {
+        List<LatestPrices.ServerRow> servers = jdbcTemplate.query(SELECT_SERVERS_SQL, (rs, rowNum) -> new LatestPrices.ServerRow(
+                rs.getInt("id"),
+                rs.getString("unique_name"),
+                Region.values()[rs.getInt("region")],
+                Faction.values()[rs.getInt("faction")]));
+        List<LatestPrices.ItemRow> items = jdbcTemplate.query(SELECT_ITEMS_SQL, (rs, rowNum) -> new LatestPrices.ItemRow(
+                rs.getInt("id"),
+                rs.getString("unique_name")));
+
+        LatestPrices.Builder builder = LatestPrices.builder(servers, items);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_LATEST_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, rs -> {
+            builder.add(rs.getInt(1), rs.getInt(2), rs.getLong(3), rs.getLong(4), rs.getLong(5),
+                    rs.getInt(6), rs.getInt(7), rs.getTimestamp(8).toLocalDateTime());
+        });
+        return builder.build();
+    }
+
+    public int deleteStale(int serverId, LocalDateTime snapshotTime) {
+        return jdbcTemplate.update(DELETE_STALE_SQL, serverId, Timestamp.valueOf(snapshotTime));
+    }
+}
@@ -0,0 +1,69 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.server.Faction;
+import com.thoroldvix.economatic.server.Region;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Set;
+
+@Repository
+interface ItemPriceLatestRepository extends JpaRepository<ItemPriceLatest, ItemPriceLatestId>,
+        JpaSpecificationExecutor<ItemPriceLatest> {
+
+    @EntityGraph(attributePaths = {"item", "server"})
+    @Query("""
+            select ipl
+            from ItemPriceLatest ipl
+            where ipl.serverId = ?1
+            """)
+    Page<ItemPriceLatest> findRecentForServer(int serverId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "server"})
+    @Query("""
+            select ipl
+            from ItemPriceLatest ipl
+            where ipl.serverId = ?1 and ipl.itemId = ?2
+            """)
+    List<ItemPriceLatest> findRecentForServerAndItem(int serverId, int itemId);
+
+    @EntityGraph(attributePaths = {"item", "server"})
+    @Query("""
+            select ipl
+            from ItemPriceLatest ipl
+            where ipl.server.region = ?1 and ipl.itemId = ?2
+            order by ipl.serverId
+            """)
+    List<ItemPriceLatest> findRecentForRegionAndItem(Region region, int itemId);
+
+    @EntityGraph(attributePaths = {"item", "server"})
+    @Query("""
+            select ipl
+            from ItemPriceLatest ipl
+            where ipl.server.faction = ?1 and ipl.itemId = ?2
+            order by ipl.serverId
+            """)
+    List<ItemPriceLatest> findRecentForFactionAndItem(Faction faction, int itemId);
+
+    @EntityGraph(attributePaths = {"item", "server"})
+    @Query("""
+            select ipl
+            from ItemPriceLatest ipl
+            where ipl.itemId in ?1
+            """)
+    Page<ItemPriceLatest> findRecentForItemList(Set<Integer> itemIds, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "server"})
+    @Query("""
+            select ipl
+            from ItemPriceLatest ipl
+            where ipl.itemId in ?1 and ipl.serverId in ?2
+            """)
+    Page<ItemPriceLatest> findRecentForItemsAndServers(Set<Integer> itemIds, Set<Integer> serverIds, Pageable pageable);
+}
@@ -32,6 +32,33 @@ interface ItemPriceMapper {
         return new ItemPricePageResponse(new PaginationInfo(page), prices);
     }
 
+    @Mapping(target = "server", source = "server", qualifiedByName = "serverName")
+    @Mapping(target = "itemName", source = "item", qualifiedByName = "itemName")
+    ItemPriceResponse toResponse(ItemPriceLatest itemPrice);
+
+    List<ItemPriceResponse> toLatestList(List<ItemPriceLatest> prices);
+
+    default ItemPriceListResponse toLatestItemPriceList(List<ItemPriceLatest> prices) {
+        return new ItemPriceListResponse(toLatestList(prices));
+    }
+
+    default ItemPricePageResponse toLatestPageResponse(Page<ItemPriceLatest> page) {
+        List<ItemPriceResponse> prices = toLatestList(page.getContent());
+        return new ItemPricePageResponse(new PaginationInfo(page), prices);
+    }
+
+    @Mapping(target = "server", source = "server")
+    @Mapping(target = "itemName", source = "itemName")
+    ItemPriceResponse toResponse(ItemPriceSnapshotJdbcRepository.ItemPriceSnapshotRow itemPrice, String server, String itemName);
+
+    default ItemPricePageResponse toSnapshotPageResponse(Page<ItemPriceSnapshotJdbcRepository.ItemPriceSnapshotRow> page,
+                                                         String server, String itemName) {
+        List<ItemPriceResponse> prices = page.getContent().stream()
+                .map(itemPrice -> toResponse(itemPrice, server, itemName))
+                .toList();
+        return new ItemPricePageResponse(new PaginationInfo(page), prices);
+    }
+
     @Named("serverName")
     default String serverName(Server server) {
         return checkNullAndGet(server::getUniqueName);
@@ -9,12 +9,55 @@ import java.time.temporal.ChronoUnit;
 @ConfigurationProperties(prefix = "economatic.item-price")
 public record ItemPriceProp(
         @DurationUnit(ChronoUnit.HOURS)
-        Duration updateRate
+        Duration updateRate,
+        IngestionMode ingestionMode,
+        int chunkSize,
+        Writer writer,
+        int fetchConcurrency,
+        int writeConcurrency,
+        int writeQueueCapacity,
+        int serverMaxAttempts,
+        @DurationUnit(ChronoUnit.SECONDS)
+        Duration serverRetryBackoff
 ) {
 
     public ItemPriceProp {
         if (updateRate.toHours() < 1) {
             throw new InvalidItemPricePropertyException("Item price update rate cannot be less than 1");
         }
+        if (ingestionMode == null) {
+            throw new InvalidItemPricePropertyException("Item price ingestion mode cannot be null");
+        }
+        if (chunkSize < 1) {
+            throw new InvalidItemPricePropertyException("Item price chunk size cannot be less than 1");
+        }
+        if (writer == null) {
+            throw new InvalidItemPricePropertyException("Item price writer cannot be null");
+        }
+        if (fetchConcurrency < 1) {
+            throw new InvalidItemPricePropertyException("Item price fetch concurrency cannot be less than 1");
+        }
+        if (writeConcurrency < 1) {
+            throw new InvalidItemPricePropertyException("Item price write concurrency cannot be less than 1");
+        }
+        if (writeQueueCapacity < 0) {
+            throw new InvalidItemPricePropertyException("Item price write queue capacity cannot be negative");
+        }
+        if (serverMaxAttempts < 1) {
+            throw new InvalidItemPricePropertyException("Item price server max attempts cannot be less than 1");
+        }
+        if (serverRetryBackoff == null || serverRetryBackoff.toMillis() < 1) {
+            throw new InvalidItemPricePropertyException("Item price server retry backoff must be positive");
+        }
+    }
+
+    public enum IngestionMode {
+        BUFFERED,
+        STREAMING
+    }
+
+    public enum Writer {
+        BATCH,
+        COPY
     }
 }
@@ -6,8 +6,6 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
 import org.springframework.validation.annotation.Validated;
 
-import java.util.List;
-
 @Validated
 public interface ItemPriceService {
 
@@ -24,6 +22,4 @@ public interface ItemPriceService {
     ItemPricePageResponse getForServer(String serverIdentifier, String itemIdentifier, TimeRange timeRange, Pageable pageable);
 
     ItemPricePageResponse getRecentForItemListAndServers(@Valid ItemPriceRequest request, Pageable pageable);
-
-    void saveAll(List<ItemPrice> itemPricesToSave);
 }
@@ -17,10 +17,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
-import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -29,7 +29,7 @@ import static com.thoroldvix.economatic.common.util.ValidationUtils.notEmpty;
 import static com.thoroldvix.economatic.error.ErrorMessages.*;
 
 @Service
-@Cacheable("item-price-cache")
+@Cacheable(value = "item-price-cache", sync = true)
 @Validated
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -37,76 +37,89 @@ class ItemPriceServiceImpl implements ItemPriceService {
 
     private final ItemService itemService;
     private final ServerService serverService;
-    private final ItemPriceRepository itemPriceRepository;
+    private final ItemPriceLatestRepository itemPriceLatestRepository;
+    private final ItemPriceSnapshotJdbcRepository itemPriceSnapshotJdbcRepository;
     private final ItemPriceMapper itemPriceMapper;
-    private final ItemPriceJdbcRepository jdbcRepository;
+    private final LatestPriceSnapshot latestPriceSnapshot;
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ItemPricePageResponse getRecentForServer(String serverIdentifier, Pageable pageable) {
         notEmpty(serverIdentifier, SERVER_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
 
         ServerResponse server = serverService.getServer(serverIdentifier);
-        Page<ItemPrice> page = itemPriceRepository.findRecentForServer(server.id(), pageable);
+        ItemPricePageResponse itemPrices = latestPriceSnapshot.current()
+                .map(prices -> prices.forServer(server.id(), pageable))
+                .orElseGet(() -> itemPriceMapper.toLatestPageResponse(itemPriceLatestRepository.findRecentForServer(server.id(), pageable)));
 
-        notEmpty(page.getContent(),
+        notEmpty(itemPrices.prices(),
                 () -> new ItemPriceNotFoundException("No recent item prices found for server identifier " + serverIdentifier));
 
-        return itemPriceMapper.toPageResponse(page);
+        return itemPrices;
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ItemPriceListResponse getRecentForRegion(String regionName, String itemIdentifier) {
         notEmpty(regionName, REGION_NAME_CANNOT_BE_NULL_OR_EMPTY.message);
         notEmpty(itemIdentifier, ITEM_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
 
         ItemResponse item = itemService.getItem(itemIdentifier);
         Region region = StringEnumConverter.fromString(regionName, Region.class);
-        List<ItemPrice> itemPrices = itemPriceRepository.findRecentForRegionAndItem(region.ordinal(), item.id());
+        ItemPriceListResponse itemPrices = latestPriceSnapshot.current()
+                .map(prices -> prices.forRegionAndItem(region, item.id()))
+                .orElseGet(() -> itemPriceMapper.toLatestItemPriceList(itemPriceLatestRepository.findRecentForRegionAndItem(region, item.id())));
 
-        notEmpty(itemPrices,
+        notEmpty(itemPrices.prices(),
                 () -> new ItemPriceNotFoundException("No item prices found for region and item identifier " + regionName + " " + itemIdentifier));
 
-        return itemPriceMapper.toItemPriceList(itemPrices);
+        return itemPrices;
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ItemPriceListResponse getRecentForFaction(String factionName, String itemIdentifier) {
         notEmpty(factionName, FACTION_NAME_CANNOT_BE_NULL_OR_EMPTY.message);
         notEmpty(itemIdentifier, ITEM_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
 
         ItemResponse item = itemService.getItem(itemIdentifier);
         Faction faction = StringEnumConverter.fromString(factionName, Faction.class);
-        List<ItemPrice> itemPrices = itemPriceRepository.findRecentForFactionAndItem(faction.ordinal(), item.id());
+        ItemPriceListResponse itemPrices = latestPriceSnapshot.current()
+                .map(prices -> prices.forFactionAndItem(faction, item.id()))
+                .orElseGet(() -> itemPriceMapper.toLatestItemPriceList(itemPriceLatestRepository.findRecentForFactionAndItem(faction, item.id())));
 
-        notEmpty(itemPrices,
+        notEmpty(itemPrices.prices(),
                 () -> new ItemPriceNotFoundException("No item prices found for faction and item identifier " + factionName + " " + itemIdentifier));
 
-        return itemPriceMapper.toItemPriceList(itemPrices);
+        return itemPrices;
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ItemPriceListResponse getRecentForServer(String serverIdentifier, String itemIdentifier) {
         notEmpty(serverIdentifier, SERVER_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
         notEmpty(itemIdentifier, ITEM_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
 
         ServerResponse server = serverService.getServer(serverIdentifier);
         ItemResponse item = itemService.getItem(itemIdentifier);
-        List<ItemPrice> itemPrices = itemPriceRepository.findRecentForServerAndItem(server.id(), item.id());
+        ItemPriceListResponse itemPrices = latestPriceSnapshot.current()
+                .map(prices -> prices.forServerAndItem(server.id(), item.id()))
+                .orElseGet(() -> itemPriceMapper.toLatestItemPriceList(itemPriceLatestRepository.findRecentForServerAndItem(server.id(), item.id())));
 
-        notEmpty(itemPrices,
+        notEmpty(itemPrices.prices(),
                 () -> new ItemPriceNotFoundException("No item prices found for server identifier %s and item identifier %s"
                         .formatted(serverIdentifier, itemIdentifier)));
 
-        return itemPriceMapper.toItemPriceList(itemPrices);
+        return itemPrices;
     }
 
     @Override
     public ItemPricePageResponse search(@Valid SearchRequest searchRequest, Pageable pageable) {
-        Specification<ItemPrice> specification = SpecificationBuilder.from(searchRequest);
-        Page<ItemPrice> page = itemPriceRepository.findAll(specification, pageable);
+        Specification<ItemPriceLatest> specification = SpecificationBuilder.from(searchRequest);
+        Page<ItemPriceLatest> page = itemPriceLatestRepository.findAll(specification, pageable);
         notEmpty(page.getContent(), () -> new ItemPriceNotFoundException("No item prices found for search request"));
 
-        return itemPriceMapper.toPageResponse(page);
+        return itemPriceMapper.toLatestPageResponse(page);
     }
 
     @Override
@@ -117,7 +130,7 @@ class ItemPriceServiceImpl implements ItemPriceService {
         ServerResponse server = serverService.getServer(serverIdentifier);
         ItemResponse item = itemService.getItem(itemIdentifier);
 
-        Page<ItemPrice> page = itemPriceRepository.findForServerAndTimeRange(
+        Page<ItemPriceSnapshotJdbcRepository.ItemPriceSnapshotRow> page = itemPriceSnapshotJdbcRepository.findForServerAndTimeRange(
                 server.id(),
                 item.id(),
                 timeRange.start(),
@@ -129,19 +142,22 @@ class ItemPriceServiceImpl implements ItemPriceService {
                 () -> new ItemPriceNotFoundException("No item prices found for time range %s for server identifier %s and item identifier %s"
                         .formatted(timeRange, serverIdentifier, itemIdentifier)));
 
-        return itemPriceMapper.toPageResponse(page);
+        return itemPriceMapper.toSnapshotPageResponse(page, server.uniqueName(), item.uniqueName());
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ItemPricePageResponse getRecentForItemListAndServers(@Valid ItemPriceRequest request, Pageable pageable) {
         Set<Integer> itemIds = getItemIds(request.itemList());
         Set<Integer> serverIds = getServerIds(request.serverList());
-        Page<ItemPrice> page = findRecentForItemsAndServers(serverIds, itemIds, pageable);
+        ItemPricePageResponse itemPrices = latestPriceSnapshot.current()
+                .map(prices -> prices.forItemsAndServers(itemIds, serverIds, pageable))
+                .orElseGet(() -> itemPriceMapper.toLatestPageResponse(findRecentForItemsAndServers(serverIds, itemIds, pageable)));
 
-        notEmpty(page.getContent(),
+        notEmpty(itemPrices.prices(),
                 () -> new ItemPriceNotFoundException("No recent prices found for item list"));
 
-        return itemPriceMapper.toPageResponse(page);
+        return itemPrices;
     }
 
     private Set<Integer> getItemIds(Set<String> itemList) {
@@ -156,16 +172,10 @@ class ItemPriceServiceImpl implements ItemPriceService {
                 .collect(Collectors.toSet());
     }
 
-    private Page<ItemPrice> findRecentForItemsAndServers(Set<Integer> serverIds, Set<Integer> itemIds, Pageable pageable) {
+    private Page<ItemPriceLatest> findRecentForItemsAndServers(Set<Integer> serverIds, Set<Integer> itemIds, Pageable pageable) {
         return isCollectionEmpty(serverIds)
-                ? itemPriceRepository.findRecentForItemList(itemIds, pageable)
-                : itemPriceRepository.findRecentForItemsAndServers(itemIds, serverIds, pageable);
-    }
-
-    @Override
-    @Transactional
-    public void saveAll(List<ItemPrice> itemPricesToSave) {
-        jdbcRepository.saveAll(itemPricesToSave);
+                ? itemPriceLatestRepository.findRecentForItemList(itemIds, pageable)
+                : itemPriceLatestRepository.findRecentForItemsAndServers(itemIds, serverIds, pageable);
     }
 
 }
@@ -0,0 +1,213 @@
+package com.thoroldvix.economatic.itemprice;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+class ItemPriceSnapshotJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO item_price_snapshot (server_id, snapshot_time, full_snapshot, removed_item_ids)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String FIND_LAST_FULL_SNAPSHOTS_SQL = """
+            SELECT server_id, MAX(snapshot_time) AS snapshot_time
+            FROM item_price_snapshot
+            WHERE full_snapshot
+            GROUP BY server_id
+            """;
+    private static final String FIND_LATEST_SNAPSHOTS_SQL = """
+            SELECT server_id, MAX(snapshot_time) AS snapshot_time
+            FROM item_price_snapshot
+            GROUP BY server_id
+            """;
+    private static final String FIND_LATEST_SNAPSHOT_FOR_SERVER_SQL = """
+            SELECT MAX(snapshot_time)
+            FROM item_price_snapshot
+            WHERE server_id = ?
+            """;
+    private static final String FIND_STORED_PRICES_SQL = """
+            WITH latest AS (SELECT DISTINCT ON (server_id) server_id, snapshot_time
+                            FROM item_price_snapshot
+                            ORDER BY server_id, snapshot_time DESC),
+                 bounds AS (SELECT l.server_id,
+                                   l.snapshot_time,
+                                   (SELECT MAX(f.snapshot_time)
+                                    FROM item_price_snapshot f
+                                    WHERE f.server_id = l.server_id
+                                      AND f.full_snapshot
+                                      AND f.snapshot_time <= l.snapshot_time) AS full_time
+                            FROM latest l)
+            SELECT p.server_id, p.item_id, p.min_buyout, p.historical_value, p.market_value, p.quantity, p.num_auctions
+            FROM (SELECT DISTINCT ON (ip.server_id, ip.item_id) ip.*
+                  FROM bounds b
+                           JOIN item_price ip ON ip.server_id = b.server_id
+                      AND ip.updated_at BETWEEN b.full_time AND b.snapshot_time
+                           JOIN item_price_snapshot m ON m.server_id = ip.server_id AND m.snapshot_time = ip.updated_at
+                  WHERE b.full_time >= ?
+                  ORDER BY ip.server_id, ip.item_id, ip.updated_at DESC) p
+            WHERE NOT EXISTS (SELECT 1
+                              FROM item_price_snapshot r
+                              WHERE r.server_id = p.server_id
+                                AND r.snapshot_time > p.updated_at
+                                AND p.item_id = ANY (r.removed_item_ids))
+            """;
+    private static final String HISTORY_SQL = """
+            WITH snapshots AS (SELECT s.server_id,
+                                      s.snapshot_time,
+                                      (SELECT MAX(f.snapshot_time)
+                                       FROM item_price_snapshot f
+                                       WHERE f.server_id = s.server_id
+                                         AND f.full_snapshot
+                                         AND f.snapshot_time <= s.snapshot_time) AS full_time
+                               FROM item_price_snapshot s
+                               WHERE s.server_id = ? AND s.snapshot_time >= ? AND s.snapshot_time <= ?)
+            SELECT %s
+            FROM snapshots s
+                     JOIN LATERAL (SELECT ip.item_id, ip.min_buyout, ip.historical_value, ip.market_value, ip.quantity,
+                                          ip.num_auctions, ip.updated_at AS stored_at
+                                   FROM item_price ip
+                                   WHERE ip.server_id = s.server_id
+                                     AND ip.item_id = ?
+                                     AND ip.updated_at BETWEEN s.full_time AND s.snapshot_time
+                                     AND EXISTS (SELECT 1
+                                                 FROM item_price_snapshot m
+                                                 WHERE m.server_id = ip.server_id AND m.snapshot_time = ip.updated_at)
+                                   ORDER BY ip.updated_at DESC
+                                   LIMIT 1) ip ON TRUE
+            WHERE NOT EXISTS (SELECT 1
+                              FROM item_price_snapshot r
+                              WHERE r.server_id = s.server_id
+                                AND r.snapshot_time > ip.stored_at
+                                AND r.snapshot_time <= s.snapshot_time
+                                AND ip.item_id = ANY (r.removed_item_ids))
+            """;
+    private static final String HISTORY_COLUMNS = """
+            ip.item_id, ip.min_buyout, ip.historical_value, ip.market_value, ip.quantity, ip.num_auctions,
+                   s.snapshot_time AS updated_at""";
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "updatedAt", "updated_at",
+            "minBuyout", "min_buyout",
+            "historicalValue", "historical_value",
+            "marketValue", "market_value",
+            "quantity", "quantity",
+            "numAuctions", "num_auctions");
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(int serverId, LocalDateTime snapshotTime, boolean full, int[] removedItemIds) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL);
+            ps.setInt(1, serverId);
+            ps.setTimestamp(2, Timestamp.valueOf(snapshotTime));
+            ps.setBoolean(3, full);
+            ps.setArray(4, connection.unwrap(PGConnection.class).createArrayOf("int4", removedItemIds));
+            return ps;
+        });
+    }
+
+    public Map<Integer, LocalDateTime> findLastFullSnapshotTimes() {
+        return findSnapshotTimes(FIND_LAST_FULL_SNAPSHOTS_SQL);
+    }
+
+    public Map<Integer, LocalDateTime> findLatestSnapshotTimes() {
+        return findSnapshotTimes(FIND_LATEST_SNAPSHOTS_SQL);
+    }
+
+    private Map<Integer, LocalDateTime> findSnapshotTimes(String sql) {
+        Map<Integer, LocalDateTime> snapshotTimes = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            snapshotTimes.put(rs.getInt("server_id"), rs.getTimestamp("snapshot_time").toLocalDateTime());
+        });
+        return snapshotTimes;
+    }
+
+    public Optional<LocalDateTime> findLatestSnapshotTime(int serverId) {
+        Timestamp snapshotTime = jdbcTemplate.queryForObject(FIND_LATEST_SNAPSHOT_FOR_SERVER_SQL, Timestamp.class, serverId);
+        return Optional.ofNullable(snapshotTime).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Streams the last stored price of every item for servers whose latest full snapshot was taken at or after
+     * {@code fullSnapshotsSince}, skipping items that disappeared after their last stored price.
+     */
+    public void findStoredPrices(LocalDateTime fullSnapshotsSince, ObjIntConsumer<NexusHubResponse.NexusHubPrice> consumer) {
+        jdbcTemplate.query(FIND_STORED_PRICES_SQL, rs -> {
+            consumer.accept(new NexusHubResponse.NexusHubPrice(
+                    rs.getInt("item_id"),
+                    rs.getLong("min_buyout"),
+                    rs.getLong("historical_value"),
+                    rs.getLong("market_value"),
+                    rs.getInt("quantity"),
+                    rs.getInt("num_auctions")), rs.getInt("server_id"));
+        }, Timestamp.valueOf(fullSnapshotsSince));
+    }
+
+    /**
+     * Returns the price of an item at every snapshot of a server in the given time range. Snapshots only store prices
+     * that changed, so the last stored price is carried forward to every following snapshot until the price changes
+     * or the item disappears.
+     */
+    public Page<ItemPriceSnapshotRow> findForServerAndTimeRange(int serverId, int itemId, LocalDateTime start,
+                                                                LocalDateTime end, Pageable pageable) {
+        Object[] args = {serverId, Timestamp.valueOf(start), Timestamp.valueOf(end), itemId};
+        Long total = jdbcTemplate.queryForObject(HISTORY_SQL.formatted("COUNT(*)"), Long.class, args);
+        if (total == null || total == 0) {
+            return Page.empty(pageable);
+        }
+        String sql = HISTORY_SQL.formatted(HISTORY_COLUMNS) + orderBy(pageable.getSort())
+                + (pageable.isPaged() ? " LIMIT %d OFFSET %d".formatted(pageable.getPageSize(), pageable.getOffset()) : "");
+        List<ItemPriceSnapshotRow> rows = jdbcTemplate.query(sql, (rs, rowNum) -> new ItemPriceSnapshotRow(
+                rs.getInt("item_id"),
+                rs.getLong("min_buyout"),
+                rs.getLong("historical_value"),
+                rs.getLong("market_value"),
+                rs.getInt("quantity"),
+                rs.getInt("num_auctions"),
+                rs.getTimestamp("updated_at").toLocalDateTime()), args);
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    private static String orderBy(Sort sort) {
+        String order = sort.stream()
+                .map(o -> sortColumn(o.getProperty()) + (o.isAscending() ? " ASC" : " DESC"))
+                .collect(Collectors.joining(", "));
+        return order.isEmpty() ? "ORDER BY updated_at DESC" : "ORDER BY " + order + ", updated_at DESC";
+    }
+
+    private static String sortColumn(String property) {
+        String column = SORT_COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Item prices cannot be sorted by " + property);
+        }
+        return column;
+    }
+
+    record ItemPriceSnapshotRow(
+            int itemId,
+            long minBuyout,
+            long historicalValue,
+            long marketValue,
+            int quantity,
+            int numAuctions,
+            LocalDateTime updatedAt
+    ) {
+
+    }
+}
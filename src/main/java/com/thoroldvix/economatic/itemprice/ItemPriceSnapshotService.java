@@ -0,0 +1,72 @@
+package com.thoroldvix.economatic.itemprice;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+class ItemPriceSnapshotService {
+
+    private final ItemPriceWriter itemPriceWriter;
+    private final ItemPriceLatestJdbcRepository itemPriceLatestJdbcRepository;
+    private final ItemPriceRepository itemPriceRepository;
+    private final ItemPriceSnapshotJdbcRepository itemPriceSnapshotJdbcRepository;
+    private final ItemPriceChangeTracker itemPriceChangeTracker;
+
+    public void saveAll(int serverId, LocalDateTime snapshotTime, List<NexusHubResponse.NexusHubPrice> pricesToSave) {
+        List<NexusHubResponse.NexusHubPrice> changedPrices = itemPriceChangeTracker.changed(serverId, snapshotTime, pricesToSave);
+        if (!changedPrices.isEmpty()) {
+            itemPriceWriter.write(serverId, snapshotTime, changedPrices);
+        }
+        itemPriceLatestJdbcRepository.stage(serverId, snapshotTime, pricesToSave);
+    }
+
+    public void complete(int serverId, LocalDateTime snapshotTime) {
+        ItemPriceChangeTracker.Snapshot snapshot = itemPriceChangeTracker.snapshot(serverId, snapshotTime);
+        itemPriceSnapshotJdbcRepository.insert(serverId, snapshotTime, snapshot.full(), snapshot.removedItemIds());
+        itemPriceLatestJdbcRepository.applyStaged(serverId, snapshotTime);
+        itemPriceLatestJdbcRepository.deleteStale(serverId, snapshotTime);
+        afterCommit(() -> itemPriceChangeTracker.commit(serverId, snapshotTime));
+        log.debug("Stored {} of {} item prices for server {}", snapshot.stored(), snapshot.received(), serverId);
+    }
+
+    /**
+     * Makes sure the change tracker builds on the latest stored snapshot of the server, which another node may have
+     * written.
+     *
+     * @return {@code true} if the tracker state of the server was out of date and has been dropped
+     */
+    @Transactional(readOnly = true)
+    public boolean syncWithStored(int serverId) {
+        return itemPriceChangeTracker.sync(serverId,
+                itemPriceSnapshotJdbcRepository.findLatestSnapshotTime(serverId).orElse(null));
+    }
+
+    public void discard(int serverId, LocalDateTime snapshotTime) {
+        itemPriceChangeTracker.discard(serverId, snapshotTime);
+        itemPriceRepository.deleteSnapshot(serverId, snapshotTime);
+        itemPriceLatestJdbcRepository.discardStaged(serverId, snapshotTime);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,242 @@
+package com.thoroldvix.economatic.itemprice;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+class ItemPriceUpdateRunJdbcRepository {
+
+    private static final String FIND_UNFINISHED_RUN_SQL = """
+            SELECT id
+            FROM item_price_update_run
+            WHERE status = 'RUNNING'
+            """;
+    private static final String INSERT_RUN_SQL = """
+            INSERT INTO item_price_update_run (status, started_at)
+            VALUES ('RUNNING', ?)
+            RETURNING id
+            """;
+    private static final String INSERT_SERVERS_SQL = """
+            INSERT INTO item_price_update_run_server (run_id, server_id, status, updated_at)
+            SELECT ?, s.id, 'PENDING', ?
+            FROM unnest(?) AS s(id)
+            """;
+    private static final String FIND_UNFINISHED_SERVERS_SQL = """
+            SELECT server_id
+            FROM item_price_update_run_server
+            WHERE run_id = ? AND status <> 'SUCCEEDED'
+            ORDER BY server_id
+            """;
+    private static final String RESET_FAILED_SERVERS_SQL = """
+            UPDATE item_price_update_run_server
+            SET status           = 'PENDING',
+                owner            = NULL,
+                lease_expires_at = NULL
+            WHERE run_id = ? AND status = 'FAILED'
+            """;
+    private static final String CLAIM_SERVER_SQL = """
+            UPDATE item_price_update_run_server rs
+            SET owner            = ?,
+                lease_expires_at = now() + make_interval(secs => ?)
+            WHERE (rs.run_id, rs.server_id) = (SELECT c.run_id, c.server_id
+                                               FROM item_price_update_run_server c
+                                               WHERE c.run_id = ?
+                                                 AND c.status IN ('PENDING', 'RUNNING')
+                                                 AND (c.lease_expires_at IS NULL OR c.lease_expires_at < now())
+                                               ORDER BY c.server_id
+                                               LIMIT 1 FOR UPDATE SKIP LOCKED)
+            RETURNING rs.server_id
+            """;
+    private static final String RENEW_CLAIMS_SQL = """
+            UPDATE item_price_update_run_server
+            SET lease_expires_at = now() + make_interval(secs => ?)
+            WHERE owner = ? AND status IN ('PENDING', 'RUNNING')
+            """;
+    private static final String COUNT_ACTIVE_SERVERS_SQL = """
+            SELECT COUNT(*)
+            FROM item_price_update_run_server
+            WHERE run_id = ? AND status IN ('PENDING', 'RUNNING')
+            """;
+    private static final String FIND_SNAPSHOT_TIME_SQL = """
+            SELECT snapshot_time
+            FROM item_price_update_run_server
+            WHERE run_id = ? AND server_id = ? AND owner = ?
+            FOR UPDATE
+            """;
+    private static final String START_ATTEMPT_SQL = """
+            UPDATE item_price_update_run_server
+            SET status        = 'RUNNING',
+                attempts      = attempts + 1,
+                snapshot_time = ?,
+                updated_at    = ?
+            WHERE run_id = ? AND server_id = ? AND owner = ?
+            """;
+    private static final String MARK_SUCCEEDED_SQL = """
+            UPDATE item_price_update_run_server
+            SET status     = 'SUCCEEDED',
+                last_error = NULL,
+                updated_at = ?
+            WHERE run_id = ? AND server_id = ? AND owner = ?
+            """;
+    private static final String MARK_FAILED_SQL = """
+            UPDATE item_price_update_run_server
+            SET status        = 'FAILED',
+                snapshot_time = NULL,
+                last_error    = ?,
+                updated_at    = ?
+            WHERE run_id = ? AND server_id = ? AND owner = ?
+            """;
+    private static final String FINISH_RUN_SQL = """
+            UPDATE item_price_update_run r
+            SET status      = CASE
+                                  WHEN EXISTS (SELECT 1
+                                               FROM item_price_update_run_server rs
+                                               WHERE rs.run_id = r.id AND rs.status <> 'SUCCEEDED') THEN 'FAILED'
+                                  ELSE 'SUCCEEDED' END,
+                finished_at = ?
+            WHERE id = ?
+            RETURNING status
+            """;
+    private static final String FIND_LATEST_RUN_SQL = """
+            SELECT id, status, started_at, finished_at
+            FROM item_price_update_run
+            ORDER BY id DESC
+            LIMIT 1
+            """;
+    private static final String FIND_RUN_SERVERS_SQL = """
+            SELECT rs.server_id, s.unique_name, rs.status, rs.attempts, rs.last_error, rs.updated_at
+            FROM item_price_update_run_server rs
+                     JOIN server s ON s.id = rs.server_id
+            WHERE rs.run_id = ?
+            ORDER BY s.unique_name
+            """;
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Long> findUnfinishedRunId() {
+        return jdbcTemplate.queryForList(FIND_UNFINISHED_RUN_SQL, Long.class).stream().findFirst();
+    }
+
+    public long createRun(LocalDateTime startedAt, Collection<Integer> serverIds) {
+        Long runId = jdbcTemplate.queryForObject(INSERT_RUN_SQL, Long.class, Timestamp.valueOf(startedAt));
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SERVERS_SQL);
+            ps.setLong(1, runId);
+            ps.setTimestamp(2, Timestamp.valueOf(startedAt));
+            ps.setArray(3, connection.createArrayOf("int4", serverIds.toArray()));
+            return ps;
+        });
+        return runId;
+    }
+
+    public List<Integer> findUnfinishedServerIds(long runId) {
+        return jdbcTemplate.queryForList(FIND_UNFINISHED_SERVERS_SQL, Integer.class, runId);
+    }
+
+    public void resetFailedServers(long runId) {
+        jdbcTemplate.update(RESET_FAILED_SERVERS_SQL, runId);
+    }
+
+    public Optional<Integer> claimServer(long runId, String owner, Duration ttl) {
+        return jdbcTemplate.queryForList(CLAIM_SERVER_SQL, Integer.class, owner, ttl.toSeconds(), runId).stream()
+                .findFirst();
+    }
+
+    public void renewClaims(String owner, Duration ttl) {
+        jdbcTemplate.update(RENEW_CLAIMS_SQL, ttl.toSeconds(), owner);
+    }
+
+    public long countActiveServers(long runId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_ACTIVE_SERVERS_SQL, Long.class, runId);
+        return count == null ? 0 : count;
+    }
+
+    public Optional<LocalDateTime> findSnapshotTimeForUpdate(long runId, int serverId, String owner) {
+        return jdbcTemplate.queryForList(FIND_SNAPSHOT_TIME_SQL, Timestamp.class, runId, serverId, owner).stream()
+                .filter(Objects::nonNull)
+                .map(Timestamp::toLocalDateTime)
+                .findFirst();
+    }
+
+    public boolean startAttempt(long runId, int serverId, String owner, LocalDateTime snapshotTime, LocalDateTime updatedAt) {
+        return jdbcTemplate.update(START_ATTEMPT_SQL, Timestamp.valueOf(snapshotTime), Timestamp.valueOf(updatedAt),
+                runId, serverId, owner) == 1;
+    }
+
+    public boolean markSucceeded(long runId, int serverId, String owner, LocalDateTime updatedAt) {
+        return jdbcTemplate.update(MARK_SUCCEEDED_SQL, Timestamp.valueOf(updatedAt), runId, serverId, owner) == 1;
+    }
+
+    public boolean markFailed(long runId, int serverId, String owner, String error, LocalDateTime updatedAt) {
+        return jdbcTemplate.update(MARK_FAILED_SQL, error, Timestamp.valueOf(updatedAt), runId, serverId, owner) == 1;
+    }
+
+    public ItemPriceUpdateStatus finishRun(long runId, LocalDateTime finishedAt) {
+        String status = jdbcTemplate.queryForObject(FINISH_RUN_SQL, String.class, Timestamp.valueOf(finishedAt), runId);
+        return ItemPriceUpdateStatus.valueOf(status);
+    }
+
+    public Optional<ItemPriceUpdateRunResponse> findLatestRun() {
+        List<RunRow> runs = jdbcTemplate.query(FIND_LATEST_RUN_SQL, (rs, rowNum) -> new RunRow(
+                rs.getLong("id"),
+                ItemPriceUpdateStatus.valueOf(rs.getString("status")),
+                rs.getTimestamp("started_at").toLocalDateTime(),
+                toLocalDateTime(rs.getTimestamp("finished_at"))));
+        if (runs.isEmpty()) {
+            return Optional.empty();
+        }
+        RunRow run = runs.get(0);
+        List<ItemPriceUpdateRunResponse.ServerProgress> servers = jdbcTemplate.query(FIND_RUN_SERVERS_SQL,
+                (rs, rowNum) -> ItemPriceUpdateRunResponse.ServerProgress.builder()
+                        .serverId(rs.getInt("server_id"))
+                        .server(rs.getString("unique_name"))
+                        .status(ItemPriceUpdateStatus.valueOf(rs.getString("status")))
+                        .attempts(rs.getInt("attempts"))
+                        .lastError(rs.getString("last_error"))
+                        .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                        .build(),
+                run.id());
+        int succeeded = countWithStatus(servers, ItemPriceUpdateStatus.SUCCEEDED);
+        int failed = countWithStatus(servers, ItemPriceUpdateStatus.FAILED);
+        return Optional.of(ItemPriceUpdateRunResponse.builder()
+                .id(run.id())
+                .status(run.status())
+                .startedAt(run.startedAt())
+                .finishedAt(run.finishedAt())
+                .totalServers(servers.size())
+                .succeededServers(succeeded)
+                .failedServers(failed)
+                .pendingServers(servers.size() - succeeded - failed)
+                .servers(servers)
+                .build());
+    }
+
+    private static int countWithStatus(List<ItemPriceUpdateRunResponse.ServerProgress> servers, ItemPriceUpdateStatus status) {
+        return (int) servers.stream()
+                .filter(server -> server.status() == status)
+                .count();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private record RunRow(
+            long id,
+            ItemPriceUpdateStatus status,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt
+    ) {
+
+    }
+}
@@ -0,0 +1,32 @@
+package com.thoroldvix.economatic.itemprice;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+public record ItemPriceUpdateRunResponse(
+        long id,
+        ItemPriceUpdateStatus status,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        int totalServers,
+        int succeededServers,
+        int failedServers,
+        int pendingServers,
+        List<ServerProgress> servers
+) {
+
+    @Builder
+    public record ServerProgress(
+            int serverId,
+            String server,
+            ItemPriceUpdateStatus status,
+            int attempts,
+            String lastError,
+            LocalDateTime updatedAt
+    ) {
+
+    }
+}
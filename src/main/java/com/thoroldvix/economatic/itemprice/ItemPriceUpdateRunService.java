@@ -0,0 +1,129 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.common.lease.JobLeases;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps track of item price update runs. Every run stores the status of each server, so a run interrupted by a crash
+ * or restart continues with the servers that have not finished yet. Rows written by an unfinished attempt are removed
+ * before the server is fetched again, so retries never leave a partial snapshot behind.
+ * <p>
+ * Servers of a run are shards that every node sharing the database can work on: a node claims one server at a time
+ * under a lease it keeps renewing, and a server whose lease expired because its node died is claimed again by another
+ * node. Status changes only apply while the calling node still holds the claim.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+class ItemPriceUpdateRunService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ItemPriceUpdateRunJdbcRepository itemPriceUpdateRunJdbcRepository;
+    private final ItemPriceSnapshotService itemPriceSnapshotService;
+    private final JobLeases jobLeases;
+
+    public UpdateRun startOrResume(Collection<Integer> serverIds) {
+        var unfinishedRunId = itemPriceUpdateRunJdbcRepository.findUnfinishedRunId();
+        unfinishedRunId.ifPresent(itemPriceUpdateRunJdbcRepository::resetFailedServers);
+        long runId = unfinishedRunId.orElseGet(() -> itemPriceUpdateRunJdbcRepository.createRun(LocalDateTime.now(), serverIds));
+        return new UpdateRun(runId, unfinishedRunId.isPresent(), itemPriceUpdateRunJdbcRepository.findUnfinishedServerIds(runId));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasUnfinishedRun() {
+        return itemPriceUpdateRunJdbcRepository.findUnfinishedRunId().isPresent();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Long> findUnfinishedRunId() {
+        return itemPriceUpdateRunJdbcRepository.findUnfinishedRunId();
+    }
+
+    /**
+     * Claims the next server of the run that is not finished and not claimed by a live node.
+     */
+    public Optional<Integer> claimNext(long runId) {
+        return itemPriceUpdateRunJdbcRepository.claimServer(runId, jobLeases.owner(), jobLeases.ttl());
+    }
+
+    public void renewClaims() {
+        itemPriceUpdateRunJdbcRepository.renewClaims(jobLeases.owner(), jobLeases.ttl());
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasActiveServers(long runId) {
+        return itemPriceUpdateRunJdbcRepository.countActiveServers(runId) > 0;
+    }
+
+    public void startAttempt(long runId, int serverId, LocalDateTime snapshotTime) {
+        discardUnfinishedSnapshot(runId, serverId);
+        if (!itemPriceUpdateRunJdbcRepository.startAttempt(runId, serverId, jobLeases.owner(), snapshotTime, LocalDateTime.now())) {
+            throw claimLost(runId, serverId);
+        }
+    }
+
+    public void complete(long runId, int serverId, LocalDateTime snapshotTime) {
+        itemPriceSnapshotService.complete(serverId, snapshotTime);
+        markSucceeded(runId, serverId);
+    }
+
+    /**
+     * Marks the server succeeded without a new snapshot, because its prices have not changed since the last one.
+     */
+    public void completeUnchanged(long runId, int serverId, LocalDateTime snapshotTime) {
+        itemPriceSnapshotService.discard(serverId, snapshotTime);
+        markSucceeded(runId, serverId);
+    }
+
+    public void fail(long runId, int serverId, Exception cause) {
+        discardUnfinishedSnapshot(runId, serverId);
+        itemPriceUpdateRunJdbcRepository.markFailed(runId, serverId, jobLeases.owner(), describe(cause), LocalDateTime.now());
+    }
+
+    public ItemPriceUpdateStatus finish(long runId) {
+        return itemPriceUpdateRunJdbcRepository.finishRun(runId, LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public ItemPriceUpdateRunResponse getLatest() {
+        return itemPriceUpdateRunJdbcRepository.findLatestRun()
+                .orElseThrow(() -> new ItemPriceNotFoundException("No item price update runs found"));
+    }
+
+    private void markSucceeded(long runId, int serverId) {
+        if (!itemPriceUpdateRunJdbcRepository.markSucceeded(runId, serverId, jobLeases.owner(), LocalDateTime.now())) {
+            throw claimLost(runId, serverId);
+        }
+    }
+
+    private void discardUnfinishedSnapshot(long runId, int serverId) {
+        itemPriceUpdateRunJdbcRepository.findSnapshotTimeForUpdate(runId, serverId, jobLeases.owner())
+                .ifPresent(snapshotTime -> itemPriceSnapshotService.discard(serverId, snapshotTime));
+    }
+
+    private static ItemPriceClaimLostException claimLost(long runId, int serverId) {
+        return new ItemPriceClaimLostException("Server %d of item price update run %d is claimed by another node"
+                .formatted(serverId, runId));
+    }
+
+    private static String describe(Exception cause) {
+        String description = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return description.length() > MAX_ERROR_LENGTH ? description.substring(0, MAX_ERROR_LENGTH) : description;
+    }
+
+    record UpdateRun(
+            long id,
+            boolean resumed,
+            List<Integer> serverIds
+    ) {
+
+    }
+}
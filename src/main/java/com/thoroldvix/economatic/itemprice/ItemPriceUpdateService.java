@@ -1,99 +1,260 @@
 package com.thoroldvix.economatic.itemprice;
 
-import com.thoroldvix.economatic.item.Item;
-import com.thoroldvix.economatic.server.Server;
+import com.thoroldvix.economatic.common.cache.DataVersions;
+import com.thoroldvix.economatic.common.cache.Dataset;
+import com.thoroldvix.economatic.common.lease.JobLeases;
 import com.thoroldvix.economatic.server.ServerResponse;
 import com.thoroldvix.economatic.server.ServerService;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.thoroldvix.economatic.common.util.Utils.elapsedTimeInMillis;
 
+/**
+ * Runs item price updates. The node holding the {@value #JOB} lease starts each run and finishes it, while every node
+ * sharing the database, including that one, fetches the servers of the run it manages to claim. A node that is not
+ * running the update looks for a run started elsewhere every {@link JobLeases#RENEW_INTERVAL lease renew interval},
+ * and reloads its latest price snapshot when {@link DataVersions} sees that such a run has finished. A run that is due on this node waits for such a
+ * look to end rather than skipping its interval.
+ */
 @Service
 @Slf4j
 class ItemPriceUpdateService {
 
+    static final String JOB = "item-price-update";
     public static final String UPDATE_RATE = "${economatic.item-price.update-rate}";
     public static final String UPDATE_ON_STARTUP_OR_DEFAULT = "#{${economatic.update-on-startup} ? -1 : ${economatic.item-price.update-rate}}";
+    private static final double RETRY_BACKOFF_MULTIPLIER = 2;
+    private static final int MAX_RETRY_BACKOFF_MULTIPLE = 8;
 
-    @PersistenceContext
-    private final EntityManager entityManager;
-    private final ItemPriceService itemPriceService;
+    private final ItemPriceSnapshotService itemPriceSnapshotService;
+    private final ItemPriceUpdateRunService itemPriceUpdateRunService;
     private final NexusHubService nexusHubService;
-    private final Map<String, Integer> serverIdentifiers;
+    private final ItemPriceProp itemPriceProp;
+    private final LatestPriceSnapshot latestPriceSnapshot;
+    private final ItemPriceIngestionExecutor ingestionExecutor;
+    private final TaskScheduler taskScheduler;
+    private final JobLeases jobLeases;
+    private final DataVersions dataVersions;
+    private final Map<Integer, String> serverNames;
+    private final RetryTemplate retryTemplate;
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private final ReentrantLock runLock = new ReentrantLock();
 
     @Autowired
-    public ItemPriceUpdateService(EntityManager entityManager,
-                                  ItemPriceService itemPriceService,
+    public ItemPriceUpdateService(ItemPriceSnapshotService itemPriceSnapshotService,
+                                  ItemPriceUpdateRunService itemPriceUpdateRunService,
                                   NexusHubService nexusHubService,
-                                  ServerService serverService) {
-        this.entityManager = entityManager;
-        this.itemPriceService = itemPriceService;
+                                  ServerService serverService,
+                                  ItemPriceProp itemPriceProp,
+                                  LatestPriceSnapshot latestPriceSnapshot,
+                                  ItemPriceIngestionExecutor ingestionExecutor,
+                                  TaskScheduler taskScheduler,
+                                  JobLeases jobLeases,
+                                  DataVersions dataVersions) {
+        this.itemPriceSnapshotService = itemPriceSnapshotService;
+        this.itemPriceUpdateRunService = itemPriceUpdateRunService;
         this.nexusHubService = nexusHubService;
-        this.serverIdentifiers = getServerIds(serverService);
+        this.itemPriceProp = itemPriceProp;
+        this.latestPriceSnapshot = latestPriceSnapshot;
+        this.ingestionExecutor = ingestionExecutor;
+        this.taskScheduler = taskScheduler;
+        this.jobLeases = jobLeases;
+        this.dataVersions = dataVersions;
+        this.serverNames = getServerNames(serverService);
+        this.retryTemplate = createRetryTemplate(itemPriceProp);
+        dataVersions.onChange(Dataset.ITEM_PRICE, latestPriceSnapshot::reload);
     }
 
-    private Map<String, Integer> getServerIds(ServerService serverService) {
+    private Map<Integer, String> getServerNames(ServerService serverService) {
         return serverService.getAll().servers().stream()
-                .collect(Collectors.toMap(ServerResponse::uniqueName, ServerResponse::id, (id1, id2) -> id1));
+                .collect(Collectors.toMap(ServerResponse::id, ServerResponse::uniqueName, (name1, name2) -> name1));
+    }
+
+    private static RetryTemplate createRetryTemplate(ItemPriceProp itemPriceProp) {
+        long backoff = itemPriceProp.serverRetryBackoff().toMillis();
+        return RetryTemplate.builder()
+                .maxAttempts(itemPriceProp.serverMaxAttempts())
+                .exponentialBackoff(backoff, RETRY_BACKOFF_MULTIPLIER, backoff * MAX_RETRY_BACKOFF_MULTIPLE)
+                .notRetryOn(ItemPriceClaimLostException.class)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedRun() {
+        if (itemPriceUpdateRunService.hasUnfinishedRun()) {
+            taskScheduler.schedule(this::update, Instant.now());
+        }
     }
 
     @Scheduled(fixedRateString = UPDATE_RATE,
             initialDelayString = UPDATE_ON_STARTUP_OR_DEFAULT,
             timeUnit = TimeUnit.HOURS)
-    @Retryable(maxAttempts = 5)
     protected void update() {
-        log.info("Updating item prices");
-        Instant start = Instant.now();
+        if (!jobLeases.tryAcquire(JOB)) {
+            log.info("Item price update is run by another node");
+            return;
+        }
+        if (!updating.compareAndSet(false, true)) {
+            log.info("Item price update is already running");
+            return;
+        }
+        runLock.lock();
+        try {
+            Instant start = Instant.now();
+            ItemPriceUpdateRunService.UpdateRun run = itemPriceUpdateRunService.startOrResume(serverNames.keySet());
+            log.info("{} item price update run {} for {} servers", run.resumed() ? "Resuming" : "Starting",
+                    run.id(), run.serverIds().size());
 
-        serverIdentifiers.keySet().parallelStream()
-                .forEach(serverName -> {
-                    List<ItemPrice> itemPrices = getItemPricesForServer(serverName);
-                    itemPriceService.saveAll(itemPrices);
-                });
+            updateClaimedServers(run.id());
+            if (!awaitOtherNodes(run.id())) {
+                return;
+            }
+            ItemPriceUpdateStatus status = itemPriceUpdateRunService.finish(run.id());
+            latestPriceSnapshot.reload();
+            dataVersions.bump(Dataset.ITEM_PRICE);
 
-        log.info("Finished updating item prices in {} ms", elapsedTimeInMillis(start));
+            log.info("Finished item price update run {} with status {} in {} ms", run.id(), status, elapsedTimeInMillis(start));
+        } finally {
+            runLock.unlock();
+            updating.set(false);
+        }
     }
 
-    private List<ItemPrice> getItemPricesForServer(String serverName) {
-        List<NexusHubResponse.NexusHubPrice> nexusHubPrices = nexusHubService.getItemPricesForServer(serverName);
-        Server server = getServer(serverName);
-        return toItemPriceList(server, nexusHubPrices);
+    /**
+     * Helps with a run started by another node.
+     */
+    @Scheduled(fixedDelayString = JobLeases.RENEW_INTERVAL, timeUnit = TimeUnit.SECONDS)
+    protected void joinRun() {
+        if (!runLock.tryLock()) {
+            return;
+        }
+        try {
+            itemPriceUpdateRunService.findUnfinishedRunId().ifPresent(this::updateClaimedServers);
+        } finally {
+            runLock.unlock();
+        }
     }
 
-    private Server getServer(String uniqueServerName) {
-        int serverId = serverIdentifiers.get(uniqueServerName);
-        return entityManager.getReference(Server.class, serverId);
+    @Scheduled(fixedRateString = JobLeases.RENEW_INTERVAL, timeUnit = TimeUnit.SECONDS)
+    protected void renewClaims() {
+        itemPriceUpdateRunService.renewClaims();
     }
 
-    private List<ItemPrice> toItemPriceList(Server server, List<NexusHubResponse.NexusHubPrice> filteredPrices) {
-        return filteredPrices.parallelStream()
-                .map(itemResponse -> buildItemPrice(server, itemResponse))
+    private void updateClaimedServers(long runId) {
+        List<CompletableFuture<Void>> workers = IntStream.range(0, itemPriceProp.fetchConcurrency())
+                .mapToObj(worker -> ingestionExecutor.fetch(() -> claimAndUpdate(runId)))
                 .toList();
+        awaitAll(workers);
     }
 
-    private ItemPrice buildItemPrice(Server server, NexusHubResponse.NexusHubPrice price) {
-        Item item = entityManager.getReference(Item.class, price.itemId());
-
-        return ItemPrice.builder()
-                .item(item)
-                .marketValue(price.marketValue())
-                .historicalValue(price.historicalValue())
-                .numAuctions(price.numAuctions())
-                .quantity(price.quantity())
-                .minBuyout(price.minBuyout())
-                .server(server)
-                .build();
+    private void claimAndUpdate(long runId) {
+        for (var serverId = itemPriceUpdateRunService.claimNext(runId);
+             serverId.isPresent();
+             serverId = itemPriceUpdateRunService.claimNext(runId)) {
+            updateForServer(runId, serverId.get());
+        }
+    }
+
+    /**
+     * Waits until servers claimed by other nodes are finished, taking over those whose node stopped renewing its claim.
+     *
+     * @return {@code false} if the thread was interrupted while waiting
+     */
+    private boolean awaitOtherNodes(long runId) {
+        while (itemPriceUpdateRunService.hasActiveServers(runId)) {
+            try {
+                Thread.sleep(jobLeases.renewInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for other nodes to finish item price update run {}", runId);
+                return false;
+            }
+            updateClaimedServers(runId);
+        }
+        return true;
+    }
+
+    private void updateForServer(long runId, int serverId) {
+        String serverName = serverNames.get(serverId);
+        try {
+            retryTemplate.execute(context -> {
+                if (context.getRetryCount() > 0) {
+                    log.warn("Retrying item price update for server {}, attempt {}", serverName, context.getRetryCount() + 1);
+                }
+                fetchSnapshot(runId, serverId, serverName);
+                return null;
+            });
+        } catch (ItemPriceClaimLostException e) {
+            log.warn("Stopped updating item prices for server {}, it was taken over by another node", serverName);
+        } catch (RuntimeException e) {
+            log.error("Failed to update item prices for server {}", serverName, e);
+            itemPriceUpdateRunService.fail(runId, serverId, e);
+        }
+    }
+
+    private void fetchSnapshot(long runId, int serverId, String serverName) {
+        if (itemPriceSnapshotService.syncWithStored(serverId)) {
+            nexusHubService.forget(serverName);
+        }
+        LocalDateTime snapshotTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        itemPriceUpdateRunService.startAttempt(runId, serverId, snapshotTime);
+
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        Runnable complete = () -> {
+            awaitAll(writes);
+            itemPriceUpdateRunService.complete(runId, serverId, snapshotTime);
+        };
+        boolean changed;
+        try {
+            if (itemPriceProp.ingestionMode() == ItemPriceProp.IngestionMode.STREAMING) {
+                changed = nexusHubService.streamItemPricesForServer(serverName, itemPriceProp.chunkSize(),
+                        chunk -> writes.add(write(serverId, snapshotTime, List.copyOf(chunk))), complete);
+            } else {
+                changed = nexusHubService.getItemPricesForServer(serverName,
+                        prices -> writes.add(write(serverId, snapshotTime, prices)), complete);
+            }
+        } finally {
+            awaitAll(writes);
+        }
+        if (!changed) {
+            log.info("Item prices for server {} have not changed since the last update", serverName);
+            itemPriceUpdateRunService.completeUnchanged(runId, serverId, snapshotTime);
+        }
+    }
+
+    private CompletableFuture<Void> write(int serverId, LocalDateTime snapshotTime, List<NexusHubResponse.NexusHubPrice> prices) {
+        return ingestionExecutor.write(() -> itemPriceSnapshotService.saveAll(serverId, snapshotTime, prices));
+    }
+
+    private static void awaitAll(List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
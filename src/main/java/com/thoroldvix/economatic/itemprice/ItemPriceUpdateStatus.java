@@ -0,0 +1,8 @@
+package com.thoroldvix.economatic.itemprice;
+
+public enum ItemPriceUpdateStatus {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.thoroldvix.economatic.itemprice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+interface ItemPriceWriter {
+
+    void write(int serverId, LocalDateTime snapshotTime, Collection<NexusHubResponse.NexusHubPrice> prices);
+}
@@ -0,0 +1,34 @@
+package com.thoroldvix.economatic.itemprice;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static com.thoroldvix.economatic.common.util.Utils.elapsedTimeInMillis;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class LatestPriceSnapshot {
+
+    private final ItemPriceLatestJdbcRepository itemPriceLatestJdbcRepository;
+    private volatile LatestPrices latestPrices;
+
+    @CacheEvict(value = "item-price-cache", allEntries = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void reload() {
+        Instant start = Instant.now();
+        latestPrices = itemPriceLatestJdbcRepository.loadLatestPrices();
+        log.info("Reloaded latest item price snapshot in {} ms", elapsedTimeInMillis(start));
+    }
+
+    public Optional<LatestPrices> current() {
+        return Optional.ofNullable(latestPrices);
+    }
+}
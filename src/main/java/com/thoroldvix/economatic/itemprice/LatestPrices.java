@@ -0,0 +1,351 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.common.dto.PaginationInfo;
+import com.thoroldvix.economatic.server.Faction;
+import com.thoroldvix.economatic.server.Region;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+final class LatestPrices {
+
+    private static final long ABSENT = 0;
+    private static final int INSERTION_SORT_THRESHOLD = 7;
+
+    private final int[] serverIds;
+    private final String[] serverNames;
+    private final Region[] regions;
+    private final Faction[] factions;
+    private final int[] itemIds;
+    private final String[] itemNames;
+    private final long[][] minBuyout;
+    private final long[][] historicalValue;
+    private final long[][] marketValue;
+    private final int[][] quantity;
+    private final int[][] numAuctions;
+    private final long[][] updatedAt;
+
+    private LatestPrices(Builder builder) {
+        this.serverIds = builder.serverIds;
+        this.serverNames = builder.serverNames;
+        this.regions = builder.regions;
+        this.factions = builder.factions;
+        this.itemIds = builder.itemIds;
+        this.itemNames = builder.itemNames;
+        this.minBuyout = builder.minBuyout;
+        this.historicalValue = builder.historicalValue;
+        this.marketValue = builder.marketValue;
+        this.quantity = builder.quantity;
+        this.numAuctions = builder.numAuctions;
+        this.updatedAt = builder.updatedAt;
+    }
+
+    static Builder builder(List<ServerRow> servers, List<ItemRow> items) {
+        return new Builder(servers, items);
+    }
+
+    ItemPricePageResponse forServer(int serverId, Pageable pageable) {
+        int serverIdx = Arrays.binarySearch(serverIds, serverId);
+        if (serverIdx < 0) {
+            return page(new int[0], pageable);
+        }
+        return page(collectRows(serverIdx, serverIdx + 1, 0, itemIds.length, s -> true), pageable);
+    }
+
+    ItemPriceListResponse forServerAndItem(int serverId, int itemId) {
+        int serverIdx = Arrays.binarySearch(serverIds, serverId);
+        int itemIdx = Arrays.binarySearch(itemIds, itemId);
+        if (serverIdx < 0 || itemIdx < 0) {
+            return list(new int[0]);
+        }
+        return list(collectRows(serverIdx, serverIdx + 1, itemIdx, itemIdx + 1, s -> true));
+    }
+
+    ItemPriceListResponse forRegionAndItem(Region region, int itemId) {
+        return forItem(itemId, serverIdx -> regions[serverIdx] == region);
+    }
+
+    ItemPriceListResponse forFactionAndItem(Faction faction, int itemId) {
+        return forItem(itemId, serverIdx -> factions[serverIdx] == faction);
+    }
+
+    ItemPricePageResponse forItemsAndServers(Collection<Integer> itemIdList, Collection<Integer> serverIdList, Pageable pageable) {
+        int[] itemIdxs = indexesOf(itemIds, itemIdList);
+        int[] serverIdxs = serverIdList.isEmpty()
+                ? allIndexes(serverIds.length)
+                : indexesOf(serverIds, serverIdList);
+        int[] rows = new int[itemIdxs.length * serverIdxs.length];
+        int count = 0;
+        for (int serverIdx : serverIdxs) {
+            for (int itemIdx : itemIdxs) {
+                if (updatedAt[serverIdx][itemIdx] != ABSENT) {
+                    rows[count++] = row(serverIdx, itemIdx);
+                }
+            }
+        }
+        return page(Arrays.copyOf(rows, count), pageable);
+    }
+
+    private ItemPriceListResponse forItem(int itemId, IntPredicate serverFilter) {
+        int itemIdx = Arrays.binarySearch(itemIds, itemId);
+        if (itemIdx < 0) {
+            return list(new int[0]);
+        }
+        return list(collectRows(0, serverIds.length, itemIdx, itemIdx + 1, serverFilter));
+    }
+
+    private int[] collectRows(int fromServer, int toServer, int fromItem, int toItem, IntPredicate serverFilter) {
+        int[] rows = new int[(toServer - fromServer) * (toItem - fromItem)];
+        int count = 0;
+        for (int serverIdx = fromServer; serverIdx < toServer; serverIdx++) {
+            if (!serverFilter.test(serverIdx)) {
+                continue;
+            }
+            long[] serverUpdatedAt = updatedAt[serverIdx];
+            for (int itemIdx = fromItem; itemIdx < toItem; itemIdx++) {
+                if (serverUpdatedAt[itemIdx] != ABSENT) {
+                    rows[count++] = row(serverIdx, itemIdx);
+                }
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private ItemPriceListResponse list(int[] rows) {
+        return new ItemPriceListResponse(toResponses(rows, 0, rows.length));
+    }
+
+    private ItemPricePageResponse page(int[] rows, Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.isSorted()) {
+            sort(rows, comparator(sort));
+        }
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), rows.length) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), rows.length) : rows.length;
+        List<ItemPriceResponse> content = toResponses(rows, from, to);
+        PaginationInfo paginationInfo = new PaginationInfo(new PageImpl<>(content, pageable, rows.length));
+        return new ItemPricePageResponse(paginationInfo, content);
+    }
+
+    private List<ItemPriceResponse> toResponses(int[] rows, int from, int to) {
+        List<ItemPriceResponse> responses = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            responses.add(toResponse(rows[i]));
+        }
+        return responses;
+    }
+
+    private ItemPriceResponse toResponse(int row) {
+        int serverIdx = serverIdx(row);
+        int itemIdx = itemIdx(row);
+        return ItemPriceResponse.builder()
+                .itemId(itemIds[itemIdx])
+                .itemName(itemNames[itemIdx])
+                .server(serverNames[serverIdx])
+                .minBuyout(minBuyout[serverIdx][itemIdx])
+                .historicalValue(historicalValue[serverIdx][itemIdx])
+                .marketValue(marketValue[serverIdx][itemIdx])
+                .quantity(quantity[serverIdx][itemIdx])
+                .numAuctions(numAuctions[serverIdx][itemIdx])
+                .updatedAt(fromEpochMicros(updatedAt[serverIdx][itemIdx]))
+                .build();
+    }
+
+    private RowComparator comparator(Sort sort) {
+        RowComparator comparator = null;
+        for (Sort.Order order : sort) {
+            RowComparator next = comparator(order.getProperty());
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    private RowComparator comparator(String property) {
+        return switch (property) {
+            case "itemId", "item_id" -> (a, b) -> Integer.compare(itemIds[itemIdx(a)], itemIds[itemIdx(b)]);
+            case "itemName", "item_name" -> (a, b) -> itemNames[itemIdx(a)].compareTo(itemNames[itemIdx(b)]);
+            case "server", "serverId", "server_id" -> (a, b) -> Integer.compare(serverIds[serverIdx(a)], serverIds[serverIdx(b)]);
+            case "minBuyout", "min_buyout" -> (a, b) -> Long.compare(value(minBuyout, a), value(minBuyout, b));
+            case "historicalValue", "historical_value" -> (a, b) -> Long.compare(value(historicalValue, a), value(historicalValue, b));
+            case "marketValue", "market_value" -> (a, b) -> Long.compare(value(marketValue, a), value(marketValue, b));
+            case "quantity" -> (a, b) -> Integer.compare(value(quantity, a), value(quantity, b));
+            case "numAuctions", "num_auctions" -> (a, b) -> Integer.compare(value(numAuctions, a), value(numAuctions, b));
+            case "updatedAt", "updated_at" -> (a, b) -> Long.compare(value(updatedAt, a), value(updatedAt, b));
+            default -> throw new IllegalArgumentException("Unsupported sort property: " + property);
+        };
+    }
+
+    private long value(long[][] column, int row) {
+        return column[serverIdx(row)][itemIdx(row)];
+    }
+
+    private int value(int[][] column, int row) {
+        return column[serverIdx(row)][itemIdx(row)];
+    }
+
+    private int row(int serverIdx, int itemIdx) {
+        return serverIdx * itemIds.length + itemIdx;
+    }
+
+    private int serverIdx(int row) {
+        return row / itemIds.length;
+    }
+
+    private int itemIdx(int row) {
+        return row % itemIds.length;
+    }
+
+    private static int[] indexesOf(int[] sortedIds, Collection<Integer> ids) {
+        int[] indexes = new int[ids.size()];
+        int count = 0;
+        for (int id : ids) {
+            int idx = Arrays.binarySearch(sortedIds, id);
+            if (idx >= 0) {
+                indexes[count++] = idx;
+            }
+        }
+        int[] found = Arrays.copyOf(indexes, count);
+        Arrays.sort(found);
+        return found;
+    }
+
+    private static int[] allIndexes(int length) {
+        int[] indexes = new int[length];
+        Arrays.setAll(indexes, i -> i);
+        return indexes;
+    }
+
+    private static void sort(int[] rows, RowComparator comparator) {
+        mergeSort(rows.clone(), rows, 0, rows.length, comparator);
+    }
+
+    private static void mergeSort(int[] src, int[] dest, int low, int high, RowComparator comparator) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                for (int j = i; j > low && comparator.compare(dest[j - 1], dest[j]) > 0; j--) {
+                    int tmp = dest[j];
+                    dest[j] = dest[j - 1];
+                    dest[j - 1] = tmp;
+                }
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, comparator);
+        mergeSort(dest, src, mid, high, comparator);
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || p < mid && comparator.compare(src[p], src[q]) <= 0) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+
+        int compare(int a, int b);
+
+        default RowComparator reversed() {
+            return (a, b) -> compare(b, a);
+        }
+
+        default RowComparator thenComparing(RowComparator other) {
+            return (a, b) -> {
+                int result = compare(a, b);
+                return result != 0 ? result : other.compare(a, b);
+            };
+        }
+    }
+
+    record ServerRow(int id, String uniqueName, Region region, Faction faction) {
+    }
+
+    record ItemRow(int id, String uniqueName) {
+    }
+
+    static final class Builder {
+
+        private final int[] serverIds;
+        private final String[] serverNames;
+        private final Region[] regions;
+        private final Faction[] factions;
+        private final int[] itemIds;
+        private final String[] itemNames;
+        private final long[][] minBuyout;
+        private final long[][] historicalValue;
+        private final long[][] marketValue;
+        private final int[][] quantity;
+        private final int[][] numAuctions;
+        private final long[][] updatedAt;
+
+        private Builder(List<ServerRow> servers, List<ItemRow> items) {
+            int serverCount = servers.size();
+            int itemCount = items.size();
+            this.serverIds = new int[serverCount];
+            this.serverNames = new String[serverCount];
+            this.regions = new Region[serverCount];
+            this.factions = new Faction[serverCount];
+            for (int i = 0; i < serverCount; i++) {
+                ServerRow server = servers.get(i);
+                serverIds[i] = server.id();
+                serverNames[i] = server.uniqueName();
+                regions[i] = server.region();
+                factions[i] = server.faction();
+            }
+            this.itemIds = new int[itemCount];
+            this.itemNames = new String[itemCount];
+            for (int i = 0; i < itemCount; i++) {
+                itemIds[i] = items.get(i).id();
+                itemNames[i] = items.get(i).uniqueName();
+            }
+            this.minBuyout = new long[serverCount][itemCount];
+            this.historicalValue = new long[serverCount][itemCount];
+            this.marketValue = new long[serverCount][itemCount];
+            this.quantity = new int[serverCount][itemCount];
+            this.numAuctions = new int[serverCount][itemCount];
+            this.updatedAt = new long[serverCount][itemCount];
+        }
+
+        Builder add(int serverId, int itemId, long minBuyout, long historicalValue, long marketValue,
+                    int quantity, int numAuctions, LocalDateTime updatedAt) {
+            int serverIdx = Arrays.binarySearch(serverIds, serverId);
+            int itemIdx = Arrays.binarySearch(itemIds, itemId);
+            if (serverIdx < 0 || itemIdx < 0) {
+                return this;
+            }
+            this.minBuyout[serverIdx][itemIdx] = minBuyout;
+            this.historicalValue[serverIdx][itemIdx] = historicalValue;
+            this.marketValue[serverIdx][itemIdx] = marketValue;
+            this.quantity[serverIdx][itemIdx] = quantity;
+            this.numAuctions[serverIdx][itemIdx] = numAuctions;
+            this.updatedAt[serverIdx][itemIdx] = toEpochMicros(updatedAt);
+            return this;
+        }
+
+        LatestPrices build() {
+            return new LatestPrices(this);
+        }
+    }
+}
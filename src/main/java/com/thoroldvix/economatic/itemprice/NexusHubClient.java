@@ -1,12 +1,16 @@
 package com.thoroldvix.economatic.itemprice;
 
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(name = "item", url = "https://api.nexushub.co/wow-classic/v1/items")
+import java.util.Map;
+
+@FeignClient(name = "item", url = "${economatic.upstream.nexushub-url}")
 interface NexusHubClient {
 
     @GetMapping("/{serverName}")
-    NexusHubResponse fetchAllItemPricesForServer(@PathVariable String serverName);
-}
\ No newline at end of file
+    Response fetchAllItemPricesForServer(@PathVariable String serverName, @RequestHeader Map<String, String> headers);
+}
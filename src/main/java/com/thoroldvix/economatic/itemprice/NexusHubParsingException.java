@@ -0,0 +1,8 @@
+package com.thoroldvix.economatic.itemprice;
+
+public class NexusHubParsingException extends RuntimeException {
+
+    public NexusHubParsingException(String s) {
+        super(s);
+    }
+}
@@ -0,0 +1,83 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+@Component
+class NexusHubPriceParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String DATA_ARRAY = "data";
+    private static final String FIELD_ITEM_ID = "itemId";
+    private static final String FIELD_MIN_BUYOUT = "minBuyout";
+    private static final String FIELD_HISTORICAL_VALUE = "historicalValue";
+    private static final String FIELD_MARKET_VALUE = "marketValue";
+    private static final String FIELD_QUANTITY = "quantity";
+    private static final String FIELD_NUM_AUCTIONS = "numAuctions";
+
+    public void parse(InputStream body, Consumer<NexusHubResponse.NexusHubPrice> priceConsumer) {
+        requireNonNull(body, "Response body cannot be null");
+        requireNonNull(priceConsumer, "Price consumer cannot be null");
+
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            moveToDataArray(parser);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                priceConsumer.accept(readPrice(parser));
+            }
+        } catch (IOException e) {
+            throw new NexusHubParsingException("Error while parsing item price json - " + e.getMessage());
+        }
+    }
+
+    private void moveToDataArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new NexusHubParsingException("Received JSON is not an object");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (DATA_ARRAY.equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new NexusHubParsingException("Received JSON doesn't contain expected node: " + DATA_ARRAY);
+    }
+
+    private NexusHubResponse.NexusHubPrice readPrice(JsonParser parser) throws IOException {
+        int itemId = 0;
+        long minBuyout = 0;
+        long historicalValue = 0;
+        long marketValue = 0;
+        int quantity = 0;
+        int numAuctions = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (!valueToken.isNumeric()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (fieldName) {
+                case FIELD_ITEM_ID -> itemId = parser.getIntValue();
+                case FIELD_MIN_BUYOUT -> minBuyout = parser.getLongValue();
+                case FIELD_HISTORICAL_VALUE -> historicalValue = parser.getLongValue();
+                case FIELD_MARKET_VALUE -> marketValue = parser.getLongValue();
+                case FIELD_QUANTITY -> quantity = parser.getIntValue();
+                case FIELD_NUM_AUCTIONS -> numAuctions = parser.getIntValue();
+                default -> {
+                }
+            }
+        }
+        return new NexusHubResponse.NexusHubPrice(itemId, minBuyout, historicalValue, marketValue, quantity, numAuctions);
+    }
+}
@@ -1,49 +1,109 @@
 package com.thoroldvix.economatic.itemprice;
 
-import com.google.common.util.concurrent.RateLimiter;
-import com.thoroldvix.economatic.item.ItemResponse;
-import com.thoroldvix.economatic.item.ItemService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoroldvix.economatic.common.http.ConditionalRequests;
+import com.thoroldvix.economatic.item.TrackedItems;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
+/**
+ * Reads item prices of a server from NexusHub. Prices are only passed on when the server's payload changed since it
+ * was last handled; the completion callback runs after the last prices were passed on, and a payload is only
+ * considered handled once it returns normally.
+ */
 @Service
 class NexusHubService {
 
-    private static final RateLimiter RATE_LIMITER = RateLimiter.create(4);
+    private static final String RESOURCE_PREFIX = "nexushub:";
+
     private final NexusHubClient nexusHubClient;
-    private final Set<Integer> itemIds;
+    private final NexusHubPriceParser nexusHubPriceParser;
+    private final ConditionalRequests conditionalRequests;
+    private final ObjectMapper objectMapper;
+    private final TrackedItems trackedItems;
 
     @Autowired
-    public NexusHubService(NexusHubClient nexusHubClient, ItemService itemService) {
+    public NexusHubService(NexusHubClient nexusHubClient,
+                           NexusHubPriceParser nexusHubPriceParser,
+                           ConditionalRequests conditionalRequests,
+                           TrackedItems trackedItems) {
         this.nexusHubClient = nexusHubClient;
-        this.itemIds = getItemIds(itemService);
+        this.nexusHubPriceParser = nexusHubPriceParser;
+        this.conditionalRequests = conditionalRequests;
+        this.objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.trackedItems = trackedItems;
+    }
+
+    /**
+     * @return {@code true} if the prices were passed on, {@code false} if they have not changed since the last update
+     */
+    public boolean getItemPricesForServer(String serverName,
+                                          Consumer<List<NexusHubResponse.NexusHubPrice>> pricesConsumer,
+                                          Runnable onComplete) {
+        return fetch(serverName, body -> {
+            NexusHubResponse nexusHubResponse = objectMapper.readValue(body, NexusHubResponse.class);
+            pricesConsumer.accept(filterPriceList(nexusHubResponse.data()));
+            onComplete.run();
+        });
+    }
+
+    /**
+     * @return {@code true} if the prices were passed on, {@code false} if they have not changed since the last update
+     */
+    public boolean streamItemPricesForServer(String serverName,
+                                             int chunkSize,
+                                             Consumer<List<NexusHubResponse.NexusHubPrice>> chunkConsumer,
+                                             Runnable onComplete) {
+        return fetch(serverName, body -> {
+            List<NexusHubResponse.NexusHubPrice> chunk = new ArrayList<>(chunkSize);
+            nexusHubPriceParser.parse(body, price -> {
+                if (!filterPrice(price)) {
+                    return;
+                }
+                chunk.add(price);
+                if (chunk.size() == chunkSize) {
+                    chunkConsumer.accept(chunk);
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+            }
+            onComplete.run();
+        });
     }
 
-    private Set<Integer> getItemIds(ItemService itemService) {
-        return itemService.getAll(Pageable.unpaged()).items().stream()
-                .map(ItemResponse::id)
-                .collect(Collectors.toSet());
+    /**
+     * Forgets what was last received for the server, so its next prices are passed on even if they have not changed.
+     */
+    public void forget(String serverName) {
+        conditionalRequests.forget(RESOURCE_PREFIX + serverName);
     }
 
-    public List<NexusHubResponse.NexusHubPrice> getItemPricesForServer(String serverName) {
-        RATE_LIMITER.acquire();
-        NexusHubResponse nexusHubResponse = nexusHubClient.fetchAllItemPricesForServer(serverName);
-        return filterPriceList(nexusHubResponse.data());
+    private boolean fetch(String serverName, ConditionalRequests.BodyHandler handler) {
+        try {
+            return conditionalRequests.fetch(RESOURCE_PREFIX + serverName,
+                    headers -> nexusHubClient.fetchAllItemPricesForServer(serverName, headers), handler);
+        } catch (IOException e) {
+            throw new NexusHubParsingException("Error while reading item prices for server %s - %s"
+                    .formatted(serverName, e.getMessage()));
+        }
     }
 
-    private List<NexusHubResponse.NexusHubPrice> filterPriceList(List<NexusHubResponse.NexusHubPrice> prices) {
+    List<NexusHubResponse.NexusHubPrice> filterPriceList(List<NexusHubResponse.NexusHubPrice> prices) {
         return prices.stream()
                 .filter(this::filterPrice)
                 .toList();
     }
 
     private boolean filterPrice(NexusHubResponse.NexusHubPrice price) {
-        return itemIds.contains(price.itemId()) &&
+        return trackedItems.contains(price.itemId()) &&
                price.quantity() > 0 &&
                price.minBuyout() > 0 &&
                price.marketValue() > 0 &&
@@ -0,0 +1,43 @@
+package com.thoroldvix.economatic.itemprice;
+
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Item prices of a chunk laid out column by column in primitive arrays. Bound as PostgreSQL arrays and expanded with
+ * {@code unnest}, a whole chunk is sent as six parameters instead of a parameter list and boxed values per row.
+ */
+record PriceColumns(int[] itemIds, long[] minBuyouts, long[] historicalValues, long[] marketValues,
+                    int[] quantities, int[] numAuctions) {
+
+    static PriceColumns of(Collection<NexusHubResponse.NexusHubPrice> prices) {
+        int size = prices.size();
+        PriceColumns columns = new PriceColumns(new int[size], new long[size], new long[size], new long[size],
+                new int[size], new int[size]);
+        int i = 0;
+        for (NexusHubResponse.NexusHubPrice price : prices) {
+            columns.itemIds[i] = price.itemId();
+            columns.minBuyouts[i] = price.minBuyout();
+            columns.historicalValues[i] = price.historicalValue();
+            columns.marketValues[i] = price.marketValue();
+            columns.quantities[i] = price.quantity();
+            columns.numAuctions[i] = price.numAuctions();
+            i++;
+        }
+        return columns;
+    }
+
+    void bind(Connection connection, PreparedStatement ps, int firstIndex) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        ps.setArray(firstIndex, pgConnection.createArrayOf("int4", itemIds));
+        ps.setArray(firstIndex + 1, pgConnection.createArrayOf("int8", minBuyouts));
+        ps.setArray(firstIndex + 2, pgConnection.createArrayOf("int8", historicalValues));
+        ps.setArray(firstIndex + 3, pgConnection.createArrayOf("int8", marketValues));
+        ps.setArray(firstIndex + 4, pgConnection.createArrayOf("int4", quantities));
+        ps.setArray(firstIndex + 5, pgConnection.createArrayOf("int4", numAuctions));
+    }
+}
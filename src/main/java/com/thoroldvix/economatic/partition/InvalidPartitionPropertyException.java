@@ -0,0 +1,8 @@
+package com.thoroldvix.economatic.partition;
+
+public class InvalidPartitionPropertyException extends RuntimeException {
+
+    public InvalidPartitionPropertyException(String s) {
+        super(s);
+    }
+}
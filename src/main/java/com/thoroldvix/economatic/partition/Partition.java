@@ -0,0 +1,6 @@
+package com.thoroldvix.economatic.partition;
+
+import java.time.LocalDateTime;
+
+record Partition(String name, LocalDateTime rangeEnd) {
+}
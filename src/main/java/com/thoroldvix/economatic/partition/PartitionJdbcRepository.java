@@ -0,0 +1,45 @@
+package com.thoroldvix.economatic.partition;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+class PartitionJdbcRepository {
+
+    private static final String CREATE_PARTITION_SQL = "SELECT create_time_partition(?, ?, ?)";
+    private static final String FIND_PARTITIONS_SQL = """
+            SELECT c.relname AS name,
+                   substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \\(''([^'']+)''\\)')::timestamp AS range_end
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = ?::regclass
+            AND pg_get_expr(c.relpartbound, c.oid) <> 'DEFAULT'
+            ORDER BY range_end
+            """;
+    private final JdbcTemplate jdbcTemplate;
+
+    public String create(PartitionedTable table, LocalDateTime bucket) {
+        return jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, String.class,
+                table.tableName, table.sqlGranularity(), Timestamp.valueOf(bucket));
+    }
+
+    public List<Partition> findAll(PartitionedTable table) {
+        return jdbcTemplate.query(FIND_PARTITIONS_SQL, (rs, rowNum) -> new Partition(
+                rs.getString("name"),
+                rs.getTimestamp("range_end").toLocalDateTime()), table.tableName);
+    }
+
+    public void detach(PartitionedTable table, Partition partition) {
+        jdbcTemplate.execute("ALTER TABLE %s DETACH PARTITION %s".formatted(table.tableName, partition.name()));
+    }
+
+    public void drop(Partition partition) {
+        jdbcTemplate.execute("DROP TABLE %s".formatted(partition.name()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.thoroldvix.economatic.partition;
+
+import com.thoroldvix.economatic.common.lease.JobLeases;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class PartitionManager {
+
+    static final String JOB = "partition-maintenance";
+
+    private final PartitionJdbcRepository partitionRepository;
+    private final PartitionProp partitionProp;
+    private final JobLeases jobLeases;
+
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.DAYS)
+    protected void maintain() {
+        if (!jobLeases.tryAcquire(JOB)) {
+            log.info("Partition maintenance is run by another node");
+            return;
+        }
+        maintain(LocalDateTime.now());
+    }
+
+    void maintain(LocalDateTime now) {
+        for (PartitionedTable table : PartitionedTable.values()) {
+            createUpcoming(table, now);
+            removeExpired(table, now);
+        }
+    }
+
+    private void createUpcoming(PartitionedTable table, LocalDateTime now) {
+        LocalDateTime until = now.plus(partitionProp.premake());
+        for (LocalDateTime bucket = table.bucketStart(now); !bucket.isAfter(until); bucket = bucket.plus(1, table.granularity)) {
+            partitionRepository.create(table, bucket);
+        }
+    }
+
+    private void removeExpired(PartitionedTable table, LocalDateTime now) {
+        Duration retention = partitionProp.retentionFor(table);
+        if (retention.isZero()) {
+            return;
+        }
+        LocalDateTime cutoff = now.minus(retention);
+        partitionRepository.findAll(table).stream()
+                .filter(partition -> !partition.rangeEnd().isAfter(cutoff))
+                .forEach(partition -> remove(table, partition));
+    }
+
+    private void remove(PartitionedTable table, Partition partition) {
+        if (partitionProp.retentionAction() == PartitionProp.RetentionAction.DROP) {
+            partitionRepository.drop(partition);
+        } else {
+            partitionRepository.detach(table, partition);
+        }
+        log.info("Removed expired partition {} of {} ({})", partition.name(), table.tableName,
+                partitionProp.retentionAction().name().toLowerCase());
+    }
+}
@@ -0,0 +1,46 @@
+package com.thoroldvix.economatic.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@ConfigurationProperties(prefix = "economatic.partition")
+public record PartitionProp(
+        @DurationUnit(ChronoUnit.DAYS)
+        Duration premake,
+        RetentionAction retentionAction,
+        @DurationUnit(ChronoUnit.DAYS)
+        Duration itemPriceRetention,
+        @DurationUnit(ChronoUnit.DAYS)
+        Duration goldPriceRetention,
+        @DurationUnit(ChronoUnit.DAYS)
+        Duration populationRetention
+) {
+
+    public PartitionProp {
+        if (premake.toDays() < 1) {
+            throw new InvalidPartitionPropertyException("Partition premake cannot be less than 1 day");
+        }
+        if (retentionAction == null) {
+            throw new InvalidPartitionPropertyException("Partition retention action cannot be null");
+        }
+        if (itemPriceRetention.isNegative() || goldPriceRetention.isNegative() || populationRetention.isNegative()) {
+            throw new InvalidPartitionPropertyException("Partition retention cannot be negative");
+        }
+    }
+
+    public Duration retentionFor(PartitionedTable table) {
+        return switch (table) {
+            case ITEM_PRICE -> itemPriceRetention;
+            case GOLD_PRICE -> goldPriceRetention;
+            case POPULATION -> populationRetention;
+        };
+    }
+
+    public enum RetentionAction {
+        DETACH,
+        DROP
+    }
+}
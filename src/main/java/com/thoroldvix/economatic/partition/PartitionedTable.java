@@ -0,0 +1,27 @@
+package com.thoroldvix.economatic.partition;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum PartitionedTable {
+    ITEM_PRICE("item_price", ChronoUnit.DAYS),
+    GOLD_PRICE("gold_price", ChronoUnit.MONTHS),
+    POPULATION("population", ChronoUnit.MONTHS);
+
+    public final String tableName;
+    public final ChronoUnit granularity;
+
+    PartitionedTable(String tableName, ChronoUnit granularity) {
+        this.tableName = tableName;
+        this.granularity = granularity;
+    }
+
+    LocalDateTime bucketStart(LocalDateTime time) {
+        LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+        return granularity == ChronoUnit.DAYS ? day : day.withDayOfMonth(1);
+    }
+
+    String sqlGranularity() {
+        return granularity == ChronoUnit.DAYS ? "day" : "month";
+    }
+}
@@ -33,6 +33,13 @@ public class Population {
     @ToString.Exclude
     private Server server;
 
+    @PrePersist
+    void setUpdatedAtIfMissing() {
+        if (updatedAt == null) {
+            updatedAt = LocalDateTime.now();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,50 @@
+package com.thoroldvix.economatic.population;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+class PopulationActivityJdbcRepository {
+
+    private static final String FIND_ACTIVITY_SQL = """
+            SELECT server_id,
+                   COALESCE(SUM(change) / NULLIF(SUM(hours), 0), 0) AS change_per_hour,
+                   MAX(updated_at)                                   AS last_updated_at
+            FROM (SELECT server_id,
+                         updated_at,
+                         ABS(value - LAG(value) OVER w)                              AS change,
+                         EXTRACT(EPOCH FROM updated_at - LAG(updated_at) OVER w) / 3600 AS hours
+                  FROM population
+                  WHERE updated_at > ?
+                  WINDOW w AS (PARTITION BY server_id ORDER BY updated_at)) AS changes
+            GROUP BY server_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Average change of the population per hour and time of the latest population of every server with a population
+     * saved after {@code since}.
+     */
+    public Map<Integer, ServerActivity> findActivity(LocalDateTime since) {
+        return jdbcTemplate.query(FIND_ACTIVITY_SQL, rs -> {
+            Map<Integer, ServerActivity> activity = new HashMap<>();
+            while (rs.next()) {
+                int serverId = rs.getInt("server_id");
+                activity.put(serverId, new ServerActivity(rs.getDouble("change_per_hour"),
+                        rs.getTimestamp("last_updated_at").toLocalDateTime()));
+            }
+            return activity;
+        }, Timestamp.valueOf(since));
+    }
+
+    record ServerActivity(double changePerHour, LocalDateTime lastUpdatedAt) {
+    }
+}
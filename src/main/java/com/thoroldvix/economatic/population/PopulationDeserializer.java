@@ -26,4 +26,12 @@ class PopulationDeserializer {
             throw new PopulationParsingException("Error while parsing population json " + e.getMessage());
         }
     }
+
+    public TotalPopResponse extractServerFromJson(String populationJson) {
+        try {
+            return mapper.readValue(populationJson, TotalPopResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new PopulationParsingException("Error while parsing population json " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
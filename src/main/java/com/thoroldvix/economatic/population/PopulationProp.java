@@ -3,18 +3,41 @@ package com.thoroldvix.economatic.population;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
 
+import java.time.Duration;
 import java.time.Period;
 import java.time.temporal.ChronoUnit;
 
 @ConfigurationProperties(prefix = "economatic.population")
 public record PopulationProp(
         @DurationUnit(ChronoUnit.DAYS)
-        Period updateRate
+        Period updateRate,
+        UpdateMode updateMode,
+        @DurationUnit(ChronoUnit.HOURS)
+        Duration pollRate,
+        int hotRealms,
+        int fetchConcurrency
 ) {
 
     public PopulationProp {
         if (updateRate.getDays() < 1) {
             throw new InvalidPopulationPropertyException("Population update rate cannot be less than 1 day");
         }
+        if (updateMode == null) {
+            throw new InvalidPopulationPropertyException("Population update mode cannot be null");
+        }
+        if (pollRate == null || pollRate.toHours() < 1) {
+            throw new InvalidPopulationPropertyException("Population poll rate cannot be less than 1 hour");
+        }
+        if (hotRealms < 0) {
+            throw new InvalidPopulationPropertyException("Population hot realms cannot be negative");
+        }
+        if (fetchConcurrency < 1) {
+            throw new InvalidPopulationPropertyException("Population fetch concurrency cannot be less than 1");
+        }
+    }
+
+    public enum UpdateMode {
+        ALL,
+        PER_SERVER
     }
 }
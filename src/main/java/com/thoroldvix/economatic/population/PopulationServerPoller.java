@@ -0,0 +1,158 @@
+package com.thoroldvix.economatic.population;
+
+import com.thoroldvix.economatic.population.PopulationActivityJdbcRepository.ServerActivity;
+import com.thoroldvix.economatic.server.Region;
+import com.thoroldvix.economatic.server.ServerResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Refreshes populations realm by realm through the per-server Warcraft Tavern endpoint, so that realms whose
+ * population changes fastest are refreshed on every poll instead of once per update rate.
+ * <p>
+ * Each poll picks the {@code hot-realms} realms with the largest average population change per hour over the last
+ * week, plus every realm whose population is older than the update rate, and fetches them hottest first on a pool of
+ * {@code fetch-concurrency} threads. Requests share the per-host rate limit of all other Warcraft Tavern requests.
+ * Queue size and active threads of the pool are published as {@code executor.*} metrics tagged with
+ * {@code name=population-fetch}.
+ */
+@Component
+@Slf4j
+class PopulationServerPoller implements DisposableBean {
+
+    private static final Duration ACTIVITY_WINDOW = Duration.ofDays(7);
+
+    private final WarcraftTavernService warcraftTavernService;
+    private final PopulationActivityJdbcRepository activityRepository;
+    private final PopulationProp populationProp;
+    private final ThreadPoolTaskExecutor fetchExecutor;
+
+    PopulationServerPoller(WarcraftTavernService warcraftTavernService,
+                           PopulationActivityJdbcRepository activityRepository,
+                           PopulationProp populationProp,
+                           MeterRegistry meterRegistry) {
+        this.warcraftTavernService = warcraftTavernService;
+        this.activityRepository = activityRepository;
+        this.populationProp = populationProp;
+        this.fetchExecutor = createExecutor(populationProp.fetchConcurrency(), meterRegistry);
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(int concurrency, MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("population-fetch-");
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), "population-fetch");
+        return executor;
+    }
+
+    /**
+     * Realms of the given servers that are due for a refresh, hottest first.
+     */
+    public List<Realm> dueRealms(List<ServerResponse> servers, LocalDateTime now) {
+        Map<Integer, ServerActivity> activity = activityRepository.findActivity(now.minus(ACTIVITY_WINDOW));
+        return prioritize(groupByRealm(servers), activity, populationProp.hotRealms(), now.minus(populationProp.updateRate()));
+    }
+
+    /**
+     * Orders realms by their population change per hour, realms without recent populations first, and keeps the
+     * first {@code hotRealms} of them along with every realm that has a server without a population saved after
+     * {@code staleBefore}.
+     */
+    static List<Realm> prioritize(List<Realm> realms, Map<Integer, ServerActivity> activity, int hotRealms,
+                                  LocalDateTime staleBefore) {
+        List<Realm> byChange = realms.stream()
+                .sorted(Comparator.comparingDouble((Realm realm) -> changePerHour(realm, activity)).reversed())
+                .toList();
+        List<Realm> due = new ArrayList<>();
+        for (int i = 0; i < byChange.size(); i++) {
+            Realm realm = byChange.get(i);
+            if (i < hotRealms || isStale(realm, activity, staleBefore)) {
+                due.add(realm);
+            }
+        }
+        return due;
+    }
+
+    private static double changePerHour(Realm realm, Map<Integer, ServerActivity> activity) {
+        double changePerHour = 0;
+        for (ServerResponse server : realm.servers()) {
+            ServerActivity serverActivity = activity.get(server.id());
+            if (serverActivity == null) {
+                return Double.POSITIVE_INFINITY;
+            }
+            changePerHour += serverActivity.changePerHour();
+        }
+        return changePerHour;
+    }
+
+    private static boolean isStale(Realm realm, Map<Integer, ServerActivity> activity, LocalDateTime staleBefore) {
+        return realm.servers().stream()
+                .map(server -> activity.get(server.id()))
+                .anyMatch(serverActivity -> serverActivity == null || serverActivity.lastUpdatedAt().isBefore(staleBefore));
+    }
+
+    private static List<Realm> groupByRealm(List<ServerResponse> servers) {
+        return servers.stream()
+                .collect(Collectors.groupingBy(server -> server.region() + ":" + server.name(), LinkedHashMap::new,
+                        Collectors.toList()))
+                .values().stream()
+                .map(realmServers -> new Realm(realmServers.get(0).name(), realmServers.get(0).region(), realmServers))
+                .toList();
+    }
+
+    /**
+     * Fetches the realms in the given order and passes every population to the consumer as soon as it arrives. A realm
+     * that cannot be fetched or handled is logged and skipped, so it stays due for the next poll.
+     *
+     * @return number of realms whose population was passed to the consumer
+     */
+    public int poll(List<Realm> realms, BiConsumer<Realm, TotalPopResponse> populationConsumer) {
+        List<CompletableFuture<Boolean>> refreshes = realms.stream()
+                .map(realm -> CompletableFuture.supplyAsync(() -> refresh(realm, populationConsumer), fetchExecutor))
+                .toList();
+        return (int) refreshes.stream()
+                .map(CompletableFuture::join)
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+
+    private boolean refresh(Realm realm, BiConsumer<Realm, TotalPopResponse> populationConsumer) {
+        try {
+            populationConsumer.accept(realm, warcraftTavernService.getPopulation(realm.region(), realm.slug()));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh population of {} ({}): {}", realm.name(), realm.region(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        fetchExecutor.shutdown();
+    }
+
+    record Realm(String name, Region region, List<ServerResponse> servers) {
+
+        String slug() {
+            return name.toLowerCase(Locale.ROOT).replace("'", "").replaceAll("\\s+", "-");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.thoroldvix.economatic.population;
 
 import com.thoroldvix.economatic.common.dto.TimeRange;
+import com.thoroldvix.economatic.common.timeseries.TimeSeriesJdbcWriter;
 import com.thoroldvix.economatic.common.util.StringEnumConverter;
 import com.thoroldvix.economatic.search.SearchRequest;
 import com.thoroldvix.economatic.search.SpecificationBuilder;
@@ -10,6 +11,7 @@ import com.thoroldvix.economatic.server.ServerResponse;
 import com.thoroldvix.economatic.server.ServerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,13 +19,17 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.thoroldvix.economatic.common.util.ValidationUtils.notEmpty;
 import static com.thoroldvix.economatic.error.ErrorMessages.*;
 
 @Service
-@Cacheable("population-cache")
+@CacheConfig(cacheNames = "population-cache")
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 class PopulationServiceImpl implements PopulationService {
@@ -33,14 +39,17 @@ class PopulationServiceImpl implements PopulationService {
     private final PopulationRepository populationRepository;
     private final ServerService serverService;
     private final PopulationMapper populationMapper;
+    private final TimeSeriesJdbcWriter timeSeriesJdbcWriter;
 
     @Override
+    @Cacheable(sync = true)
     public PopulationResponse getForId(long id) {
         return populationRepository.findById(id).map(populationMapper::toResponse)
                 .orElseThrow(() -> new PopulationNotFoundException("No population found for id " + id));
     }
 
     @Override
+    @Cacheable(sync = true)
     public PopulationPageResponse getAll(TimeRange timeRange, Pageable pageable) {
         Page<Population> page = populationRepository.findAllForTimeRange(timeRange.start(), timeRange.end(), pageable);
 
@@ -51,6 +60,7 @@ class PopulationServiceImpl implements PopulationService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public PopulationPageResponse getForServer(String serverIdentifier, TimeRange timeRange, Pageable pageable) {
         notEmpty(serverIdentifier, SERVER_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
 
@@ -68,6 +78,7 @@ class PopulationServiceImpl implements PopulationService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public TotalPopResponse getTotalPopulation(String serverName) {
         notEmpty(serverName, "Server name cannot be null or empty");
 
@@ -89,6 +100,7 @@ class PopulationServiceImpl implements PopulationService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public PopulationPageResponse search(@Valid SearchRequest searchRequest, Pageable pageable) {
         Specification<Population> spec = SpecificationBuilder.from(searchRequest);
         Page<Population> populations = populationRepository.findAll(spec, pageable);
@@ -99,6 +111,7 @@ class PopulationServiceImpl implements PopulationService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public PopulationListResponse getRecentForRegion(String regionName) {
         notEmpty(regionName, REGION_NAME_CANNOT_BE_NULL_OR_EMPTY.message);
 
@@ -111,6 +124,7 @@ class PopulationServiceImpl implements PopulationService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public PopulationListResponse getRecentForFaction(String factionName) {
         notEmpty(factionName, FACTION_NAME_CANNOT_BE_NULL_OR_EMPTY.message);
 
@@ -122,6 +136,7 @@ class PopulationServiceImpl implements PopulationService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public PopulationListResponse getAllRecent() {
         List<Population> populations = populationRepository.findAllRecent();
         notEmpty(populations,
@@ -131,6 +146,7 @@ class PopulationServiceImpl implements PopulationService {
     }
 
     @Override
+    @Cacheable(sync = true)
     public PopulationResponse getRecentForServer(String serverIdentifier) {
         notEmpty(serverIdentifier, SERVER_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
 
@@ -147,7 +163,15 @@ class PopulationServiceImpl implements PopulationService {
         notEmpty(populations,
                 () -> new IllegalArgumentException("Population list cannot be null or empty"));
 
-        populationRepository.saveAll(populations);
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Map<Integer, Integer> populationsByServer = populations.stream()
+                .collect(Collectors.toMap(population -> population.getServer().getId(), Population::getValue,
+                        (previous, last) -> last));
+        Map<Integer, Long> ids = timeSeriesJdbcWriter.insert(TimeSeriesJdbcWriter.Series.POPULATION, updatedAt, populationsByServer);
+        for (Population population : populations) {
+            population.setId(ids.get(population.getServer().getId()));
+            population.setUpdatedAt(updatedAt);
+        }
     }
 }
 
@@ -1,7 +1,13 @@
 package com.thoroldvix.economatic.population;
 
+import com.thoroldvix.economatic.common.cache.DataVersions;
+import com.thoroldvix.economatic.common.cache.Dataset;
+import com.thoroldvix.economatic.common.lease.JobLeases;
+import com.thoroldvix.economatic.population.PopulationProp.UpdateMode;
+import com.thoroldvix.economatic.population.PopulationServerPoller.Realm;
 import com.thoroldvix.economatic.server.Faction;
 import com.thoroldvix.economatic.server.Server;
+import com.thoroldvix.economatic.server.ServerMatcher;
 import com.thoroldvix.economatic.server.ServerResponse;
 import com.thoroldvix.economatic.server.ServerService;
 import jakarta.persistence.EntityManager;
@@ -13,58 +19,103 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.thoroldvix.economatic.common.util.Utils.elapsedTimeInMillis;
 
+/**
+ * Updates populations. In {@code all} update mode every update fetches the populations of all realms at once, in
+ * {@code per-server} update mode every poll refreshes the realms picked by {@link PopulationServerPoller} one by one,
+ * saving each realm as soon as it is fetched. Either way only the node holding the {@value #JOB} lease updates.
+ */
 @RequiredArgsConstructor
 @Service
 @Slf4j
 class PopulationUpdateService {
 
+    static final String JOB = "population-update";
+    private static final String SOURCE = "warcrafttavern";
     public static final String UPDATE_ON_STARTUP_OR_DEFAULT = "#{${economatic.update-on-startup} ? -1 : ${economatic.population.update-rate}}";
     public static final String UPDATE_RATE = "${economatic.population.update-rate}";
+    public static final String POLL_ON_STARTUP_OR_DEFAULT = "#{${economatic.update-on-startup} ? -1 : ${economatic.population.poll-rate}}";
+    public static final String POLL_RATE = "${economatic.population.poll-rate}";
 
     @PersistenceContext
     private final EntityManager entityManager;
+    private final ServerMatcher serverMatcher;
     private final ServerService serverService;
     private final PopulationService populationService;
     private final WarcraftTavernService warcraftTavernService;
+    private final PopulationServerPoller populationServerPoller;
+    private final PopulationProp populationProp;
+    private final JobLeases jobLeases;
+    private final DataVersions dataVersions;
 
     @Scheduled(fixedRateString = UPDATE_RATE,
             initialDelayString = UPDATE_ON_STARTUP_OR_DEFAULT,
             timeUnit = TimeUnit.DAYS)
     @Retryable(maxAttempts = 5)
     protected void update() {
+        if (populationProp.updateMode() != UpdateMode.ALL) {
+            return;
+        }
+        if (!jobLeases.tryAcquire(JOB)) {
+            log.info("Population update is run by another node");
+            return;
+        }
         log.info("Updating population");
         Instant start = Instant.now();
 
-        List<Population> populations = getPopulations();
-        populationService.saveAll(populations);
-
+        if (!warcraftTavernService.getPopulationsIfChanged(this::save)) {
+            log.info("Population has not changed since the last update");
+            return;
+        }
         log.info("Finished updating population in {} ms", elapsedTimeInMillis(start));
     }
 
-    private List<Population> getPopulations() {
-        List<TotalPopResponse> totalPopulationsForServer = warcraftTavernService.getPopulations();
-        List<ServerResponse> servers = serverService.getAll().servers();
-        return toPopulationList(totalPopulationsForServer, servers);
+    @Scheduled(fixedRateString = POLL_RATE,
+            initialDelayString = POLL_ON_STARTUP_OR_DEFAULT,
+            timeUnit = TimeUnit.HOURS)
+    protected void poll() {
+        if (populationProp.updateMode() != UpdateMode.PER_SERVER) {
+            return;
+        }
+        if (!jobLeases.tryAcquire(JOB)) {
+            log.info("Population poll is run by another node");
+            return;
+        }
+        Instant start = Instant.now();
+        List<Realm> realms = populationServerPoller.dueRealms(serverService.getAll().servers(), LocalDateTime.now());
+        log.info("Polling population of {} realms", realms.size());
+
+        int refreshed = populationServerPoller.poll(realms, this::save);
+        if (refreshed > 0) {
+            dataVersions.bump(Dataset.POPULATION);
+        }
+        log.info("Finished polling population of {} out of {} realms in {} ms", refreshed, realms.size(),
+                elapsedTimeInMillis(start));
     }
 
-    private List<Population> toPopulationList(List<TotalPopResponse> totalPopulationsForServer, List<ServerResponse> servers) {
-        return totalPopulationsForServer.stream()
-                .flatMap(totalPop -> getForBothFactions(totalPop, servers).stream())
+    private void save(List<TotalPopResponse> totalPopulationsForServer) {
+        List<Population> populations = serverMatcher.matchByName(SOURCE, totalPopulationsForServer, TotalPopResponse::serverName)
+                .matched().stream()
+                .map(match -> buildPopulation(match.record(), match.server()))
                 .toList();
+        if (populations.isEmpty()) {
+            log.warn("None of {} populations matched a known server, nothing was saved", totalPopulationsForServer.size());
+            return;
+        }
+        populationService.saveAll(populations);
+        dataVersions.bump(Dataset.POPULATION);
     }
 
-    private List<Population> getForBothFactions(TotalPopResponse totalPop,
-                                                List<ServerResponse> servers) {
-
-        return servers.stream()
-                .filter(server -> server.name().equals(totalPop.serverName()))
-                .map(server -> buildPopulation(totalPop, server))
+    private void save(Realm realm, TotalPopResponse totalPopulation) {
+        List<Population> populations = realm.servers().stream()
+                .map(server -> buildPopulation(totalPopulation, server))
                 .toList();
+        populationService.saveAll(populations);
     }
 
     private Population buildPopulation(TotalPopResponse totalPopulation, ServerResponse server) {
@@ -1,16 +1,19 @@
 package com.thoroldvix.economatic.population;
 
-import com.thoroldvix.economatic.server.Region;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(name = "population", url = "https://api.warcrafttavern.com/armory")
+import java.util.Map;
+
+@FeignClient(name = "population", url = "${economatic.upstream.warcraft-tavern-url}")
 interface WarcraftTavernClient {
 
     @GetMapping("/server/wotlk/{region}/{server}")
-    String getForServerAndRegion(@PathVariable Region region, @PathVariable String server);
+    String getForServerAndRegion(@PathVariable String region, @PathVariable String server);
 
     @GetMapping("/servers/wotlk")
-    String getAll();
+    Response getAll(@RequestHeader Map<String, String> headers);
 }
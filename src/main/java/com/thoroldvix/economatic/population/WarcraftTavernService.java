@@ -1,19 +1,48 @@
 package com.thoroldvix.economatic.population;
 
+import com.thoroldvix.economatic.common.http.ConditionalRequests;
+import com.thoroldvix.economatic.server.Region;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 class WarcraftTavernService {
 
+    private static final String RESOURCE = "warcrafttavern:populations";
+
     private final WarcraftTavernClient warcraftTavernClient;
     private final PopulationDeserializer populationDeserializer;
+    private final ConditionalRequests conditionalRequests;
+
+    /**
+     * Passes populations to the consumer if they changed since they were last handled. Populations only count as
+     * handled once the consumer returns normally.
+     *
+     * @return {@code true} if the populations were passed on, {@code false} if they have not changed
+     */
+    public boolean getPopulationsIfChanged(Consumer<List<TotalPopResponse>> populationsConsumer) {
+        try {
+            return conditionalRequests.fetch(RESOURCE, warcraftTavernClient::getAll, body -> {
+                String populationsJson = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                populationsConsumer.accept(populationDeserializer.extractFromJson(populationsJson));
+            });
+        } catch (IOException e) {
+            throw new PopulationParsingException("Error while reading population json " + e.getMessage());
+        }
+    }
 
-    public List<TotalPopResponse> getPopulations() {
-        String populationsJson = warcraftTavernClient.getAll();
-        return populationDeserializer.extractFromJson(populationsJson);
+    /**
+     * Fetches the population of a single realm, for example {@code everlook} in {@code EU}.
+     */
+    public TotalPopResponse getPopulation(Region region, String realmSlug) {
+        String populationJson = warcraftTavernClient.getForServerAndRegion(region.name().toLowerCase(Locale.ROOT), realmSlug);
+        return populationDeserializer.extractServerFromJson(populationJson);
     }
 }
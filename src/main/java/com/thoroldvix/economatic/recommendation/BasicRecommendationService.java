@@ -4,10 +4,6 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.util.Map;
-import java.util.Set;
-
 import static com.thoroldvix.economatic.common.util.ValidationUtils.notLessThan;
 
 @Service
@@ -22,11 +18,10 @@ class BasicRecommendationService implements RecommendationService {
     public RecommendationListResponse getRecommendationsForItemList(@Valid RecommendationRequest request, int limit) {
         notLessThan(limit, 1, "Limit cannot be less than 1");
 
-        Map<String, BigDecimal> populationScores = populationScoreProvider.getPopulationScores(request.populationWeight());
-        Set<String> servers = populationScores.keySet();
-        Map<String, BigDecimal> itemPriceScores = itemPriceScoreProvider.getItemPriceScores(request, servers);
-        Map<String, BigDecimal> goldPriceScores = goldPriceScoreProvider.getGoldPriceScores(request.goldPriceWeight(), servers);
+        ServerScores scores = populationScoreProvider.getPopulationScores(request.populationWeight());
+        itemPriceScoreProvider.addItemPriceScores(request, scores);
+        goldPriceScoreProvider.addGoldPriceScores(request.goldPriceWeight(), scores);
 
-        return recommendationMapper.toRecommendationResponse(itemPriceScores, populationScores, goldPriceScores, limit);
+        return recommendationMapper.toRecommendationResponse(scores, limit);
     }
 }
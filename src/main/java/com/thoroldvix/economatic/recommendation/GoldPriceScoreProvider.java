@@ -8,14 +8,11 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 class GoldPriceScoreProvider extends ScoreProvider {
 
-    private static final BigDecimal MAX_GOLD_PRICE_USD = new BigDecimal("0.0025");
+    private static final double MAX_GOLD_PRICE_USD = 0.0025;
     private final BigDecimal goldPriceDefaultWeight;
     private final GoldPriceService goldPriceServiceImpl;
 
@@ -25,21 +22,19 @@ class GoldPriceScoreProvider extends ScoreProvider {
         this.goldPriceDefaultWeight = prop.goldPriceDefaultWeight();
     }
 
-    public Map<String, BigDecimal> getGoldPriceScores(BigDecimal goldPriceWeight, Set<String> servers) {
+    public void addGoldPriceScores(BigDecimal goldPriceWeight, ServerScores scores) {
         BigDecimal weight = getWeightOrDefault(goldPriceWeight, goldPriceDefaultWeight);
-        GoldPriceRequest request = new GoldPriceRequest(servers);
+        GoldPriceRequest request = new GoldPriceRequest(scores.servers());
         List<GoldPriceResponse> recentPrices = goldPriceServiceImpl.getRecentForServerList(request).prices();
 
-        return createScores(recentPrices, weight);
+        addScores(recentPrices, weight, scores);
     }
 
-    private Map<String, BigDecimal> createScores(List<GoldPriceResponse> recentPrices, BigDecimal weight) {
-        return recentPrices.stream()
-                .collect(Collectors.toMap(
-                        GoldPriceResponse::server,
-                        goldPriceResponse ->
-                                calculateWeightedValue(goldPriceResponse.price(), weight, MAX_GOLD_PRICE_USD)
-                ));
+    void addScores(List<GoldPriceResponse> recentPrices, BigDecimal weight, ServerScores scores) {
+        double factor = weightFactor(weight, MAX_GOLD_PRICE_USD);
+        for (GoldPriceResponse goldPrice : recentPrices) {
+            scores.setGoldPriceScore(goldPrice.server(), goldPrice.price().doubleValue() * factor);
+        }
     }
 
 }
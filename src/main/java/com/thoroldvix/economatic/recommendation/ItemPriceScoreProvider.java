@@ -12,16 +12,14 @@ import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @Validated
 class ItemPriceScoreProvider extends ScoreProvider {
 
-    private static final BigDecimal MAX_ITEM_PRICE_COPPER = new BigDecimal("15000000");
+    private static final double MAX_ITEM_PRICE_COPPER = 15000000;
     private final ItemPriceService itemPriceServiceImpl;
     private final BigDecimal itemPriceDefaultWeight;
 
@@ -32,36 +30,22 @@ class ItemPriceScoreProvider extends ScoreProvider {
 
     }
 
-    public Map<String, BigDecimal> getItemPriceScores(@Valid RecommendationRequest request, Set<String> servers) {
-        validateInputs(request, servers);
+    public void addItemPriceScores(@Valid RecommendationRequest request, ServerScores scores) {
+        validateInputs(request, scores.servers());
 
         BigDecimal itemWeight = getWeightOrDefault(request.itemPriceWeight(), itemPriceDefaultWeight);
-        ItemPriceRequest itemPriceRequest = buildItemPriceRequest(request.itemList(), servers);
+        ItemPriceRequest itemPriceRequest = buildItemPriceRequest(request.itemList(), scores.servers());
         List<ItemPriceResponse> recentItemPrices = itemPriceServiceImpl.getRecentForItemListAndServers(itemPriceRequest, Pageable.unpaged()).prices();
 
-        return request.marketValue()
-                ? createScoresForMarketValue(recentItemPrices, itemWeight)
-                : createScoresForMinBuyout(recentItemPrices, itemWeight);
+        addScores(recentItemPrices, request.marketValue(), itemWeight, scores);
     }
 
-    private Map<String, BigDecimal> createScoresForMarketValue(List<ItemPriceResponse> recentItemPrices, BigDecimal itemWeight) {
-
-        return recentItemPrices
-                .stream()
-                .collect(Collectors.toMap(ItemPriceResponse::server,
-                        itemPrice -> calculateWeightedValue(itemPrice.marketValue(), itemWeight, MAX_ITEM_PRICE_COPPER),
-                        BigDecimal::add)
-                );
-    }
-
-    private Map<String, BigDecimal> createScoresForMinBuyout(List<ItemPriceResponse> recentItemPrices, BigDecimal itemWeight) {
-
-        return recentItemPrices
-                .stream()
-                .collect(Collectors.toMap(ItemPriceResponse::server,
-                        itemPrice -> calculateWeightedValue(itemPrice.minBuyout(), itemWeight, MAX_ITEM_PRICE_COPPER),
-                        BigDecimal::add)
-                );
+    void addScores(List<ItemPriceResponse> recentItemPrices, boolean marketValue, BigDecimal itemWeight, ServerScores scores) {
+        double factor = weightFactor(itemWeight, MAX_ITEM_PRICE_COPPER);
+        for (ItemPriceResponse itemPrice : recentItemPrices) {
+            long value = marketValue ? itemPrice.marketValue() : itemPrice.minBuyout();
+            scores.addItemPriceScore(itemPrice.server(), value * factor);
+        }
     }
 
     private void validateInputs(RecommendationRequest request, Set<String> servers) {
@@ -77,5 +61,3 @@ class ItemPriceScoreProvider extends ScoreProvider {
     }
 
 }
-
-
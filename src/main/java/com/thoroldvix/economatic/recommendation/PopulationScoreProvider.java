@@ -7,13 +7,11 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 class PopulationScoreProvider extends ScoreProvider {
 
-    private static final BigDecimal MAX_POPULATION = new BigDecimal("20000");
+    private static final double MAX_POPULATION = 20000;
     private final PopulationService populationServiceImpl;
     private final BigDecimal populationDefaultWeight;
     private final int minAllowedPopulation;
@@ -25,19 +23,25 @@ class PopulationScoreProvider extends ScoreProvider {
         this.minAllowedPopulation = prop.minAllowedPopulation();
     }
 
-    public Map<String, BigDecimal> getPopulationScores(BigDecimal populationWeight) {
+    public ServerScores getPopulationScores(BigDecimal populationWeight) {
         BigDecimal weight = getWeightOrDefault(populationWeight, populationDefaultWeight);
         List<PopulationResponse> recentPopulations = populationServiceImpl.getAllRecent().populations();
         return createScores(recentPopulations, weight);
     }
 
-    private Map<String, BigDecimal> createScores(List<PopulationResponse> recentPopulations, BigDecimal weight) {
-        return recentPopulations.stream()
+    ServerScores createScores(List<PopulationResponse> recentPopulations, BigDecimal weight) {
+        List<PopulationResponse> allowedPopulations = recentPopulations.stream()
                 .filter(this::filterLowPopulations)
-                .collect(Collectors.toMap(
-                        PopulationResponse::server,
-                        populationResponse -> calculateWeightedValue(populationResponse.value(), weight, MAX_POPULATION)
-                ));
+                .toList();
+        ServerScores scores = new ServerScores(allowedPopulations.stream()
+                .map(PopulationResponse::server)
+                .toList());
+
+        double factor = weightFactor(weight, MAX_POPULATION);
+        for (int i = 0; i < allowedPopulations.size(); i++) {
+            scores.setPopulationScore(i, allowedPopulations.get(i).value() * factor);
+        }
+        return scores;
     }
 
     private boolean filterLowPopulations(PopulationResponse population) {
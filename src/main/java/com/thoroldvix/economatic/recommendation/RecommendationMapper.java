@@ -5,56 +5,39 @@ import org.mapstruct.MappingConstants;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 interface RecommendationMapper {
 
-    BigDecimal DEFAULT_SCORE = BigDecimal.ZERO;
     int SCALE = 6;
 
-    default RecommendationListResponse toRecommendationResponse(
-            Map<String, BigDecimal> itemPriceScores,
-            Map<String, BigDecimal> populationScores,
-            Map<String, BigDecimal> goldPriceScores,
-            int limit) {
-
-        List<RecommendationResponse> recommendations = getRecommendations(itemPriceScores, populationScores, goldPriceScores, limit);
+    default RecommendationListResponse toRecommendationResponse(ServerScores scores, int limit) {
+        int[] top = scores.top(limit);
+        List<RecommendationResponse> recommendations = new ArrayList<>(top.length);
+        for (int index : top) {
+            recommendations.add(createRecommendation(scores, index));
+        }
         return RecommendationListResponse.builder()
                 .recommendations(recommendations)
                 .build();
     }
 
-    private List<RecommendationResponse> getRecommendations(Map<String, BigDecimal> itemPriceScores,
-                                                            Map<String, BigDecimal> populationScores,
-                                                            Map<String, BigDecimal> goldPriceScores,
-                                                            int limit) {
-        return goldPriceScores.keySet().stream()
-                .map(key ->
-                        createRecommendation(
-                                key,
-                                getOrDefault(itemPriceScores, key),
-                                getOrDefault(populationScores, key),
-                                getOrDefault(goldPriceScores, key)
-                        )
-                )
-                .sorted(Comparator.comparing(RecommendationResponse::totalScore).reversed())
-                .limit(limit)
-                .toList();
-    }
-
-    private BigDecimal getOrDefault(Map<String, BigDecimal> scores, String key) {
-        return Optional.ofNullable(scores.get(key)).orElse(DEFAULT_SCORE).setScale(SCALE, RoundingMode.HALF_UP);
+    private RecommendationResponse createRecommendation(ServerScores scores, int index) {
+        BigDecimal itemPriceScore = toScore(scores.itemPriceScore(index));
+        BigDecimal populationScore = toScore(scores.populationScore(index));
+        BigDecimal goldPriceScore = toScore(scores.goldPriceScore(index));
+        return RecommendationResponse.builder()
+                .serverName(scores.server(index))
+                .totalScore(itemPriceScore.add(populationScore).add(goldPriceScore))
+                .itemPriceScore(itemPriceScore)
+                .populationScore(populationScore)
+                .goldPriceScore(goldPriceScore)
+                .build();
     }
 
-    private RecommendationResponse createRecommendation(String serverName,
-                                                        BigDecimal itemPriceScore,
-                                                        BigDecimal populationScore,
-                                                        BigDecimal goldPriceScore) {
-        BigDecimal totalScore = itemPriceScore.add(populationScore).add(goldPriceScore);
-        return new RecommendationResponse(serverName, itemPriceScore, populationScore, goldPriceScore, totalScore);
+    private BigDecimal toScore(double score) {
+        return BigDecimal.valueOf(score).setScale(SCALE, RoundingMode.HALF_UP);
     }
 }
@@ -0,0 +1,147 @@
+package com.thoroldvix.economatic.recommendation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class ServerScores {
+
+    private static final int ABSENT = -1;
+
+    private final String[] servers;
+    private final Map<String, Integer> indexes;
+    private final double[] itemPriceScores;
+    private final double[] populationScores;
+    private final double[] goldPriceScores;
+    private final boolean[] goldPriced;
+
+    ServerScores(List<String> servers) {
+        this.servers = servers.toArray(String[]::new);
+        this.indexes = new HashMap<>(this.servers.length * 2);
+        for (int i = 0; i < this.servers.length; i++) {
+            indexes.put(this.servers[i], i);
+        }
+        this.itemPriceScores = new double[this.servers.length];
+        this.populationScores = new double[this.servers.length];
+        this.goldPriceScores = new double[this.servers.length];
+        this.goldPriced = new boolean[this.servers.length];
+    }
+
+    int indexOf(String server) {
+        Integer index = indexes.get(server);
+        return index == null ? ABSENT : index;
+    }
+
+    Set<String> servers() {
+        return indexes.keySet();
+    }
+
+    String server(int index) {
+        return servers[index];
+    }
+
+    void addItemPriceScore(String server, double score) {
+        int index = indexOf(server);
+        if (index != ABSENT) {
+            itemPriceScores[index] += score;
+        }
+    }
+
+    void setPopulationScore(int index, double score) {
+        populationScores[index] = score;
+    }
+
+    void setGoldPriceScore(String server, double score) {
+        int index = indexOf(server);
+        if (index != ABSENT) {
+            goldPriceScores[index] = score;
+            goldPriced[index] = true;
+        }
+    }
+
+    double itemPriceScore(int index) {
+        return itemPriceScores[index];
+    }
+
+    double populationScore(int index) {
+        return populationScores[index];
+    }
+
+    double goldPriceScore(int index) {
+        return goldPriceScores[index];
+    }
+
+    double totalScore(int index) {
+        return itemPriceScores[index] + populationScores[index] + goldPriceScores[index];
+    }
+
+    /**
+     * Returns indexes of up to {@code limit} servers with a gold price, ordered by descending total score.
+     * Keeps a bounded min-heap of the best candidates seen so far instead of sorting every server.
+     */
+    int[] top(int limit) {
+        int[] heap = new int[Math.min(limit, servers.length)];
+        int size = 0;
+        for (int index = 0; index < servers.length; index++) {
+            if (!goldPriced[index]) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = index;
+                siftUp(heap, size++);
+            } else if (size > 0 && ranksAbove(index, heap[0])) {
+                heap[0] = index;
+                siftDown(heap, size);
+            }
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(heap, 0, end);
+            siftDown(heap, end);
+        }
+        return size == heap.length ? heap : Arrays.copyOf(heap, size);
+    }
+
+    private void siftUp(int[] heap, int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!ranksAbove(heap[parent], heap[position])) {
+                return;
+            }
+            swap(heap, parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int position = 0;
+        while (true) {
+            int lowest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && ranksAbove(heap[lowest], heap[left])) {
+                lowest = left;
+            }
+            if (right < size && ranksAbove(heap[lowest], heap[right])) {
+                lowest = right;
+            }
+            if (lowest == position) {
+                return;
+            }
+            swap(heap, position, lowest);
+            position = lowest;
+        }
+    }
+
+    private boolean ranksAbove(int index, int other) {
+        int comparison = Double.compare(totalScore(index), totalScore(other));
+        return comparison > 0 || comparison == 0 && index < other;
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
@@ -0,0 +1,108 @@
+package com.thoroldvix.economatic.server;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Matches records fetched from an upstream API to servers by indexing the records by name once, instead of scanning
+ * them for every server. Servers without a record and records without a server are left out of the result instead of
+ * failing the update, and their counts from the latest match of each source are published as the
+ * {@code economatic.server-match.unmatched-servers} and {@code economatic.server-match.unmatched-records} gauges
+ * tagged with the source.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ServerMatcher {
+
+    private static final String UNMATCHED_SERVERS = "economatic.server-match.unmatched-servers";
+    private static final String UNMATCHED_RECORDS = "economatic.server-match.unmatched-records";
+
+    private final ServerService serverService;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Matches every server to the record with its unique name, such as {@code everlook-alliance}. If several records
+     * have the same name, the first one is used.
+     */
+    public <T> Matches<T> matchByUniqueName(String source, Collection<T> records, Function<T, String> uniqueName) {
+        return match(source, records, uniqueName, ServerResponse::uniqueName);
+    }
+
+    /**
+     * Matches every server to the record with its realm name, such as {@code Everlook}, so the servers of both factions
+     * of a realm share one record.
+     */
+    public <T> Matches<T> matchByName(String source, Collection<T> records, Function<T, String> name) {
+        return match(source, records, name, ServerResponse::name);
+    }
+
+    private <T> Matches<T> match(String source, Collection<T> records, Function<T, String> recordKey,
+                                 Function<ServerResponse, String> serverKey) {
+        Map<String, T> recordsByKey = new HashMap<>(records.size() * 2);
+        for (T record : records) {
+            recordsByKey.putIfAbsent(recordKey.apply(record), record);
+        }
+
+        List<ServerResponse> servers = serverService.getAll().servers();
+        List<Match<T>> matched = new ArrayList<>(servers.size());
+        List<ServerResponse> unmatchedServers = new ArrayList<>();
+        Set<String> serverKeys = new HashSet<>(servers.size() * 2);
+        for (ServerResponse server : servers) {
+            String key = serverKey.apply(server);
+            serverKeys.add(key);
+            T record = recordsByKey.get(key);
+            if (record == null) {
+                unmatchedServers.add(server);
+            } else {
+                matched.add(new Match<>(server, record));
+            }
+        }
+        List<T> unmatchedRecords = records.stream()
+                .filter(record -> !serverKeys.contains(recordKey.apply(record)))
+                .toList();
+
+        report(source, unmatchedServers, unmatchedRecords, recordKey);
+        return new Matches<>(matched, unmatchedServers, unmatchedRecords);
+    }
+
+    private <T> void report(String source, List<ServerResponse> unmatchedServers, List<T> unmatchedRecords,
+                            Function<T, String> recordKey) {
+        gauge(UNMATCHED_SERVERS, source).set(unmatchedServers.size());
+        gauge(UNMATCHED_RECORDS, source).set(unmatchedRecords.size());
+        if (!unmatchedServers.isEmpty()) {
+            log.warn("No {} record found for {} servers: {}", source, unmatchedServers.size(),
+                    unmatchedServers.stream().map(ServerResponse::uniqueName).toList());
+        }
+        if (!unmatchedRecords.isEmpty()) {
+            log.info("No server found for {} {} records: {}", unmatchedRecords.size(), source,
+                    unmatchedRecords.stream().map(recordKey).toList());
+        }
+    }
+
+    private AtomicInteger gauge(String name, String source) {
+        return gauges.computeIfAbsent(name + ":" + source,
+                key -> meterRegistry.gauge(name, Tags.of("source", source), new AtomicInteger()));
+    }
+
+    public record Match<T>(ServerResponse server, T record) {
+    }
+
+    public record Matches<T>(List<Match<T>> matched, List<ServerResponse> unmatchedServers, List<T> unmatchedRecords) {
+    }
+}
@@ -1,15 +1,25 @@
 package com.thoroldvix.economatic.stats;
 
+import java.time.LocalDateTime;
+
 public interface StatsProjection {
 
     Number getMean();
 
-    Number getMaxId();
-
-    Number getMinId();
-
     Number getMedian();
 
     long getCount();
 
+    Number getMinValue();
+
+    LocalDateTime getMinUpdatedAt();
+
+    String getMinServer();
+
+    Number getMaxValue();
+
+    LocalDateTime getMaxUpdatedAt();
+
+    String getMaxServer();
+
 }
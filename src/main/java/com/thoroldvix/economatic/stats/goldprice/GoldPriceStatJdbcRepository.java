@@ -0,0 +1,191 @@
+package com.thoroldvix.economatic.stats.goldprice;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+class GoldPriceStatJdbcRepository {
+
+    private static final String ROLLUP_COLUMNS = """
+            server_id, count, value_sum, min_value, min_id, min_updated_at, max_value, max_id, max_updated_at,
+            sketch_values, sketch_counts""";
+    private static final String FIND_STATS_SQL = """
+            SELECT %1$s
+            FROM gold_price_daily_stat
+            WHERE server_id = ANY (?) AND bucket >= ? AND bucket < ?
+            UNION ALL
+            SELECT %1$s
+            FROM gold_price_hourly_stat
+            WHERE server_id = ANY (?) AND (bucket >= ? AND bucket < ? OR bucket >= ? AND bucket < ?)
+            UNION ALL
+            SELECT server_id, 1, value, value, id, updated_at, value, id, updated_at,
+                   ARRAY [(value * 1000000)::INT], ARRAY [1::BIGINT]
+            FROM gold_price
+            WHERE server_id = ANY (?) AND (updated_at >= ? AND updated_at < ? OR updated_at >= ? AND updated_at <= ?)
+            """.formatted(ROLLUP_COLUMNS);
+    private static final String LOCK_BUCKETS_SQL = """
+            SELECT pg_advisory_xact_lock(hashtextextended(k.lock_key, 0))
+            FROM (SELECT lock_key FROM unnest(?) AS lock_key ORDER BY lock_key) AS k
+            """;
+    private static final String FIND_FOR_UPDATE_SQL = """
+            SELECT bucket, %s
+            FROM %s
+            WHERE (server_id, bucket) IN (SELECT * FROM unnest(?, ?))
+            FOR UPDATE
+            """;
+    private static final String UPSERT_SQL = """
+            INSERT INTO %s (server_id, bucket, count, value_sum, min_value, min_id, min_updated_at,
+                            max_value, max_id, max_updated_at, sketch_values, sketch_counts)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (server_id, bucket) DO UPDATE
+                SET count          = EXCLUDED.count,
+                    value_sum      = EXCLUDED.value_sum,
+                    min_value      = EXCLUDED.min_value,
+                    min_id         = EXCLUDED.min_id,
+                    min_updated_at = EXCLUDED.min_updated_at,
+                    max_value      = EXCLUDED.max_value,
+                    max_id         = EXCLUDED.max_id,
+                    max_updated_at = EXCLUDED.max_updated_at,
+                    sketch_values  = EXCLUDED.sketch_values,
+                    sketch_counts  = EXCLUDED.sketch_counts
+            """;
+    private final JdbcTemplate jdbcTemplate;
+
+    public GoldPriceStats findStats(Collection<Integer> serverIds, RollupRange range) {
+        GoldPriceStats stats = GoldPriceStats.empty();
+        jdbcTemplate.query(connection -> {
+            Array servers = connection.createArrayOf("int4", serverIds.toArray());
+            PreparedStatement ps = connection.prepareStatement(FIND_STATS_SQL);
+            int i = 1;
+            ps.setArray(i++, servers);
+            i = setInterval(ps, i, range.daily());
+            ps.setArray(i++, servers);
+            i = setInterval(ps, i, range.hourlyStart());
+            i = setInterval(ps, i, range.hourlyEnd());
+            ps.setArray(i++, servers);
+            i = setInterval(ps, i, range.rawStart());
+            setInterval(ps, i, range.rawEnd());
+            return ps;
+        }, rs -> {
+            stats.merge(mapStats(rs));
+        });
+        return stats;
+    }
+
+    /**
+     * Locks the rollups of the given buckets until the end of the transaction and reads the existing ones. Buckets are
+     * locked with advisory locks, taken in a fixed order, because {@code FOR UPDATE} locks nothing for a bucket that has
+     * no row yet, which would let two first writers of a bucket overwrite each other.
+     */
+    public Map<RollupKey, GoldPriceStats> findForUpdate(RollupGranularity granularity, Collection<RollupKey> keys) {
+        lockBuckets(granularity, keys);
+        String sql = FIND_FOR_UPDATE_SQL.formatted(ROLLUP_COLUMNS, granularity.tableName);
+        Map<RollupKey, GoldPriceStats> rollups = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("int4", keys.stream().map(RollupKey::serverId).toArray()));
+            ps.setArray(2, connection.createArrayOf("timestamp", keys.stream().map(key -> Timestamp.valueOf(key.bucket())).toArray()));
+            return ps;
+        }, rs -> {
+            RollupKey key = new RollupKey(rs.getInt("server_id"), rs.getTimestamp("bucket").toLocalDateTime());
+            rollups.put(key, mapStats(rs));
+        });
+        return rollups;
+    }
+
+    private void lockBuckets(RollupGranularity granularity, Collection<RollupKey> keys) {
+        Object[] lockKeys = keys.stream()
+                .map(key -> granularity.tableName + ":" + key.serverId() + ":" + key.bucket())
+                .toArray();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOCK_BUCKETS_SQL);
+            ps.setArray(1, connection.createArrayOf("text", lockKeys));
+            return ps;
+        }, rs -> {
+        });
+    }
+
+    public void upsert(RollupGranularity granularity, Map<RollupKey, GoldPriceStats> rollups) {
+        List<Map.Entry<RollupKey, GoldPriceStats>> entries = List.copyOf(rollups.entrySet());
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL.formatted(granularity.tableName))) {
+                for (Map.Entry<RollupKey, GoldPriceStats> entry : entries) {
+                    setRollup(connection, ps, entry.getKey(), entry.getValue());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    private static void setRollup(Connection connection, PreparedStatement ps, RollupKey key, GoldPriceStats stats) throws SQLException {
+        GoldPriceStats.Observation min = stats.min();
+        GoldPriceStats.Observation max = stats.max();
+        PriceHistogram histogram = stats.histogram();
+
+        ps.setInt(1, key.serverId());
+        ps.setTimestamp(2, Timestamp.valueOf(key.bucket()));
+        ps.setLong(3, stats.count());
+        ps.setBigDecimal(4, stats.sum());
+        ps.setBigDecimal(5, min.value());
+        ps.setLong(6, min.id());
+        ps.setTimestamp(7, Timestamp.valueOf(min.updatedAt()));
+        ps.setBigDecimal(8, max.value());
+        ps.setLong(9, max.id());
+        ps.setTimestamp(10, Timestamp.valueOf(max.updatedAt()));
+        ps.setArray(11, connection.createArrayOf("int4", Arrays.stream(histogram.values()).boxed().toArray()));
+        ps.setArray(12, connection.createArrayOf("int8", Arrays.stream(histogram.counts()).boxed().toArray()));
+    }
+
+    private static int setInterval(PreparedStatement ps, int index, RollupRange.Interval interval) throws SQLException {
+        ps.setTimestamp(index, Timestamp.valueOf(interval.from()));
+        ps.setTimestamp(index + 1, Timestamp.valueOf(interval.to()));
+        return index + 2;
+    }
+
+    private static GoldPriceStats mapStats(ResultSet rs) throws SQLException {
+        int serverId = rs.getInt("server_id");
+        GoldPriceStats.Observation min = new GoldPriceStats.Observation(
+                rs.getLong("min_id"),
+                serverId,
+                rs.getBigDecimal("min_value"),
+                rs.getTimestamp("min_updated_at").toLocalDateTime());
+        GoldPriceStats.Observation max = new GoldPriceStats.Observation(
+                rs.getLong("max_id"),
+                serverId,
+                rs.getBigDecimal("max_value"),
+                rs.getTimestamp("max_updated_at").toLocalDateTime());
+        Integer[] sketchValues = (Integer[]) rs.getArray("sketch_values").getArray();
+        Long[] sketchCounts = (Long[]) rs.getArray("sketch_counts").getArray();
+        int[] values = new int[sketchValues.length];
+        long[] counts = new long[sketchCounts.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = sketchValues[i];
+            counts[i] = sketchCounts[i];
+        }
+        return new GoldPriceStats(rs.getLong("count"), rs.getBigDecimal("value_sum"), min, max, PriceHistogram.of(values, counts));
+    }
+
+    record RollupKey(
+            int serverId,
+            LocalDateTime bucket
+    ) {
+
+    }
+}
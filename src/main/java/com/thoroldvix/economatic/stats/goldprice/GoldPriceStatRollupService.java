@@ -0,0 +1,52 @@
+package com.thoroldvix.economatic.stats.goldprice;
+
+import com.thoroldvix.economatic.goldprice.GoldPrice;
+import com.thoroldvix.economatic.goldprice.GoldPricesSavedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+class GoldPriceStatRollupService {
+
+    private final GoldPriceStatJdbcRepository goldPriceStatJdbcRepository;
+
+    /**
+     * Runs in the transaction that inserts the prices, so prices are never stored without being added to the rollups.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onGoldPricesSaved(GoldPricesSavedEvent event) {
+        addToRollups(event.prices());
+    }
+
+    void addToRollups(List<GoldPrice> prices) {
+        if (prices.isEmpty()) {
+            return;
+        }
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            Map<GoldPriceStatJdbcRepository.RollupKey, GoldPriceStats> additions = groupByBucket(prices, granularity);
+            Map<GoldPriceStatJdbcRepository.RollupKey, GoldPriceStats> rollups =
+                    goldPriceStatJdbcRepository.findForUpdate(granularity, additions.keySet());
+            additions.forEach((key, stats) -> rollups.merge(key, stats, GoldPriceStats::merge));
+            goldPriceStatJdbcRepository.upsert(granularity, rollups);
+        }
+    }
+
+    private static Map<GoldPriceStatJdbcRepository.RollupKey, GoldPriceStats> groupByBucket(List<GoldPrice> prices,
+                                                                                          RollupGranularity granularity) {
+        Map<GoldPriceStatJdbcRepository.RollupKey, GoldPriceStats> additions = new HashMap<>();
+        for (GoldPrice price : prices) {
+            int serverId = price.getServer().getId();
+            var key = new GoldPriceStatJdbcRepository.RollupKey(serverId, granularity.floor(price.getUpdatedAt()));
+            var observation = new GoldPriceStats.Observation(price.getId(), serverId, price.getValue(), price.getUpdatedAt());
+            additions.merge(key, GoldPriceStats.of(observation), GoldPriceStats::merge);
+        }
+        return additions;
+    }
+}
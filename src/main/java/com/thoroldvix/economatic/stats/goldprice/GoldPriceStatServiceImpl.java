@@ -1,110 +1,83 @@
 package com.thoroldvix.economatic.stats.goldprice;
 
 import com.thoroldvix.economatic.common.dto.TimeRange;
-import com.thoroldvix.economatic.common.util.StringEnumConverter;
 import com.thoroldvix.economatic.error.StatisticsNotFoundException;
 import com.thoroldvix.economatic.goldprice.GoldPriceResponse;
-import com.thoroldvix.economatic.goldprice.GoldPriceService;
-import com.thoroldvix.economatic.server.Faction;
-import com.thoroldvix.economatic.server.Region;
 import com.thoroldvix.economatic.server.ServerResponse;
 import com.thoroldvix.economatic.server.ServerService;
-import com.thoroldvix.economatic.stats.StatsProjection;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import static com.thoroldvix.economatic.common.util.ValidationUtils.notEmpty;
 import static com.thoroldvix.economatic.error.ErrorMessages.*;
 
 @Service
-@Cacheable("gold-price-stats-cache")
+@Cacheable(value = "gold-price-stats-cache", sync = true)
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 class GoldPriceStatServiceImpl implements GoldPriceStatService {
 
     private final ServerService serverService;
-    private final GoldPriceStatRepository goldPriceStatRepository;
+    private final GoldPriceStatJdbcRepository goldPriceStatJdbcRepository;
     private final GoldPriceStatMapper goldPriceStatMapper;
-    private final GoldPriceService goldPriceService;
 
     @Override
     public GoldPriceStatResponse getForServer(String serverIdentifier, TimeRange timeRange) {
         notEmpty(serverIdentifier, SERVER_IDENTIFIER_CANNOT_BE_NULL_OR_EMPTY.message);
 
         ServerResponse server = serverService.getServer(serverIdentifier);
-        StatsProjection statsProjection = goldPriceStatRepository.findStatsForServer(
-                server.id(),
-                timeRange.start(),
-                timeRange.end()
-        );
-        validateStatsProjection(statsProjection);
-        return getStatResponse(statsProjection);
+        return getStatResponse(List.of(server), timeRange);
     }
 
     @Override
     public GoldPriceStatResponse getForRegion(String regionName, TimeRange timeRange) {
         notEmpty(regionName, REGION_NAME_CANNOT_BE_NULL_OR_EMPTY.message);
 
-        Region region = StringEnumConverter.fromString(regionName, Region.class);
-        StatsProjection statsProjection = goldPriceStatRepository.findForRegion(
-                region.ordinal(),
-                timeRange.start(),
-                timeRange.end()
-        );
-        validateStatsProjection(statsProjection);
-
-        return getStatResponse(statsProjection);
+        List<ServerResponse> servers = serverService.getAllForRegion(regionName).servers();
+        return getStatResponse(servers, timeRange);
     }
 
     @Override
     public GoldPriceStatResponse getForFaction(String factionName, TimeRange timeRange) {
         notEmpty(factionName, FACTION_NAME_CANNOT_BE_NULL_OR_EMPTY.message);
 
-        Faction faction = StringEnumConverter.fromString(factionName, Faction.class);
-        StatsProjection statsProjection = goldPriceStatRepository.findForFaction(
-                faction.ordinal(),
-                timeRange.start(),
-                timeRange.end()
-        );
-        validateStatsProjection(statsProjection);
-
-        return getStatResponse(statsProjection);
+        List<ServerResponse> servers = serverService.getAllForFaction(factionName).servers();
+        return getStatResponse(servers, timeRange);
     }
 
     @Override
     public GoldPriceStatResponse getForAll(TimeRange timeRange) {
-        StatsProjection statsProjection = goldPriceStatRepository.findStatsForAll(timeRange.start(), timeRange.end());
-        validateStatsProjection(statsProjection);
-        return getStatResponse(statsProjection);
-    }
-
-    private GoldPriceStatResponse getStatResponse(StatsProjection statsProjection) {
-        GoldPriceResponse min = getMin(statsProjection);
-        GoldPriceResponse max = getMax(statsProjection);
-
-        return goldPriceStatMapper.toResponse(statsProjection, min, max);
-    }
-
-    private GoldPriceResponse getMax(StatsProjection goldPriceStat) {
-        long maxId = goldPriceStat.getMaxId().longValue();
-        return goldPriceService.getForId(maxId);
-    }
-
-    private GoldPriceResponse getMin(StatsProjection goldPriceStat) {
-        long minId = goldPriceStat.getMinId().longValue();
-        return goldPriceService.getForId(minId);
+        List<ServerResponse> servers = serverService.getAll().servers();
+        return getStatResponse(servers, timeRange);
     }
 
-    private void validateStatsProjection(StatsProjection statsProjection) {
-        boolean isInvalid = statsProjection.getMean() == null
-                            || statsProjection.getMaxId() == null
-                            || statsProjection.getMinId() == null
-                            || statsProjection.getMedian() == null;
-        if (isInvalid) {
+    private GoldPriceStatResponse getStatResponse(List<ServerResponse> servers, TimeRange timeRange) {
+        Map<Integer, String> serverNames = servers.stream()
+                .collect(Collectors.toMap(ServerResponse::id, ServerResponse::uniqueName));
+        GoldPriceStats stats = goldPriceStatJdbcRepository.findStats(
+                serverNames.keySet(),
+                RollupRange.of(timeRange.start(), timeRange.end())
+        );
+        if (stats.isEmpty()) {
             throw new StatisticsNotFoundException(NO_STATISTICS_FOUND.message);
         }
+
+        GoldPriceResponse min = toGoldPriceResponse(stats.min(), serverNames);
+        GoldPriceResponse max = toGoldPriceResponse(stats.max(), serverNames);
+        return goldPriceStatMapper.toResponse(stats, min, max);
     }
 
+    private static GoldPriceResponse toGoldPriceResponse(GoldPriceStats.Observation observation, Map<Integer, String> serverNames) {
+        return GoldPriceResponse.builder()
+                .price(observation.value())
+                .server(serverNames.get(observation.serverId()))
+                .updatedAt(observation.updatedAt())
+                .build();
+    }
 }
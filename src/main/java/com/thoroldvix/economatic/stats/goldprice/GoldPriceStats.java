@@ -0,0 +1,108 @@
+package com.thoroldvix.economatic.stats.goldprice;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Mergeable gold price statistics for a set of observations. Rollup rows, raw prices and whole query results are
+ * all represented as instances of this class and combined with {@link #merge(GoldPriceStats)}.
+ */
+final class GoldPriceStats {
+
+    private long count;
+    private BigDecimal sum;
+    private Observation min;
+    private Observation max;
+    private final PriceHistogram histogram;
+
+    GoldPriceStats(long count, BigDecimal sum, Observation min, Observation max, PriceHistogram histogram) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.histogram = histogram;
+    }
+
+    static GoldPriceStats empty() {
+        return new GoldPriceStats(0, BigDecimal.ZERO, null, null, PriceHistogram.empty());
+    }
+
+    static GoldPriceStats of(Observation observation) {
+        return new GoldPriceStats(1, observation.value(), observation, observation, PriceHistogram.of(observation.value()));
+    }
+
+    GoldPriceStats merge(GoldPriceStats other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        count += other.count;
+        sum = sum.add(other.sum);
+        if (min == null || other.min.isBelow(min)) {
+            min = other.min;
+        }
+        if (max == null || other.max.isAbove(max)) {
+            max = other.max;
+        }
+        histogram.merge(other.histogram);
+        return this;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    long count() {
+        return count;
+    }
+
+    BigDecimal sum() {
+        return sum;
+    }
+
+    BigDecimal mean() {
+        return isEmpty() ? null : sum.divide(BigDecimal.valueOf(count), PriceHistogram.SCALE, RoundingMode.HALF_UP);
+    }
+
+    BigDecimal median() {
+        return histogram.median();
+    }
+
+    Observation min() {
+        return min;
+    }
+
+    Observation max() {
+        return max;
+    }
+
+    PriceHistogram histogram() {
+        return histogram;
+    }
+
+    /**
+     * A single gold price. Ties between equal prices go to the most recent one, then to the highest id.
+     */
+    record Observation(
+            long id,
+            int serverId,
+            BigDecimal value,
+            LocalDateTime updatedAt
+    ) {
+
+        boolean isBelow(Observation other) {
+            int comparison = value.compareTo(other.value);
+            return comparison < 0 || comparison == 0 && isNewerThan(other);
+        }
+
+        boolean isAbove(Observation other) {
+            int comparison = value.compareTo(other.value);
+            return comparison > 0 || comparison == 0 && isNewerThan(other);
+        }
+
+        private boolean isNewerThan(Observation other) {
+            int comparison = updatedAt.compareTo(other.updatedAt);
+            return comparison > 0 || comparison == 0 && id > other.id;
+        }
+    }
+}
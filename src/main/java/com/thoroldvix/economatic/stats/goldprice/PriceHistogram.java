@@ -0,0 +1,132 @@
+package com.thoroldvix.economatic.stats.goldprice;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch of gold prices. Prices are stored with a fixed scale of 6, so keeping a count per
+ * distinct value in millionths stays small and gives exact quantiles.
+ */
+final class PriceHistogram {
+
+    static final int SCALE = 6;
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private int[] values;
+    private long[] counts;
+    private int size;
+    private boolean compacted;
+
+    private PriceHistogram(int[] values, long[] counts, int size, boolean compacted) {
+        this.values = values;
+        this.counts = counts;
+        this.size = size;
+        this.compacted = compacted;
+    }
+
+    static PriceHistogram empty() {
+        return new PriceHistogram(new int[8], new long[8], 0, true);
+    }
+
+    static PriceHistogram of(BigDecimal value) {
+        return new PriceHistogram(new int[]{toMicros(value)}, new long[]{1}, 1, true);
+    }
+
+    static PriceHistogram of(int[] values, long[] counts) {
+        if (values.length != counts.length) {
+            throw new IllegalArgumentException("Histogram values and counts must have the same length");
+        }
+        return new PriceHistogram(values.clone(), counts.clone(), values.length, false);
+    }
+
+    static int toMicros(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+    }
+
+    void merge(PriceHistogram other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.values, 0, values, size, other.size);
+        System.arraycopy(other.counts, 0, counts, size, other.size);
+        size += other.size;
+        compacted = false;
+    }
+
+    int[] values() {
+        compact();
+        return Arrays.copyOf(values, size);
+    }
+
+    long[] counts() {
+        compact();
+        return Arrays.copyOf(counts, size);
+    }
+
+    /**
+     * Returns the median using the same interpolation as PostgreSQL {@code PERCENTILE_CONT(0.5)}, or {@code null}
+     * when the histogram is empty.
+     */
+    BigDecimal median() {
+        compact();
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += counts[i];
+        }
+        if (total == 0) {
+            return null;
+        }
+        long lowerRank = (total - 1) / 2;
+        long upperRank = total / 2;
+        long lower = valueAtRank(lowerRank);
+        long upper = lowerRank == upperRank ? lower : valueAtRank(upperRank);
+        return BigDecimal.valueOf(lower + upper, SCALE).divide(TWO, SCALE, RoundingMode.HALF_UP);
+    }
+
+    private long valueAtRank(long rank) {
+        long seen = 0;
+        for (int i = 0; i < size; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return values[i];
+            }
+        }
+        throw new IllegalStateException("Rank " + rank + " is outside of the histogram");
+    }
+
+    private void compact() {
+        if (compacted) {
+            return;
+        }
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (long) values[i] << 32 | i;
+        }
+        Arrays.sort(order);
+
+        int[] compactValues = new int[size];
+        long[] compactCounts = new long[size];
+        int compactSize = 0;
+        for (long entry : order) {
+            int value = (int) (entry >> 32);
+            long count = counts[(int) entry];
+            if (compactSize > 0 && compactValues[compactSize - 1] == value) {
+                compactCounts[compactSize - 1] += count;
+            } else {
+                compactValues[compactSize] = value;
+                compactCounts[compactSize++] = count;
+            }
+        }
+        values = compactValues;
+        counts = compactCounts;
+        size = compactSize;
+        compacted = true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            int newCapacity = Math.max(capacity, values.length * 2);
+            values = Arrays.copyOf(values, newCapacity);
+            counts = Arrays.copyOf(counts, newCapacity);
+        }
+    }
+}
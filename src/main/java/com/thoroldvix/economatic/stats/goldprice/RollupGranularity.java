@@ -0,0 +1,26 @@
+package com.thoroldvix.economatic.stats.goldprice;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+enum RollupGranularity {
+    HOURLY("gold_price_hourly_stat", ChronoUnit.HOURS),
+    DAILY("gold_price_daily_stat", ChronoUnit.DAYS);
+
+    public final String tableName;
+    private final ChronoUnit unit;
+
+    RollupGranularity(String tableName, ChronoUnit unit) {
+        this.tableName = tableName;
+        this.unit = unit;
+    }
+
+    LocalDateTime floor(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    LocalDateTime ceil(LocalDateTime time) {
+        LocalDateTime floor = floor(time);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+}
@@ -0,0 +1,50 @@
+package com.thoroldvix.economatic.stats.goldprice;
+
+import java.time.LocalDateTime;
+
+import static com.thoroldvix.economatic.stats.goldprice.RollupGranularity.DAILY;
+import static com.thoroldvix.economatic.stats.goldprice.RollupGranularity.HOURLY;
+
+/**
+ * Splits a time range into the parts answered by daily rollups, hourly rollups and raw gold prices. Only the
+ * partial hours at both ends are read from raw rows. All intervals are half-open except {@code rawEnd}, which
+ * includes its end to match the inclusive upper bound of stat requests.
+ */
+record RollupRange(
+        Interval rawStart,
+        Interval hourlyStart,
+        Interval daily,
+        Interval hourlyEnd,
+        Interval rawEnd
+) {
+
+    static RollupRange of(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Range end cannot be before its start");
+        }
+        LocalDateTime firstHour = HOURLY.ceil(start);
+        LocalDateTime lastHour = HOURLY.floor(end);
+        if (firstHour.isAfter(lastHour)) {
+            Interval none = new Interval(start, start);
+            return new RollupRange(none, none, none, none, new Interval(start, end));
+        }
+
+        LocalDateTime firstDay = DAILY.ceil(firstHour);
+        LocalDateTime lastDay = DAILY.floor(lastHour);
+        Interval rawStart = new Interval(start, firstHour);
+        Interval rawEnd = new Interval(lastHour, end);
+        if (!firstDay.isBefore(lastDay)) {
+            return new RollupRange(rawStart, new Interval(firstHour, lastHour), new Interval(lastHour, lastHour),
+                    new Interval(lastHour, lastHour), rawEnd);
+        }
+        return new RollupRange(rawStart, new Interval(firstHour, firstDay), new Interval(firstDay, lastDay),
+                new Interval(lastDay, lastHour), rawEnd);
+    }
+
+    record Interval(
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+
+    }
+}
@@ -8,19 +8,35 @@ import org.mapstruct.MappingConstants;
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 interface PopulationStatMapper {
 
-    default PopulationStatResponse toResponse(StatsProjection statProj, PopulationResponse min, PopulationResponse max) {
+    default PopulationStatResponse toResponse(StatsProjection statProj) {
         int median = statProj.getMedian().intValue();
         int mean = statProj.getMean().intValue();
 
         long count = statProj.getCount();
 
         return PopulationStatResponse.builder()
-                .minimum(min)
+                .minimum(toMinimum(statProj))
                 .median(median)
                 .mean(mean)
-                .maximum(max)
+                .maximum(toMaximum(statProj))
                 .count(count)
                 .build();
     }
 
+    default PopulationResponse toMinimum(StatsProjection statProj) {
+        return PopulationResponse.builder()
+                .server(statProj.getMinServer())
+                .value(statProj.getMinValue().intValue())
+                .updatedAt(statProj.getMinUpdatedAt())
+                .build();
+    }
+
+    default PopulationResponse toMaximum(StatsProjection statProj) {
+        return PopulationResponse.builder()
+                .server(statProj.getMaxServer())
+                .value(statProj.getMaxValue().intValue())
+                .updatedAt(statProj.getMaxUpdatedAt())
+                .build();
+    }
+
 }
@@ -11,17 +11,37 @@ import java.time.LocalDateTime;
 @Repository
 interface PopulationStatRepository extends JpaRepository<Population, Long> {
 
+    /**
+     * Aggregates {@code filteredPopulations} in a single pass, then picks the most recent row holding the minimum and
+     * the maximum value and returns both inline with their server, so a statistics request is one round trip.
+     */
     String STAT_SQL = """
-            SELECT
-            (SELECT AVG(fp.value) FROM filteredPopulations fp) AS mean,
-                                       (SELECT PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY fp.value) FROM filteredPopulations fp) AS median,
-                                       (SELECT fp.id FROM filteredPopulations fp WHERE fp.value = (SELECT MIN(fp1.value) FROM filteredPopulations fp1) ORDER BY fp.updated_at DESC LIMIT 1) AS minId,
-                                       (SELECT fp.id FROM filteredPopulations fp WHERE fp.value = (SELECT MAX(fp1.value) FROM filteredPopulations fp1) ORDER BY fp.updated_at DESC LIMIT 1) AS maxId,
-                                       (SELECT COUNT(fp.id) FROM filteredPopulations fp) AS count;
+            , stats AS (SELECT AVG(fp.value) AS mean,
+                               PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY fp.value) AS median,
+                               COUNT(*) AS count,
+                               MIN(fp.value) AS min_value,
+                               MAX(fp.value) AS max_value
+                        FROM filteredPopulations fp)
+            SELECT s.mean, s.median, s.count,
+                   s.min_value AS minValue, pmin.updated_at AS minUpdatedAt, smin.unique_name AS minServer,
+                   s.max_value AS maxValue, pmax.updated_at AS maxUpdatedAt, smax.unique_name AS maxServer
+            FROM stats s
+                     LEFT JOIN LATERAL (SELECT fp.updated_at, fp.server_id
+                                        FROM filteredPopulations fp
+                                        WHERE fp.value = s.min_value
+                                        ORDER BY fp.updated_at DESC, fp.id DESC
+                                        LIMIT 1) pmin ON TRUE
+                     LEFT JOIN server smin ON smin.id = pmin.server_id
+                     LEFT JOIN LATERAL (SELECT fp.updated_at, fp.server_id
+                                        FROM filteredPopulations fp
+                                        WHERE fp.value = s.max_value
+                                        ORDER BY fp.updated_at DESC, fp.id DESC
+                                        LIMIT 1) pmax ON TRUE
+                     LEFT JOIN server smax ON smax.id = pmax.server_id
             """;
 
     @Query(value = """
-                           WITH filteredPopulations AS (SELECT p.value, p.id, p.updated_at
+                           WITH filteredPopulations AS (SELECT p.value, p.id, p.updated_at, p.server_id
                            FROM population p
                            JOIN server s ON s.id = p.server_id
                            WHERE s.region = ?1 AND p.updated_at >= ?2 and p.updated_at <= ?3 and p.value > 0)
@@ -30,7 +50,7 @@ interface PopulationStatRepository extends JpaRepository<Population, Long> {
 
     @Query(value = """
                            WITH filteredPopulations AS (
-                           SELECT p.value, p.id, p.updated_at
+                           SELECT p.value, p.id, p.updated_at, p.server_id
                            FROM population p
                            WHERE p.updated_at >= ?1 AND updated_at <= ?2 AND p.value > 0)
                            """ + STAT_SQL, nativeQuery = true)
@@ -38,7 +58,7 @@ interface PopulationStatRepository extends JpaRepository<Population, Long> {
 
     @Query(value = """
                            WITH filteredPopulations AS (
-                           SELECT p.value, p.id, p.updated_at
+                           SELECT p.value, p.id, p.updated_at, p.server_id
                            FROM population p
                            WHERE p.server_id = ?1 AND p.updated_at >= ?2 and p.updated_at <= ?3 and p.value > 0)
                            """ + STAT_SQL, nativeQuery = true)
@@ -46,7 +66,7 @@ interface PopulationStatRepository extends JpaRepository<Population, Long> {
 
     @Query(value = """
                            WITH filteredPopulations AS (
-                           SELECT p.value, p.id, p.updated_at
+                           SELECT p.value, p.id, p.updated_at, p.server_id
                            FROM population p
                            JOIN server s ON s.id = p.server_id
                            WHERE s.faction = ?1 AND p.updated_at >= ?2 and p.updated_at <= ?3 and p.value > 0)
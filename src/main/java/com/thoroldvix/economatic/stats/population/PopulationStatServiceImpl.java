@@ -3,8 +3,6 @@ package com.thoroldvix.economatic.stats.population;
 import com.thoroldvix.economatic.common.dto.TimeRange;
 import com.thoroldvix.economatic.common.util.StringEnumConverter;
 import com.thoroldvix.economatic.error.StatisticsNotFoundException;
-import com.thoroldvix.economatic.population.PopulationResponse;
-import com.thoroldvix.economatic.population.PopulationService;
 import com.thoroldvix.economatic.server.Faction;
 import com.thoroldvix.economatic.server.Region;
 import com.thoroldvix.economatic.server.ServerResponse;
@@ -25,7 +23,6 @@ class PopulationStatServiceImpl implements PopulationStatService {
     private final PopulationStatRepository statRepository;
     private final ServerService serverService;
     private final PopulationStatMapper populationStatMapper;
-    private final PopulationService populationServiceImpl;
 
     @Override
     public PopulationStatResponse getForServer(String serverIdentifier, TimeRange timeRange) {
@@ -41,26 +38,12 @@ class PopulationStatServiceImpl implements PopulationStatService {
     }
 
     private PopulationStatResponse getStatResponse(StatsProjection statsProjection) {
-        PopulationResponse min = getMin(statsProjection);
-        PopulationResponse max = getMax(statsProjection);
-
-        return populationStatMapper.toResponse(statsProjection, min, max);
-    }
-
-    private PopulationResponse getMax(StatsProjection statProj) {
-        long maxId = statProj.getMaxId().longValue();
-        return populationServiceImpl.getForId(maxId);
-    }
-
-    private PopulationResponse getMin(StatsProjection statProj) {
-        long minId = statProj.getMinId().longValue();
-        return populationServiceImpl.getForId(minId);
+        return populationStatMapper.toResponse(statsProjection);
     }
 
     private void validateStatsProjection(StatsProjection statsProjection) {
-        boolean isInvalid = statsProjection.getMean() == null
-                || statsProjection.getMaxId() == null
-                || statsProjection.getMinId() == null
+        boolean isInvalid = statsProjection.getCount() == 0
+                || statsProjection.getMean() == null
                 || statsProjection.getMedian() == null;
         if (isInvalid) {
             throw new StatisticsNotFoundException(NO_STATISTICS_FOUND.message);
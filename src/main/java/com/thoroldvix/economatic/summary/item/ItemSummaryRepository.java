@@ -14,15 +14,16 @@ interface ItemSummaryRepository extends JpaRepository<Item, Integer> {
                 SUM(CASE WHEN quality = 1 THEN 1 ELSE 0 END) AS uncommon,
                 SUM(CASE WHEN quality = 2 THEN 1 ELSE 0 END) AS rare,
                 SUM(CASE WHEN quality = 3 THEN 1 ELSE 0 END) AS epic,
-                SUM(CASE WHEN quality = 4 THEN 1 ELSE 0 END) AS legendary;
-                """, nativeQuery = true)
+                SUM(CASE WHEN quality = 4 THEN 1 ELSE 0 END) AS legendary
+            FROM item
+            """, nativeQuery = true)
     ItemSummaryQualityProjection getQualitySummary();
 
     @Query(value = """
             SELECT
             SUM(CASE WHEN type = 0 THEN 1 ELSE 0 END) AS consumable,
                            SUM(CASE WHEN type = 1 THEN 1 ELSE 0 END) AS container,
-                           SUM(CASE WHEN type = 2 THEN 1 ELSE 0 END) AS weaponType,
+                           SUM(CASE WHEN type = 2 THEN 1 ELSE 0 END) AS weapon,
                            SUM(CASE WHEN type = 3 THEN 1 ELSE 0 END) AS gem,
                            SUM(CASE WHEN type = 4 THEN 1 ELSE 0 END) AS armor,
                            SUM(CASE WHEN type = 5 THEN 1 ELSE 0 END) AS reagent,
@@ -34,7 +35,8 @@ interface ItemSummaryRepository extends JpaRepository<Item, Integer> {
                            SUM(CASE WHEN type = 11 THEN 1 ELSE 0 END) AS key,
                            SUM(CASE WHEN type = 12 THEN 1 ELSE 0 END) AS miscellaneous,
                            SUM(CASE WHEN type = 13 THEN 1 ELSE 0 END) AS glyph
-                       """, nativeQuery = true)
+            FROM item
+            """, nativeQuery = true)
     ItemSummaryTypeProjection getTypeSummary();
 
     @Query(value = """
@@ -52,7 +54,7 @@ interface ItemSummaryRepository extends JpaRepository<Item, Integer> {
                 SUM(CASE WHEN slot = 10 THEN 1 ELSE 0 END) AS hands,
                 SUM(CASE WHEN slot = 11 THEN 1 ELSE 0 END) AS finger,
                 SUM(CASE WHEN slot = 12 THEN 1 ELSE 0 END) AS trinket,
-                SUM(CASE WHEN slot = 13 THEN 1 ELSE 0 END) AS weaponSlot,
+                SUM(CASE WHEN slot = 13 THEN 1 ELSE 0 END) AS weapon,
                 SUM(CASE WHEN slot = 14 THEN 1 ELSE 0 END) AS shield,
                 SUM(CASE WHEN slot = 15 THEN 1 ELSE 0 END) AS ranged,
                 SUM(CASE WHEN slot = 16 THEN 1 ELSE 0 END) AS back,
@@ -68,6 +70,7 @@ interface ItemSummaryRepository extends JpaRepository<Item, Integer> {
                 SUM(CASE WHEN slot = 26 THEN 1 ELSE 0 END) AS rangedRight,
                 SUM(CASE WHEN slot = 27 THEN 1 ELSE 0 END) AS quiver,
                 SUM(CASE WHEN slot = 28 THEN 1 ELSE 0 END) AS relic
+            FROM item
             """, nativeQuery = true)
     ItemSummarySlotProjection getSlotSummary();
 
@@ -1,5 +1,7 @@
 package com.thoroldvix.economatic.summary.item;
 
+import com.thoroldvix.economatic.common.concurrent.QueryExecutor;
+import com.thoroldvix.economatic.common.concurrent.QueryExecutor.PendingQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -9,14 +11,16 @@ class ItemSummaryServiceImpl implements ItemSummaryService {
 
     private final ItemSummaryMapper itemSummaryMapper;
     private final ItemSummaryRepository itemSummaryRepository;
+    private final QueryExecutor queryExecutor;
 
     @Override
     public ItemSummaryResponse getSummary() {
-        ItemSummaryQualityProjection qualityProjection = itemSummaryRepository.getQualitySummary();
-        ItemSummaryTypeProjection typeProjection = itemSummaryRepository.getTypeSummary();
-        ItemSummarySlotProjection slotProjection = itemSummaryRepository.getSlotSummary();
-        long total = itemSummaryRepository.count();
+        PendingQuery<ItemSummaryQualityProjection> qualityProjection = queryExecutor.submit(itemSummaryRepository::getQualitySummary);
+        PendingQuery<ItemSummaryTypeProjection> typeProjection = queryExecutor.submit(itemSummaryRepository::getTypeSummary);
+        PendingQuery<ItemSummarySlotProjection> slotProjection = queryExecutor.submit(itemSummaryRepository::getSlotSummary);
+        PendingQuery<Long> total = queryExecutor.submit(itemSummaryRepository::count);
 
-        return itemSummaryMapper.toSummaryResponse(qualityProjection, typeProjection, slotProjection, total);
+        return itemSummaryMapper.toSummaryResponse(qualityProjection.join(), typeProjection.join(),
+                slotProjection.join(), total.join());
     }
 }
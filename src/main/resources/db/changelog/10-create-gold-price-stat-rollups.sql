@@ -0,0 +1,86 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1
+CREATE TABLE gold_price_hourly_stat
+(
+    server_id      INT            NOT NULL REFERENCES server (id),
+    bucket         TIMESTAMP      NOT NULL,
+    count          BIGINT         NOT NULL,
+    value_sum      DECIMAL(19, 6) NOT NULL,
+    min_value      DECIMAL(7, 6)  NOT NULL,
+    min_id         BIGINT         NOT NULL,
+    min_updated_at TIMESTAMP      NOT NULL,
+    max_value      DECIMAL(7, 6)  NOT NULL,
+    max_id         BIGINT         NOT NULL,
+    max_updated_at TIMESTAMP      NOT NULL,
+    sketch_values  INT[]          NOT NULL,
+    sketch_counts  BIGINT[]       NOT NULL,
+    PRIMARY KEY (server_id, bucket)
+);
+
+CREATE TABLE gold_price_daily_stat
+(
+    LIKE gold_price_hourly_stat INCLUDING ALL
+);
+
+ALTER TABLE gold_price_daily_stat
+    ADD FOREIGN KEY (server_id) REFERENCES server (id);
+
+CREATE INDEX ON gold_price_hourly_stat (bucket);
+CREATE INDEX ON gold_price_daily_stat (bucket);
+
+--changeset thoroldvix:2
+-- sketch_values holds distinct prices in millionths, sketch_counts how often each of them was seen
+INSERT INTO gold_price_hourly_stat
+WITH observations AS (SELECT server_id, date_trunc('hour', updated_at) AS bucket, id, value, updated_at
+                      FROM gold_price),
+     sketches AS (SELECT server_id,
+                         bucket,
+                         ARRAY_AGG(micros ORDER BY micros)     AS sketch_values,
+                         ARRAY_AGG(occurrences ORDER BY micros) AS sketch_counts
+                  FROM (SELECT server_id, bucket, (value * 1000000)::INT AS micros, COUNT(*) AS occurrences
+                        FROM observations
+                        GROUP BY server_id, bucket, value) v
+                  GROUP BY server_id, bucket)
+SELECT o.server_id,
+       o.bucket,
+       COUNT(*),
+       SUM(o.value),
+       (ARRAY_AGG(o.value ORDER BY o.value, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.id ORDER BY o.value, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.updated_at ORDER BY o.value, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.value ORDER BY o.value DESC, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.id ORDER BY o.value DESC, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.updated_at ORDER BY o.value DESC, o.updated_at DESC, o.id DESC))[1],
+       s.sketch_values,
+       s.sketch_counts
+FROM observations o
+         JOIN sketches s ON s.server_id = o.server_id AND s.bucket = o.bucket
+GROUP BY o.server_id, o.bucket, s.sketch_values, s.sketch_counts;
+
+INSERT INTO gold_price_daily_stat
+WITH observations AS (SELECT server_id, date_trunc('day', updated_at) AS bucket, id, value, updated_at
+                      FROM gold_price),
+     sketches AS (SELECT server_id,
+                         bucket,
+                         ARRAY_AGG(micros ORDER BY micros)     AS sketch_values,
+                         ARRAY_AGG(occurrences ORDER BY micros) AS sketch_counts
+                  FROM (SELECT server_id, bucket, (value * 1000000)::INT AS micros, COUNT(*) AS occurrences
+                        FROM observations
+                        GROUP BY server_id, bucket, value) v
+                  GROUP BY server_id, bucket)
+SELECT o.server_id,
+       o.bucket,
+       COUNT(*),
+       SUM(o.value),
+       (ARRAY_AGG(o.value ORDER BY o.value, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.id ORDER BY o.value, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.updated_at ORDER BY o.value, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.value ORDER BY o.value DESC, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.id ORDER BY o.value DESC, o.updated_at DESC, o.id DESC))[1],
+       (ARRAY_AGG(o.updated_at ORDER BY o.value DESC, o.updated_at DESC, o.id DESC))[1],
+       s.sketch_values,
+       s.sketch_counts
+FROM observations o
+         JOIN sketches s ON s.server_id = o.server_id AND s.bucket = o.bucket
+GROUP BY o.server_id, o.bucket, s.sketch_values, s.sketch_counts;
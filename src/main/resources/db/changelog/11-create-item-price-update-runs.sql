@@ -0,0 +1,24 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1
+CREATE TABLE item_price_update_run
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    status      VARCHAR(16) NOT NULL,
+    started_at  TIMESTAMP   NOT NULL,
+    finished_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX item_price_update_run_running_idx ON item_price_update_run (status) WHERE status = 'RUNNING';
+
+CREATE TABLE item_price_update_run_server
+(
+    run_id        BIGINT      NOT NULL REFERENCES item_price_update_run (id) ON DELETE CASCADE,
+    server_id     INT         NOT NULL REFERENCES server (id),
+    status        VARCHAR(16) NOT NULL,
+    attempts      INT         NOT NULL DEFAULT 0,
+    snapshot_time TIMESTAMP,
+    last_error    TEXT,
+    updated_at    TIMESTAMP   NOT NULL,
+    PRIMARY KEY (run_id, server_id)
+);
@@ -0,0 +1,17 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1
+CREATE TABLE item_price_snapshot
+(
+    server_id        INT       NOT NULL REFERENCES server (id),
+    snapshot_time    TIMESTAMP NOT NULL,
+    full_snapshot    BOOLEAN   NOT NULL,
+    removed_item_ids INT[]     NOT NULL DEFAULT '{}',
+    PRIMARY KEY (server_id, snapshot_time)
+);
+
+INSERT INTO item_price_snapshot (server_id, snapshot_time, full_snapshot)
+SELECT DISTINCT server_id, updated_at, TRUE
+FROM item_price;
+
+CREATE INDEX ON item_price (server_id, item_id, updated_at DESC);
@@ -0,0 +1,13 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1
+CREATE TABLE job_lease
+(
+    name       VARCHAR(64)  NOT NULL PRIMARY KEY,
+    owner      VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMPTZ  NOT NULL
+);
+
+ALTER TABLE item_price_update_run_server
+    ADD COLUMN owner            VARCHAR(255),
+    ADD COLUMN lease_expires_at TIMESTAMPTZ;
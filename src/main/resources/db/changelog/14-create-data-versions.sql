@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1
+CREATE TABLE data_version
+(
+    dataset    VARCHAR(64) NOT NULL PRIMARY KEY,
+    version    BIGINT      NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO data_version (dataset)
+VALUES ('ITEM_PRICE'),
+       ('GOLD_PRICE'),
+       ('POPULATION');
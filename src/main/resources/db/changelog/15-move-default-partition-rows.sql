@@ -0,0 +1,47 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1 splitStatements:false
+CREATE OR REPLACE FUNCTION create_time_partition(parent_table TEXT, granularity TEXT, bucket TIMESTAMP)
+    RETURNS TEXT AS
+$$
+DECLARE
+    range_start       TIMESTAMP;
+    range_end         TIMESTAMP;
+    partition_name    TEXT;
+    default_partition TEXT := parent_table || '_default';
+    has_default_rows  BOOLEAN;
+BEGIN
+    IF granularity NOT IN ('day', 'month') THEN
+        RAISE EXCEPTION 'Unsupported partition granularity: %', granularity;
+    END IF;
+
+    range_start := date_trunc(granularity, bucket);
+    range_end := range_start + ('1 ' || granularity)::INTERVAL;
+    partition_name := parent_table || '_p' ||
+                      to_char(range_start, CASE granularity WHEN 'day' THEN 'YYYYMMDD' ELSE 'YYYYMM' END);
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE updated_at >= %L AND updated_at < %L)',
+                   default_partition, range_start, range_end) INTO has_default_rows;
+    IF NOT has_default_rows THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, parent_table, range_start, range_end);
+        RETURN partition_name;
+    END IF;
+
+    -- Attaching a partition fails while the default partition holds rows of its range, so those rows are moved into
+    -- the new partition with the default partition detached.
+    RAISE WARNING 'Moving rows of % from % to new partition %', range_start, default_partition, partition_name;
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent_table, default_partition);
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent_table, range_start, range_end);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE updated_at >= %L AND updated_at < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved',
+                   default_partition, range_start, range_end, partition_name);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I DEFAULT', parent_table, default_partition);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,15 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1
+CREATE UNLOGGED TABLE item_price_latest_staging
+(
+    server_id        INT       NOT NULL,
+    snapshot_time    TIMESTAMP NOT NULL,
+    item_id          INT       NOT NULL,
+    min_buyout       BIGINT    NOT NULL,
+    historical_value BIGINT    NOT NULL,
+    market_value     BIGINT    NOT NULL,
+    quantity         INT       NOT NULL,
+    num_auctions     INT       NOT NULL,
+    PRIMARY KEY (server_id, snapshot_time, item_id)
+);
@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1
+DROP TRIGGER IF EXISTS set_timestamp ON item_price;
@@ -0,0 +1,121 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1 splitStatements:false
+CREATE OR REPLACE FUNCTION create_time_partition(parent_table TEXT, granularity TEXT, bucket TIMESTAMP)
+    RETURNS TEXT AS
+$$
+DECLARE
+    range_start    TIMESTAMP;
+    range_end      TIMESTAMP;
+    partition_name TEXT;
+BEGIN
+    IF granularity NOT IN ('day', 'month') THEN
+        RAISE EXCEPTION 'Unsupported partition granularity: %', granularity;
+    END IF;
+
+    range_start := date_trunc(granularity, bucket);
+    range_end := range_start + ('1 ' || granularity)::INTERVAL;
+    partition_name := parent_table || '_p' ||
+                      to_char(range_start, CASE granularity WHEN 'day' THEN 'YYYYMMDD' ELSE 'YYYYMM' END);
+
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent_table, range_start, range_end);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset thoroldvix:2
+ALTER TABLE item_price RENAME TO item_price_unpartitioned;
+ALTER SEQUENCE item_price_id_seq RENAME TO item_price_unpartitioned_id_seq;
+
+CREATE TABLE item_price
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    min_buyout       BIGINT                              DEFAULT 0,
+    historical_value BIGINT                              DEFAULT 0,
+    market_value     BIGINT                              DEFAULT 0,
+    quantity         INT                                 DEFAULT 0,
+    num_auctions     INT                                 DEFAULT 0,
+    item_id          INT REFERENCES item (id),
+    server_id        INT REFERENCES server (id) NOT NULL,
+    updated_at       TIMESTAMP                  NOT NULL DEFAULT NOW()
+) PARTITION BY RANGE (updated_at);
+
+CREATE TABLE item_price_default PARTITION OF item_price DEFAULT;
+
+SELECT create_time_partition('item_price', 'day', bucket)
+FROM generate_series(date_trunc('day', COALESCE((SELECT MIN(updated_at) FROM item_price_unpartitioned), LOCALTIMESTAMP)),
+                     LOCALTIMESTAMP + INTERVAL '7 days', INTERVAL '1 day') bucket;
+
+INSERT INTO item_price (id, min_buyout, historical_value, market_value, quantity, num_auctions, item_id, server_id, updated_at)
+SELECT id, min_buyout, historical_value, market_value, quantity, num_auctions, item_id, server_id, updated_at
+FROM item_price_unpartitioned;
+
+DROP TABLE item_price_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('item_price', 'id'), COALESCE(MAX(id), 0) + 1, false)
+FROM item_price;
+
+ALTER TABLE item_price ADD PRIMARY KEY (id, updated_at);
+CREATE INDEX ON item_price (item_id, server_id);
+CREATE INDEX ON item_price (updated_at DESC);
+
+--changeset thoroldvix:3
+ALTER TABLE gold_price RENAME TO gold_price_unpartitioned;
+ALTER SEQUENCE gold_price_id_seq RENAME TO gold_price_unpartitioned_id_seq;
+
+CREATE TABLE gold_price
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    server_id  INT           NOT NULL REFERENCES server (id),
+    value      DECIMAL(7, 6) NOT NULL,
+    updated_at TIMESTAMP     NOT NULL DEFAULT NOW()
+) PARTITION BY RANGE (updated_at);
+
+CREATE TABLE gold_price_default PARTITION OF gold_price DEFAULT;
+
+SELECT create_time_partition('gold_price', 'month', bucket)
+FROM generate_series(date_trunc('month', COALESCE((SELECT MIN(updated_at) FROM gold_price_unpartitioned), LOCALTIMESTAMP)),
+                     LOCALTIMESTAMP + INTERVAL '7 days', INTERVAL '1 month') bucket;
+
+INSERT INTO gold_price (id, server_id, value, updated_at)
+SELECT id, server_id, value, updated_at
+FROM gold_price_unpartitioned;
+
+DROP TABLE gold_price_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('gold_price', 'id'), COALESCE(MAX(id), 0) + 1, false)
+FROM gold_price;
+
+ALTER TABLE gold_price ADD PRIMARY KEY (id, updated_at);
+CREATE INDEX ON gold_price (server_id, updated_at DESC);
+
+--changeset thoroldvix:4
+ALTER TABLE population RENAME TO population_unpartitioned;
+ALTER SEQUENCE population_id_seq RENAME TO population_unpartitioned_id_seq;
+
+CREATE TABLE population
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    value      INT       NOT NULL,
+    server_id  INT       NOT NULL REFERENCES server (id),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+) PARTITION BY RANGE (updated_at);
+
+CREATE TABLE population_default PARTITION OF population DEFAULT;
+
+SELECT create_time_partition('population', 'month', bucket)
+FROM generate_series(date_trunc('month', COALESCE((SELECT MIN(updated_at) FROM population_unpartitioned), LOCALTIMESTAMP)),
+                     LOCALTIMESTAMP + INTERVAL '7 days', INTERVAL '1 month') bucket;
+
+INSERT INTO population (id, value, server_id, updated_at)
+SELECT id, value, server_id, updated_at
+FROM population_unpartitioned;
+
+DROP TABLE population_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('population', 'id'), COALESCE(MAX(id), 0) + 1, false)
+FROM population;
+
+ALTER TABLE population ADD PRIMARY KEY (id, updated_at);
+CREATE INDEX ON population (server_id, updated_at DESC);
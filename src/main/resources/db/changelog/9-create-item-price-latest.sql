@@ -0,0 +1,34 @@
+--liquibase formatted sql
+
+--changeset thoroldvix:1
+CREATE TABLE item_price_latest
+(
+    server_id        INT       NOT NULL REFERENCES server (id),
+    item_id          INT       NOT NULL REFERENCES item (id),
+    min_buyout       BIGINT    NOT NULL,
+    historical_value BIGINT    NOT NULL,
+    market_value     BIGINT    NOT NULL,
+    quantity         INT       NOT NULL,
+    num_auctions     INT       NOT NULL,
+    updated_at       TIMESTAMP NOT NULL,
+    PRIMARY KEY (server_id, item_id)
+);
+
+CREATE INDEX ON item_price_latest (item_id);
+
+INSERT INTO item_price_latest (server_id, item_id, min_buyout, historical_value, market_value, quantity, num_auctions, updated_at)
+SELECT DISTINCT ON (ip.server_id, ip.item_id) ip.server_id,
+                                              ip.item_id,
+                                              ip.min_buyout,
+                                              ip.historical_value,
+                                              ip.market_value,
+                                              ip.quantity,
+                                              ip.num_auctions,
+                                              ip.updated_at
+FROM item_price ip
+         JOIN (SELECT server_id, MAX(updated_at) AS max_updated_at
+               FROM item_price
+               GROUP BY server_id) latest ON ip.server_id = latest.server_id
+    AND ip.updated_at = latest.max_updated_at
+WHERE ip.item_id IS NOT NULL
+ORDER BY ip.server_id, ip.item_id, ip.id DESC;
@@ -0,0 +1,366 @@
+package com.thoroldvix.economatic;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stand-in for NexusHub, G2G and Warcraft Tavern, so that ingestion can be exercised and measured without
+ * network access. Serves synthetic payloads shaped like the real ones, or recorded payloads registered with
+ * {@link #record(String, byte[])}, gzip-compressed when the client asks for it. Every response can be delayed,
+ * limited in bandwidth or replaced by a {@code 503} to see how ingestion copes with a slow or failing upstream.
+ * <p>
+ * Item prices are generated once per {@link #refresh() refresh} and shared by all servers, so consecutive updates
+ * only see changed prices after a refresh.
+ */
+public class UpstreamStubServer implements AutoCloseable {
+
+    public static final String NEXUSHUB_PATH = "/nexushub/wow-classic/v1/items";
+    public static final String G2G_PATH = "/g2g";
+    public static final String WARCRAFT_TAVERN_PATH = "/warcrafttavern/armory";
+
+    private static final int G2G_PAGE_SIZE = 96;
+    private static final int SLICE_SIZE = 64 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Payload> recorded = new ConcurrentHashMap<>();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger injectedErrors = new AtomicInteger();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private final List<StubServer> servers;
+    private volatile int[] itemIds;
+    private final Duration latency;
+    private final double errorRate;
+    private final long bytesPerSecond;
+    private volatile Payload itemPrices;
+    private volatile Payload goldPrices;
+    private volatile Payload populations;
+    private volatile Map<String, Payload> realmPopulations;
+    private int version;
+
+    private UpstreamStubServer(Builder builder) throws IOException {
+        this.servers = List.copyOf(builder.servers);
+        this.itemIds = builder.itemIds;
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.bytesPerSecond = builder.bytesPerSecond;
+        refresh();
+        executor = Executors.newFixedThreadPool(builder.threads);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::respond);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Synthetic servers named {@code Server 1} to {@code Server <count>}, alternating between regions and factions.
+     */
+    public static List<StubServer> syntheticServers(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new StubServer("Server " + i, i % 2 == 0 ? "US" : "EU", i % 4 < 2 ? "Alliance" : "Horde"))
+                .toList();
+    }
+
+    public String nexusHubUrl() {
+        return baseUrl() + NEXUSHUB_PATH;
+    }
+
+    public String g2gUrl() {
+        return baseUrl() + G2G_PATH;
+    }
+
+    public String warcraftTavernUrl() {
+        return baseUrl() + WARCRAFT_TAVERN_PATH;
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Serves the body for every request whose path, without the query string, equals {@code path}, in place of the
+     * synthetic payload.
+     */
+    public void record(String path, byte[] body) {
+        recorded.put(path, Payload.of(body));
+    }
+
+    /**
+     * Serves prices for the given items from now on, for example the items tracked by a freshly migrated database.
+     */
+    public void serveItems(int[] itemIds) {
+        this.itemIds = itemIds.clone();
+        refresh();
+    }
+
+    /**
+     * Generates new item prices, gold prices and populations, as if the upstreams had published a new snapshot.
+     */
+    public synchronized void refresh() {
+        Random random = new Random(++version);
+        itemPrices = Payload.of(itemPricesJson(random));
+        goldPrices = Payload.of(goldPricesJson(random));
+        Map<String, String> realms = realmPopulationsJson(random);
+        populations = Payload.of(bytes("[" + String.join(",", realms.values()) + "]"));
+        realmPopulations = realms.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> Payload.of(bytes(entry.getValue()))));
+    }
+
+    public long bytesSent() {
+        return bytesSent.get();
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public int injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    public int connections() {
+        return connections.size();
+    }
+
+    public void resetCounters() {
+        bytesSent.set(0);
+        requests.set(0);
+        injectedErrors.set(0);
+        connections.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private byte[] itemPricesJson(Random random) {
+        StringBuilder json = new StringBuilder(itemIds.length * 128).append("{\"slug\":\"server\",\"data\":[");
+        for (int i = 0; i < itemIds.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"itemId\":").append(itemIds[i])
+                    .append(",\"minBuyout\":").append(random.nextInt(5_000_000) + 1)
+                    .append(",\"historicalValue\":").append(random.nextInt(5_000_000) + 1)
+                    .append(",\"marketValue\":").append(random.nextInt(5_000_000) + 1)
+                    .append(",\"quantity\":").append(random.nextInt(500) + 1)
+                    .append(",\"numAuctions\":").append(random.nextInt(50) + 1)
+                    .append(",\"previous\":null}");
+        }
+        return bytes(json.append("]}"));
+    }
+
+    private byte[] goldPricesJson(Random random) {
+        StringBuilder json = new StringBuilder("{\"code\":2000,\"messages\":[],\"payload\":{\"results\":[");
+        for (int i = 0; i < Math.min(G2G_PAGE_SIZE, servers.size()); i++) {
+            StubServer stubServer = servers.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"converted_unit_price\":").append(String.format(Locale.ROOT, "%.6f", 0.0001 + random.nextDouble() * 0.001))
+                    .append(",\"display_currency\":\"USD\",\"title\":\"").append(stubServer.name())
+                    .append(" [").append(stubServer.region()).append("] - ").append(stubServer.faction())
+                    .append("\"}");
+        }
+        return bytes(json.append("]}}"));
+    }
+
+    /**
+     * Population of every realm by its path, such as {@code eu/server-2}, in the order of the servers.
+     */
+    private Map<String, String> realmPopulationsJson(Random random) {
+        Map<String, String> realms = new LinkedHashMap<>();
+        for (StubServer stubServer : servers) {
+            String path = stubServer.region().toLowerCase(Locale.ROOT) + "/"
+                    + stubServer.name().toLowerCase(Locale.ROOT).replaceAll("\\s+", "-");
+            if (realms.containsKey(path)) {
+                continue;
+            }
+            int alliance = random.nextInt(20_000);
+            int horde = random.nextInt(20_000);
+            realms.put(path, "{\"name\":\"" + stubServer.name()
+                    + "\",\"popAlliance\":" + alliance
+                    + ",\"popHorde\":" + horde
+                    + ",\"popTotal\":" + (alliance + horde) + "}");
+        }
+        return realms;
+    }
+
+    private static byte[] bytes(CharSequence json) {
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            connections.add(exchange.getRemoteAddress());
+            sleep(latency.toNanos());
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            Payload payload = findPayload(exchange.getRequestURI().getPath());
+            if (payload == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            byte[] body = gzip ? payload.gzipped() : payload.body();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            write(exchange.getResponseBody(), body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Payload findPayload(String path) {
+        Payload payload = recorded.get(path);
+        if (payload != null) {
+            return payload;
+        }
+        if (path.startsWith(NEXUSHUB_PATH + "/")) {
+            return itemPrices;
+        }
+        if (path.startsWith(G2G_PATH + "/")) {
+            return goldPrices;
+        }
+        if (path.equals(WARCRAFT_TAVERN_PATH + "/servers/wotlk")) {
+            return populations;
+        }
+        if (path.startsWith(WARCRAFT_TAVERN_PATH + "/server/wotlk/")) {
+            return realmPopulations.get(path.substring((WARCRAFT_TAVERN_PATH + "/server/wotlk/").length()));
+        }
+        return null;
+    }
+
+    private void write(OutputStream out, byte[] body) throws IOException {
+        for (int from = 0; from < body.length; from += SLICE_SIZE) {
+            int length = Math.min(SLICE_SIZE, body.length - from);
+            out.write(body, from, length);
+            bytesSent.addAndGet(length);
+            if (bytesPerSecond > 0) {
+                sleep(length * 1_000_000_000L / bytesPerSecond);
+            }
+        }
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public record StubServer(String name, String region, String faction) {
+    }
+
+    private record Payload(byte[] body, byte[] gzipped) {
+
+        static Payload of(byte[] body) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Payload(body, compressed.toByteArray());
+        }
+    }
+
+    public static class Builder {
+
+        private List<StubServer> servers = syntheticServers(G2G_PAGE_SIZE);
+        private int[] itemIds = IntStream.rangeClosed(1, 17_000).toArray();
+        private Duration latency = Duration.ZERO;
+        private double errorRate;
+        private long bytesPerSecond;
+        private int threads = 8;
+
+        public Builder servers(List<StubServer> servers) {
+            this.servers = servers;
+            return this;
+        }
+
+        public Builder itemIds(int[] itemIds) {
+            this.itemIds = itemIds;
+            return this;
+        }
+
+        /**
+         * Delay before every response, on top of the time it takes to send the body.
+         */
+        public Builder latency(Duration latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Share of requests, between 0 and 1, answered with {@code 503 Service Unavailable}.
+         */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Bandwidth of every connection in bytes per second, {@code 0} for unlimited.
+         */
+        public Builder bytesPerSecond(long bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+            return this;
+        }
+
+        /**
+         * Number of requests served at the same time.
+         */
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public UpstreamStubServer start() throws IOException {
+            return new UpstreamStubServer(this);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.thoroldvix.economatic.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DataVersionsTest {
+
+    @Mock
+    private DataVersionJdbcRepository dataVersionJdbcRepository;
+    private DataVersions underTest;
+    private VersionedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new DataVersions(dataVersionJdbcRepository);
+        cache = new VersionedCache(new CaffeineCache("gold-price-cache", Caffeine.newBuilder().build()),
+                () -> underTest.current(Dataset.GOLD_PRICE));
+    }
+
+    @Test
+    void cache_keepsEntries_untilVersionOfItsDatasetChanges() {
+        cache.put("everlook", 1);
+        when(dataVersionJdbcRepository.bump(Dataset.ITEM_PRICE)).thenReturn(1L);
+        underTest.bump(Dataset.ITEM_PRICE);
+
+        assertThat(cache.get("everlook", Integer.class)).isEqualTo(1);
+
+        when(dataVersionJdbcRepository.bump(Dataset.GOLD_PRICE)).thenReturn(1L);
+        underTest.bump(Dataset.GOLD_PRICE);
+
+        assertThat(cache.get("everlook")).isNull();
+        assertThat(((Cache<?, ?>) cache.getNativeCache()).estimatedSize()).isZero();
+    }
+
+    @Test
+    void cache_doesNotServeValueLoadedWhileVersionChanged() {
+        when(dataVersionJdbcRepository.bump(Dataset.GOLD_PRICE)).thenReturn(1L);
+
+        Integer loaded = cache.get("everlook", () -> {
+            underTest.bump(Dataset.GOLD_PRICE);
+            return 1;
+        });
+
+        assertThat(loaded).isEqualTo(1);
+        assertThat(cache.get("everlook")).isNull();
+    }
+
+    @Test
+    void refresh_picksUpVersionsBumpedByOtherNodes_butNeverGoesBack() {
+        when(dataVersionJdbcRepository.findAll())
+                .thenReturn(Map.of(Dataset.POPULATION, 5L))
+                .thenReturn(Map.of(Dataset.POPULATION, 3L));
+
+        underTest.refresh();
+        underTest.refresh();
+
+        assertThat(underTest.current(Dataset.POPULATION)).isEqualTo(5);
+        assertThat(underTest.current(Dataset.GOLD_PRICE)).isEqualTo(-1);
+    }
+
+    @Test
+    void refresh_runsListenerBeforeMovingToVersionBumpedByAnotherNode() {
+        when(dataVersionJdbcRepository.bump(Dataset.ITEM_PRICE)).thenReturn(1L);
+        underTest.bump(Dataset.ITEM_PRICE);
+        List<Long> seenVersions = new ArrayList<>();
+        underTest.onChange(Dataset.ITEM_PRICE, () -> seenVersions.add(underTest.current(Dataset.ITEM_PRICE)));
+        when(dataVersionJdbcRepository.findAll())
+                .thenReturn(Map.of(Dataset.ITEM_PRICE, 1L))
+                .thenReturn(Map.of(Dataset.ITEM_PRICE, 2L));
+
+        underTest.refresh();
+        underTest.refresh();
+
+        assertThat(seenVersions).containsExactly(1L);
+        assertThat(underTest.current(Dataset.ITEM_PRICE)).isEqualTo(2);
+    }
+
+    @Test
+    void refresh_keepsVersion_untilListenerSucceeds() {
+        AtomicInteger reloads = new AtomicInteger();
+        underTest.onChange(Dataset.ITEM_PRICE, () -> {
+            if (reloads.incrementAndGet() == 1) {
+                throw new IllegalStateException("reload failed");
+            }
+        });
+        when(dataVersionJdbcRepository.findAll()).thenReturn(Map.of(Dataset.ITEM_PRICE, 3L));
+
+        underTest.refresh();
+        assertThat(underTest.current(Dataset.ITEM_PRICE)).isEqualTo(-1);
+        underTest.refresh();
+
+        assertThat(reloads).hasValue(2);
+        assertThat(underTest.current(Dataset.ITEM_PRICE)).isEqualTo(3);
+    }
+}
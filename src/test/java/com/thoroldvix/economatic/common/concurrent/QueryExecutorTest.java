@@ -0,0 +1,130 @@
+package com.thoroldvix.economatic.common.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class QueryExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private QueryExecutor underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new QueryExecutor(transactionManager, new QueryExecutorProp(2, 0, Duration.ofSeconds(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    void submit_runsQueriesInParallel() {
+        CountDownLatch started = new CountDownLatch(2);
+        QueryExecutor.PendingQuery<Boolean> first = underTest.submit(() -> awaitOther(started));
+        QueryExecutor.PendingQuery<Boolean> second = underTest.submit(() -> awaitOther(started));
+
+        assertThat(first.join()).isTrue();
+        assertThat(second.join()).isTrue();
+    }
+
+    @Test
+    void submit_runsEachQueryInReadOnlyTransaction() {
+        underTest.submit(() -> 1).join();
+        underTest.submit(() -> 2).join();
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definition.capture());
+        assertThat(definition.getAllValues()).allMatch(TransactionDefinition::isReadOnly);
+    }
+
+    @Test
+    void join_rethrowsRuntimeExceptionOfQuery() {
+        QueryExecutor.PendingQuery<Object> query = underTest.submit(() -> {
+            throw new IllegalStateException("failed");
+        });
+
+        assertThatThrownBy(query::join)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("failed");
+    }
+
+    @Test
+    void join_throwsQueryExecutionException_whenQueryTimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        QueryExecutor.PendingQuery<Boolean> query = underTest.submit(() -> await(release));
+
+        assertThatThrownBy(query::join)
+                .isInstanceOf(QueryExecutionException.class);
+    }
+
+    @Test
+    void join_interruptsQuery_whenQueryTimesOut() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        QueryExecutor.PendingQuery<Boolean> query = underTest.submit(() -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return true;
+        });
+
+        assertThatThrownBy(query::join)
+                .isInstanceOf(QueryExecutionException.class);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void submit_givesTransactionOfQueryTheQueryTimeout() {
+        underTest.submit(() -> 1).join();
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getTimeout()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_runsQueryOnCallerThread_whenPoolIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        underTest.submit(() -> await(release));
+        underTest.submit(() -> await(release));
+
+        QueryExecutor.PendingQuery<String> query = underTest.submit(() -> Thread.currentThread().getName());
+
+        assertThat(query.join()).isEqualTo(Thread.currentThread().getName());
+        release.countDown();
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        return await(latch);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.thoroldvix.economatic.common.http;
+
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConditionalRequestsTest {
+
+    private static final String RESOURCE = "nexushub:everlook-alliance";
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Mon, 01 May 2023 12:00:00 GMT";
+
+    private final ConditionalRequests underTest = new ConditionalRequests();
+    private final List<Map<String, String>> sentHeaders = new ArrayList<>();
+    private final List<String> handledBodies = new ArrayList<>();
+
+    @Test
+    void fetch_sendsRememberedValidators_andSkipsNotModifiedResponse() throws IOException {
+        underTest.fetch(RESOURCE, respond(200, "prices",
+                Map.of("ETag", List.of(ETAG), "Last-Modified", List.of(LAST_MODIFIED))), this::handle);
+
+        boolean handled = underTest.fetch(RESOURCE, respond(304, null, Map.of()), this::handle);
+
+        assertThat(handled).isFalse();
+        assertThat(sentHeaders).containsExactly(Map.of(),
+                Map.of("If-None-Match", ETAG, "If-Modified-Since", LAST_MODIFIED));
+        assertThat(handledBodies).containsExactly("prices");
+    }
+
+    @Test
+    void fetch_skipsBodyWithSameHash_whenUpstreamSendsNoValidators() throws IOException {
+        underTest.fetch(RESOURCE, respond(200, "prices", Map.of()), this::handle);
+
+        boolean sameHandled = underTest.fetch(RESOURCE, respond(200, "prices", Map.of()), this::handle);
+        boolean changedHandled = underTest.fetch(RESOURCE, respond(200, "new prices", Map.of()), this::handle);
+
+        assertThat(sameHandled).isFalse();
+        assertThat(changedHandled).isTrue();
+        assertThat(sentHeaders).containsOnly(Map.of());
+        assertThat(handledBodies).containsExactly("prices", "new prices");
+    }
+
+    @Test
+    void fetch_doesNotRememberValidators_whenHandlerFails() throws IOException {
+        assertThatThrownBy(() -> underTest.fetch(RESOURCE, respond(200, "prices", Map.of("ETag", List.of(ETAG))), body -> {
+            throw new IllegalStateException("write failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        boolean handled = underTest.fetch(RESOURCE, respond(200, "prices", Map.of("ETag", List.of(ETAG))), this::handle);
+
+        assertThat(handled).isTrue();
+        assertThat(sentHeaders).containsOnly(Map.of());
+    }
+
+    @Test
+    void fetch_keepsValidatorsOfEveryResourceApart() throws IOException {
+        underTest.fetch(RESOURCE, respond(200, "prices", Map.of("ETag", List.of(ETAG))), this::handle);
+
+        underTest.fetch("nexushub:gehennas-horde", respond(200, "prices", Map.of()), this::handle);
+
+        assertThat(sentHeaders).containsOnly(Map.of());
+    }
+
+    @Test
+    void fetch_throwsUpstreamResponseException_whenStatusIsUnexpected() {
+        assertThatThrownBy(() -> underTest.fetch(RESOURCE, respond(503, "unavailable", Map.of()), this::handle))
+                .isInstanceOf(UpstreamResponseException.class)
+                .hasMessage("Unexpected response status 503 for " + RESOURCE);
+        assertThat(handledBodies).isEmpty();
+    }
+
+    private ConditionalRequests.Request respond(int status, String body, Map<String, Collection<String>> headers) {
+        return requestHeaders -> {
+            sentHeaders.add(requestHeaders);
+            return Response.builder()
+                    .status(status)
+                    .request(Request.create(Request.HttpMethod.GET, "https://upstream/prices", Map.of(), null,
+                            StandardCharsets.UTF_8, null))
+                    .headers(headers)
+                    .body(body, StandardCharsets.UTF_8)
+                    .build();
+        };
+    }
+
+    private void handle(InputStream body) throws IOException {
+        handledBodies.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+    }
+}
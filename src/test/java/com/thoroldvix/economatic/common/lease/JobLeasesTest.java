@@ -0,0 +1,67 @@
+package com.thoroldvix.economatic.common.lease;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobLeasesTest {
+
+    private static final String OWNER = "node-1";
+    private static final Duration TTL = Duration.ofSeconds(60);
+
+    @Mock
+    private LeaseJdbcRepository leaseJdbcRepository;
+    private JobLeases underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new JobLeases(leaseJdbcRepository, new LeaseProp(TTL, Duration.ofSeconds(15)), OWNER);
+    }
+
+    @Test
+    void tryAcquire_returnsFalse_whenAnotherNodeHoldsLease() {
+        when(leaseJdbcRepository.tryAcquire("gold-price-update", OWNER, TTL)).thenReturn(false);
+
+        assertThat(underTest.tryAcquire("gold-price-update")).isFalse();
+        underTest.renew();
+
+        verify(leaseJdbcRepository, never()).renew(anyCollection(), any(), any());
+    }
+
+    @Test
+    void renew_renewsAcquiredLeases_andForgetsLostOnes() {
+        when(leaseJdbcRepository.tryAcquire(any(), eq(OWNER), eq(TTL))).thenReturn(true);
+        underTest.tryAcquire("gold-price-update");
+        underTest.tryAcquire("population-update");
+        when(leaseJdbcRepository.renew(Set.of("gold-price-update", "population-update"), OWNER, TTL))
+                .thenReturn(List.of("gold-price-update"));
+        underTest.renew();
+        when(leaseJdbcRepository.renew(Set.of("gold-price-update"), OWNER, TTL)).thenReturn(List.of("gold-price-update"));
+
+        underTest.renew();
+
+        verify(leaseJdbcRepository).renew(Set.of("gold-price-update"), OWNER, TTL);
+    }
+
+    @Test
+    void releaseAll_releasesLeasesOfThisNode() {
+        underTest.releaseAll();
+
+        verify(leaseJdbcRepository).release(OWNER);
+    }
+}
@@ -0,0 +1,91 @@
+package com.thoroldvix.economatic.common.ratelimit;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.FeignException;
+import feign.RequestLine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveRateLimitCapabilityTest {
+
+    private static final int ALLOWED_PER_SECOND = 40;
+
+    private final Deque<Long> accepted = new ArrayDeque<>();
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private StubClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/prices", exchange -> {
+            int status = throttle() ? 429 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitProp rateLimitProp = new RateLimitProp(160, 1, 320, 4, 0.5, 10, Duration.ofMillis(100));
+        client = Feign.builder()
+                .addCapability(new AdaptiveRateLimitCapability(rateLimitProp, meterRegistry))
+                .target(StubClient.class, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void enrich_backsOffToRateAllowedByThrottlingUpstream() {
+        int throttledAtStart = countThrottled(80);
+        int throttledAtEnd = countThrottled(40);
+
+        double rate = meterRegistry.get("economatic.rate-limit.rate").tag("host", "localhost").gauge().value();
+        assertThat(throttledAtStart).isPositive();
+        assertThat(throttledAtEnd).isLessThan(throttledAtStart);
+        assertThat(rate).isLessThan(2.0 * ALLOWED_PER_SECOND);
+    }
+
+    private int countThrottled(int requests) {
+        int throttled = 0;
+        for (int i = 0; i < requests; i++) {
+            try {
+                client.getPrices();
+            } catch (FeignException.TooManyRequests e) {
+                throttled++;
+            }
+        }
+        return throttled;
+    }
+
+    private synchronized boolean throttle() {
+        long now = System.nanoTime();
+        while (!accepted.isEmpty() && now - accepted.peekFirst() > Duration.ofSeconds(1).toNanos()) {
+            accepted.pollFirst();
+        }
+        if (accepted.size() >= ALLOWED_PER_SECOND) {
+            return true;
+        }
+        accepted.addLast(now);
+        return false;
+    }
+
+    interface StubClient {
+
+        @RequestLine("GET /prices")
+        void getPrices();
+    }
+}
@@ -0,0 +1,103 @@
+package com.thoroldvix.economatic.common.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveRateLimiterTest {
+
+    private static final Duration FAST = Duration.ofMillis(100);
+    private static final RateLimitProp PROP = new RateLimitProp(4, 1, 10, 1, 0.5, 3, Duration.ofSeconds(1));
+
+    private long now;
+    private AdaptiveRateLimiter underTest;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        underTest = new AdaptiveRateLimiter(PROP, () -> now);
+    }
+
+    @Test
+    void onResponse_increasesRateAdditively_whenResponsesAreHealthy() {
+        underTest.onResponse(200, FAST);
+        underTest.onResponse(200, FAST);
+
+        assertThat(underTest.rate()).isEqualTo(4 + 0.25 + 1 / 4.25);
+    }
+
+    @Test
+    void onResponse_capsRateAtMaxRate() {
+        for (int i = 0; i < 1000; i++) {
+            underTest.onResponse(200, FAST);
+        }
+
+        assertThat(underTest.rate()).isEqualTo(10);
+    }
+
+    @Test
+    void onResponse_halvesRate_whenThrottled() {
+        underTest.onResponse(429, FAST);
+
+        assertThat(underTest.rate()).isEqualTo(2);
+    }
+
+    @Test
+    void onResponse_halvesRate_whenServerFails() {
+        underTest.onResponse(503, FAST);
+
+        assertThat(underTest.rate()).isEqualTo(2);
+    }
+
+    @Test
+    void onResponse_keepsRate_whenClientErrorIsNotThrottling() {
+        underTest.onResponse(404, FAST);
+
+        assertThat(underTest.rate()).isGreaterThan(4);
+    }
+
+    @Test
+    void onFailure_decreasesOncePerCooldown() {
+        underTest.onFailure();
+        underTest.onFailure();
+        now += Duration.ofMillis(999).toNanos();
+        underTest.onFailure();
+
+        assertThat(underTest.rate()).isEqualTo(2);
+
+        now += Duration.ofMillis(1).toNanos();
+        underTest.onFailure();
+
+        assertThat(underTest.rate()).isEqualTo(1);
+    }
+
+    @Test
+    void onFailure_doesNotGoBelowMinRate() {
+        for (int i = 0; i < 10; i++) {
+            underTest.onFailure();
+            now += Duration.ofSeconds(1).toNanos();
+        }
+
+        assertThat(underTest.rate()).isEqualTo(1);
+    }
+
+    @Test
+    void onResponse_decreasesRate_whenLatencyRisesAboveTolerance() {
+        underTest.onResponse(200, FAST);
+        double rate = underTest.rate();
+
+        underTest.onResponse(200, FAST.multipliedBy(4));
+
+        assertThat(underTest.rate()).isEqualTo(rate / 2);
+    }
+
+    @Test
+    void rateLimitProp_throwsInvalidRateLimitPropertyException_whenInitialRateIsOutOfBounds() {
+        assertThatThrownBy(() -> new RateLimitProp(20, 1, 10, 1, 0.5, 3, Duration.ZERO))
+                .isInstanceOf(InvalidRateLimitPropertyException.class);
+    }
+}
@@ -6,6 +6,7 @@ import com.thoroldvix.economatic.item.ItemQuality;
 import com.thoroldvix.economatic.item.ItemSlot;
 import com.thoroldvix.economatic.item.ItemType;
 import com.thoroldvix.economatic.itemprice.ItemPrice;
+import com.thoroldvix.economatic.itemprice.ItemPriceLatest;
 import com.thoroldvix.economatic.server.Faction;
 import com.thoroldvix.economatic.server.Region;
 import com.thoroldvix.economatic.server.Server;
@@ -22,6 +23,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Locale;
 
@@ -33,6 +35,7 @@ import static org.assertj.core.api.Assertions.tuple;
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class ItemDealsRepositoryTest implements PostgresqlContainerInitializer {
 
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 5, 1, 12, 0);
     private static final String[] ITEM_DEALS_PROJECTION_FIELDS = new String[]{
             "itemId",
             "uniqueServerName",
@@ -68,11 +71,11 @@ class ItemDealsRepositoryTest implements PostgresqlContainerInitializer {
 
         persistAll(List.of(item1, item2, item3, item4, item5));
 
-        ItemPrice itemPrice1 = buildItemPrice(item1, 2, 5, 6, 12, server1);
-        ItemPrice itemPrice2 = buildItemPrice(item2, 10, 20, 2, 4, server2);
-        ItemPrice itemPrice3 = buildItemPrice(item3, 5, 40, 1, 1, server1);
-        ItemPrice itemPrice4 = buildItemPrice(item4, 400, 900, 60, 120, server1);
-        ItemPrice itemPrice5 = buildItemPrice(item5, 10000, 300, 5, 20, server1);
+        ItemPriceLatest itemPrice1 = buildItemPrice(item1, 2, 5, 6, 12, server1, NOW);
+        ItemPriceLatest itemPrice2 = buildItemPrice(item2, 10, 20, 2, 4, server2, NOW);
+        ItemPriceLatest itemPrice3 = buildItemPrice(item3, 5, 40, 1, 1, server1, NOW.minusHours(2));
+        ItemPriceLatest itemPrice4 = buildItemPrice(item4, 400, 900, 60, 120, server1, NOW);
+        ItemPriceLatest itemPrice5 = buildItemPrice(item5, 10000, 300, 5, 20, server1, NOW);
 
         persistAll(List.of(itemPrice1, itemPrice2, itemPrice3, itemPrice4, itemPrice5));
 
@@ -145,18 +148,41 @@ class ItemDealsRepositoryTest implements PostgresqlContainerInitializer {
                 .doesNotContain(itemPrice5Tuple);
     }
 
-    private ItemPrice buildItemPrice(Item item3, long minBuyout, long marketValue, int numAuctions, int quantity, Server server) {
-        return ItemPrice.builder()
+    @Test
+    void findDealsForServer_includesItemsUnchangedInLatestSnapshot() {
+        ItemPrice changedPrice = ItemPrice.builder()
+                .server(entityManager.find(Server.class, 1))
+                .item(entityManager.find(Item.class, 1))
+                .minBuyout(2)
+                .marketValue(5)
+                .numAuctions(6)
+                .quantity(12)
+                .updatedAt(NOW)
+                .build();
+        entityManager.persist(changedPrice);
+
+        List<ItemDealProjection> dealsForServer = itemDealsRepository.findDealsForServer(1, 1, 0, 5);
+        assertThat(dealsForServer)
+                .extracting(ITEM_DEALS_PROJECTION_FIELDS)
+                .contains(itemPrice3Tuple);
+    }
+
+    private ItemPriceLatest buildItemPrice(Item item, long minBuyout, long marketValue, int numAuctions, int quantity,
+                                           Server server, LocalDateTime updatedAt) {
+        return ItemPriceLatest.builder()
+                .serverId(server.getId())
+                .itemId(item.getId())
                 .server(server)
-                .item(item3)
+                .item(item)
                 .minBuyout(minBuyout)
                 .marketValue(marketValue)
                 .numAuctions(numAuctions)
                 .quantity(quantity)
+                .updatedAt(updatedAt)
                 .build();
     }
 
-    private Tuple getTupleForItemPrice(ItemPrice itemPrice, long dealDiff, double discountPercentage) {
+    private Tuple getTupleForItemPrice(ItemPriceLatest itemPrice, long dealDiff, double discountPercentage) {
         return tuple(itemPrice.getItem().getId(),
                 itemPrice.getServer().getUniqueName(),
                 itemPrice.getMarketValue(),
@@ -9,8 +9,11 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -75,6 +78,24 @@ class GoldPriceDeserializerTest {
         );
     }
 
+    private static Stream<Arguments> provideInvalidJsonForTesting() {
+        return Stream.of(
+                Arguments.of("""
+                        {"payload": {"results": [
+                        {"title": "Giantstalker [EU] - Horde", "converted_unit_price": "n/a"}
+                        ]}}""", "converted_unit_price"),
+                Arguments.of("""
+                        {"payload": {"results": [
+                        {"title": "Giantstalker [EU] - Horde", "converted_unit_price": {}}
+                        ]}}""", "converted_unit_price"),
+                Arguments.of("""
+                        {"payload": {"results": [
+                        {"title": "Giantstalker [EU] - Horde", "converted_unit_price": 0.000624},
+                        1
+                        ]}}""", "results")
+        );
+    }
+
     @Test
     void deserialize_returnsListOfGoldPriceResponse() throws IOException {
         JsonParser jp = MAPPER.getFactory().createParser(JSON);
@@ -118,4 +139,78 @@ class GoldPriceDeserializerTest {
                 .isInstanceOf(GoldPriceParsingException.class)
                 .hasMessage("Received JSON doesn't contain expected node: " + expectedMessage);
     }
-}
\ No newline at end of file
+
+    @Test
+    void parse_streamsPricesFromResponseBody() {
+        InputStream body = new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8));
+
+        List<GoldPriceResponse> actual = deserializer.parse(body);
+
+        assertThat(actual).containsExactly(
+                GoldPriceResponse.builder().price(new BigDecimal("0.000624")).server("giantstalker-horde").build(),
+                GoldPriceResponse.builder().price(new BigDecimal("0.000745")).server("whitemane-alliance").build());
+    }
+
+    @Test
+    void extractPricesFromJson_skipsUnknownFieldsAndNormalizesServerNames() {
+        String json = """
+                {"code": 2000, "payload": {"page_size": 96, "results": [
+                {"offer": {"attributes": [{"title": "Ignored - Horde"}]}, "title": "Zul'jin [US] - Horde",
+                "converted_unit_price": 0.0012},
+                {"title": "Pyrewood Village [EU] - Alliance", "converted_unit_price": 0.0009}
+                ]}}""";
+
+        List<GoldPriceResponse> actual = deserializer.extractPricesFromJson(json);
+
+        assertThat(actual).extracting(GoldPriceResponse::server)
+                .containsExactly("zuljin-horde", "pyrewood-village-alliance");
+    }
+
+    @Test
+    void extractPricesFromJson_returnsSameServerNames_whenTitlesRepeat() {
+        List<GoldPriceResponse> first = deserializer.extractPricesFromJson(JSON);
+        List<GoldPriceResponse> second = deserializer.extractPricesFromJson(JSON);
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void extractPricesFromJson_returnsEmptyList_whenResultsIsNotArray() {
+        assertThat(deserializer.extractPricesFromJson("{\"payload\": {\"results\": {}}}")).isEmpty();
+    }
+
+    @Test
+    void extractPricesFromJsonAndDeserialize_readStringTypedPrice() throws IOException {
+        String json = """
+                {"payload": {"results": [{"title": "Giantstalker [EU] - Horde", "converted_unit_price": "0.000624"}]}}""";
+        List<GoldPriceResponse> expected = List.of(
+                GoldPriceResponse.builder().price(new BigDecimal("0.000624")).server("giantstalker-horde").build());
+
+        assertThat(deserializer.extractPricesFromJson(json)).isEqualTo(expected);
+        assertThat(deserializer.deserialize(MAPPER.getFactory().createParser(json), MAPPER.getDeserializationContext()))
+                .isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidJsonForTesting")
+    void extractPricesFromJsonAndDeserialize_throwSameException_whenNodeInvalid(String json, String expectedNode)
+            throws IOException {
+        JsonParser jp = MAPPER.getFactory().createParser(json);
+        DeserializationContext ctxt = MAPPER.getDeserializationContext();
+
+        assertThatThrownBy(() -> deserializer.extractPricesFromJson(json))
+                .isInstanceOf(GoldPriceParsingException.class)
+                .hasMessage("Received JSON contains invalid node: " + expectedNode);
+        assertThatThrownBy(() -> deserializer.deserialize(jp, ctxt))
+                .isInstanceOf(GoldPriceParsingException.class)
+                .hasMessage("Received JSON contains invalid node: " + expectedNode);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideJsonForTesting")
+    void extractPricesFromJson_throwsGoldPriceParsingException_whenNodeNotValid(String json, String expectedMessage) {
+        assertThatThrownBy(() -> deserializer.extractPricesFromJson(json))
+                .isInstanceOf(GoldPriceParsingException.class)
+                .hasMessage("Received JSON doesn't contain expected node: " + expectedMessage);
+    }
+}
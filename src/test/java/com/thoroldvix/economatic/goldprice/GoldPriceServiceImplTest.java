@@ -2,6 +2,7 @@ package com.thoroldvix.economatic.goldprice;
 
 import com.thoroldvix.economatic.common.dto.PaginationInfo;
 import com.thoroldvix.economatic.common.dto.TimeRange;
+import com.thoroldvix.economatic.common.timeseries.TimeSeriesJdbcWriter;
 import com.thoroldvix.economatic.search.SearchCriteria;
 import com.thoroldvix.economatic.search.SearchRequest;
 import com.thoroldvix.economatic.server.*;
@@ -15,6 +16,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -26,6 +28,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -54,6 +57,10 @@ class GoldPriceServiceImplTest {
     private GoldPriceRepository goldPriceRepository;
     @Mock
     private GoldPriceMapper goldPriceMapper;
+    @Mock
+    private TimeSeriesJdbcWriter timeSeriesJdbcWriter;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private GoldPriceServiceImpl goldPriceServiceImpl;
@@ -367,9 +374,31 @@ class GoldPriceServiceImplTest {
     }
 
     @Test
-    void saveAll_savesPricesToDB() {
-        goldPriceServiceImpl.saveAll(prices);
-        verify(goldPriceRepository, times(1)).saveAll(prices);
+    void saveAll_insertsPricesWithOneSnapshotTime() {
+        GoldPrice price1 = GoldPrice.builder().value(BigDecimal.valueOf(0.1)).server(createServer(1, Region.EU, Faction.ALLIANCE)).build();
+        GoldPrice price2 = GoldPrice.builder().value(BigDecimal.valueOf(0.2)).server(createServer(2, Region.US, Faction.HORDE)).build();
+        when(timeSeriesJdbcWriter.insert(eq(TimeSeriesJdbcWriter.Series.GOLD_PRICE), any(),
+                eq(Map.of(1, BigDecimal.valueOf(0.1), 2, BigDecimal.valueOf(0.2))))).thenReturn(Map.of(1, 10L, 2, 11L));
+
+        goldPriceServiceImpl.saveAll(List.of(price1, price2));
+
+        assertThat(List.of(price1, price2)).extracting(GoldPrice::getId).containsExactly(10L, 11L);
+        assertThat(price1.getUpdatedAt()).isNotNull().isEqualTo(price2.getUpdatedAt());
+        verify(goldPriceRepository, never()).saveAll(any());
+        verify(eventPublisher).publishEvent(new GoldPricesSavedEvent(List.of(price1, price2)));
+    }
+
+    @Test
+    void saveAll_keepsLastPrice_whenServerRepeats() {
+        Server server = createServer(1, Region.EU, Faction.ALLIANCE);
+        GoldPrice first = GoldPrice.builder().value(BigDecimal.valueOf(0.1)).server(server).build();
+        GoldPrice last = GoldPrice.builder().value(BigDecimal.valueOf(0.2)).server(server).build();
+        when(timeSeriesJdbcWriter.insert(eq(TimeSeriesJdbcWriter.Series.GOLD_PRICE), any(),
+                eq(Map.of(1, BigDecimal.valueOf(0.2))))).thenReturn(Map.of(1, 10L));
+
+        goldPriceServiceImpl.saveAll(List.of(first, last));
+
+        assertThat(List.of(first, last)).extracting(GoldPrice::getId).containsExactly(10L, 10L);
     }
 
     @ParameterizedTest
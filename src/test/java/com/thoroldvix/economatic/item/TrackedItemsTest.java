@@ -0,0 +1,51 @@
+package com.thoroldvix.economatic.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrackedItemsTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Test
+    void contains_returnsTrueOnlyForItemsInCatalog() {
+        when(itemRepository.findAllIds()).thenReturn(List.of(2589, 36908));
+
+        TrackedItems underTest = new TrackedItems(itemRepository);
+
+        assertThat(underTest.contains(2589)).isTrue();
+        assertThat(underTest.contains(36908)).isTrue();
+        assertThat(underTest.contains(2590)).isFalse();
+        assertThat(underTest.contains(100_000)).isFalse();
+        assertThat(underTest.contains(-1)).isFalse();
+    }
+
+    @Test
+    void onItemAdded_tracksNewItem() {
+        TrackedItems underTest = TrackedItems.of(List.of(2589));
+
+        underTest.onItemAdded(new ItemAddedEvent(50_000));
+
+        assertThat(underTest.contains(50_000)).isTrue();
+        assertThat(underTest.contains(2589)).isTrue();
+    }
+
+    @Test
+    void onItemDeleted_stopsTrackingItem() {
+        TrackedItems underTest = TrackedItems.of(List.of(2589, 36908));
+
+        underTest.onItemDeleted(new ItemDeletedEvent(2589));
+
+        assertThat(underTest.contains(2589)).isFalse();
+        assertThat(underTest.contains(36908)).isTrue();
+    }
+}
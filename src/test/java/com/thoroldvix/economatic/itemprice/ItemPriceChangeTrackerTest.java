@@ -0,0 +1,185 @@
+package com.thoroldvix.economatic.itemprice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemPriceChangeTrackerTest {
+
+    private static final int SERVER_ID = 41003;
+    private static final LocalDateTime MORNING = LocalDate.now().atTime(3, 0);
+    private static final LocalDateTime NOON = LocalDate.now().atTime(12, 0);
+    private static final LocalDateTime EVENING = LocalDate.now().atTime(18, 0);
+    private static final NexusHubResponse.NexusHubPrice FIRST = new NexusHubResponse.NexusHubPrice(1, 10, 10, 10, 1, 1);
+    private static final NexusHubResponse.NexusHubPrice SECOND = new NexusHubResponse.NexusHubPrice(2, 20, 20, 20, 2, 2);
+    private static final NexusHubResponse.NexusHubPrice THIRD = new NexusHubResponse.NexusHubPrice(3, 30, 30, 30, 3, 3);
+    private static final NexusHubResponse.NexusHubPrice SECOND_CHANGED = new NexusHubResponse.NexusHubPrice(2, 21, 20, 20, 2, 2);
+
+    @Mock
+    private ItemPriceSnapshotJdbcRepository itemPriceSnapshotJdbcRepository;
+    private ItemPriceChangeTracker underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ItemPriceChangeTracker(itemPriceSnapshotJdbcRepository);
+    }
+
+    @Test
+    void changed_returnsEveryPrice_forFirstSnapshotOfDay() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of());
+
+        List<NexusHubResponse.NexusHubPrice> changed = underTest.changed(SERVER_ID, MORNING, List.of(FIRST, SECOND));
+
+        assertThat(changed).containsExactly(FIRST, SECOND);
+        assertThat(underTest.snapshot(SERVER_ID, MORNING).full()).isTrue();
+    }
+
+    @Test
+    void changed_returnsOnlyChangedPrices_afterFullSnapshotIsCommitted() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of());
+        completeSnapshot(MORNING, FIRST, SECOND);
+
+        List<NexusHubResponse.NexusHubPrice> changed = underTest.changed(SERVER_ID, NOON, List.of(FIRST, SECOND_CHANGED, THIRD));
+        ItemPriceChangeTracker.Snapshot snapshot = underTest.snapshot(SERVER_ID, NOON);
+
+        assertThat(changed).containsExactly(SECOND_CHANGED, THIRD);
+        assertThat(snapshot.full()).isFalse();
+        assertThat(snapshot.stored()).isEqualTo(2);
+        assertThat(snapshot.received()).isEqualTo(3);
+        assertThat(snapshot.removedItemIds()).isEmpty();
+    }
+
+    @Test
+    void snapshot_reportsItemsMissingSincePreviousSnapshot() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of());
+        completeSnapshot(MORNING, FIRST, SECOND, THIRD);
+
+        underTest.changed(SERVER_ID, NOON, List.of(SECOND));
+
+        assertThat(underTest.snapshot(SERVER_ID, NOON).removedItemIds()).containsExactlyInAnyOrder(1, 3);
+    }
+
+    @Test
+    void changed_storesReappearingItem_evenWhenPriceIsUnchanged() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of());
+        completeSnapshot(MORNING, FIRST, SECOND);
+        completeSnapshot(NOON, SECOND);
+
+        List<NexusHubResponse.NexusHubPrice> changed = underTest.changed(SERVER_ID, EVENING, List.of(FIRST, SECOND));
+
+        assertThat(changed).containsExactly(FIRST);
+    }
+
+    @Test
+    void changed_comparesWithCommittedState_whenPreviousAttemptWasDiscarded() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of());
+        completeSnapshot(MORNING, FIRST, SECOND);
+        underTest.changed(SERVER_ID, NOON, List.of(FIRST, SECOND_CHANGED));
+        underTest.discard(SERVER_ID, NOON);
+
+        List<NexusHubResponse.NexusHubPrice> changed = underTest.changed(SERVER_ID, EVENING, List.of(FIRST, SECOND_CHANGED));
+
+        assertThat(changed).containsExactly(SECOND_CHANGED);
+    }
+
+    @Test
+    void changed_comparesWithCommittedState_whenPreviousSnapshotWasNotCommitted() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of());
+        completeSnapshot(MORNING, FIRST, SECOND);
+        underTest.changed(SERVER_ID, NOON, List.of(FIRST, SECOND_CHANGED));
+        underTest.snapshot(SERVER_ID, NOON);
+
+        List<NexusHubResponse.NexusHubPrice> changed = underTest.changed(SERVER_ID, EVENING, List.of(FIRST, SECOND_CHANGED));
+
+        assertThat(changed).containsExactly(SECOND_CHANGED);
+        assertThat(underTest.snapshot(SERVER_ID, EVENING).full()).isFalse();
+    }
+
+    @Test
+    void changed_returnsEveryPrice_forFirstSnapshotOfNextDay() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of());
+        completeSnapshot(MORNING, FIRST, SECOND);
+
+        List<NexusHubResponse.NexusHubPrice> changed = underTest.changed(SERVER_ID, MORNING.plusDays(1), List.of(FIRST, SECOND));
+
+        assertThat(changed).containsExactly(FIRST, SECOND);
+    }
+
+    @Test
+    void load_rebuildsStoredStateFromDatabase() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of(SERVER_ID, MORNING));
+        doAnswer(invocation -> {
+            ObjIntConsumer<NexusHubResponse.NexusHubPrice> consumer = invocation.getArgument(1);
+            consumer.accept(FIRST, SERVER_ID);
+            consumer.accept(SECOND, SERVER_ID);
+            return null;
+        }).when(itemPriceSnapshotJdbcRepository).findStoredPrices(any(), any());
+
+        underTest.load();
+        List<NexusHubResponse.NexusHubPrice> changed = underTest.changed(SERVER_ID, NOON, List.of(FIRST, SECOND_CHANGED));
+
+        assertThat(changed).containsExactly(SECOND_CHANGED);
+        assertThat(underTest.snapshot(SERVER_ID, NOON).full()).isFalse();
+    }
+
+    @Test
+    void sync_keepsState_whenLatestStoredSnapshotWasCommittedHere() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of());
+        completeSnapshot(MORNING, FIRST, SECOND);
+
+        boolean dropped = underTest.sync(SERVER_ID, MORNING);
+        List<NexusHubResponse.NexusHubPrice> changed = underTest.changed(SERVER_ID, NOON, List.of(FIRST, SECOND_CHANGED));
+
+        assertThat(dropped).isFalse();
+        assertThat(changed).containsExactly(SECOND_CHANGED);
+    }
+
+    @Test
+    void sync_dropsState_whenAnotherNodeStoredNewerSnapshot() {
+        when(itemPriceSnapshotJdbcRepository.findLastFullSnapshotTimes()).thenReturn(Map.of());
+        completeSnapshot(MORNING, FIRST, SECOND);
+
+        boolean dropped = underTest.sync(SERVER_ID, NOON);
+        List<NexusHubResponse.NexusHubPrice> changed = underTest.changed(SERVER_ID, EVENING, List.of(FIRST, SECOND));
+        ItemPriceChangeTracker.Snapshot snapshot = underTest.snapshot(SERVER_ID, EVENING);
+
+        assertThat(dropped).isTrue();
+        assertThat(changed).containsExactly(FIRST, SECOND);
+        assertThat(snapshot.full()).isTrue();
+        assertThat(snapshot.removedItemIds()).isEmpty();
+    }
+
+    @Test
+    void fingerprint_differsForEveryChangedField() {
+        NexusHubResponse.NexusHubPrice price = new NexusHubResponse.NexusHubPrice(1, 100, 200, 300, 4, 5);
+
+        assertThat(List.of(
+                new NexusHubResponse.NexusHubPrice(1, 101, 200, 300, 4, 5),
+                new NexusHubResponse.NexusHubPrice(1, 100, 201, 300, 4, 5),
+                new NexusHubResponse.NexusHubPrice(1, 100, 200, 301, 4, 5),
+                new NexusHubResponse.NexusHubPrice(1, 100, 200, 300, 5, 5),
+                new NexusHubResponse.NexusHubPrice(1, 100, 200, 300, 4, 6)))
+                .extracting(ItemPriceChangeTracker::fingerprint)
+                .doesNotContain(ItemPriceChangeTracker.fingerprint(price));
+    }
+
+    private void completeSnapshot(LocalDateTime snapshotTime, NexusHubResponse.NexusHubPrice... prices) {
+        underTest.changed(SERVER_ID, snapshotTime, List.of(prices));
+        underTest.snapshot(SERVER_ID, snapshotTime);
+        underTest.commit(SERVER_ID, snapshotTime);
+    }
+}
@@ -0,0 +1,154 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.PostgresqlContainerInitializer;
+import com.thoroldvix.economatic.UpstreamStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs complete item price updates against a local stub of NexusHub and a Testcontainers PostgreSQL, reporting stored
+ * rows per second, p99 latency of a single server and peak heap usage. Every round the stub publishes new prices for all
+ * 17 800 tracked items of all 96 servers, delays each response and fails some of them, so the numbers include retries.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "economatic.update-on-startup=false",
+        "economatic.item-price.server-retry-backoff=1",
+        "economatic.rate-limit.initial-rate=1000",
+        "economatic.rate-limit.max-rate=1000"
+})
+class ItemPriceIngestionBenchmarkTest implements PostgresqlContainerInitializer {
+
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(100);
+    private static final double UPSTREAM_ERROR_RATE = 0.02;
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int MEASURED_ROUNDS = 3;
+
+    private static final UpstreamStubServer STUB = startStub();
+
+    @Autowired
+    private ItemPriceUpdateService itemPriceUpdateService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static UpstreamStubServer startStub() {
+        try {
+            return UpstreamStubServer.builder()
+                    .latency(UPSTREAM_LATENCY)
+                    .errorRate(UPSTREAM_ERROR_RATE)
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void setUpstreamUrls(DynamicPropertyRegistry registry) {
+        registry.add("economatic.upstream.nexushub-url", STUB::nexusHubUrl);
+        registry.add("economatic.upstream.g2g-url", STUB::g2gUrl);
+        registry.add("economatic.upstream.warcraft-tavern-url", STUB::warcraftTavernUrl);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        STUB.close();
+    }
+
+    @Test
+    void fullUpdate() {
+        STUB.serveItems(jdbcTemplate.queryForList("SELECT id FROM item", Integer.class).stream()
+                .mapToInt(Integer::intValue)
+                .toArray());
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runUpdate();
+        }
+
+        List<RoundResult> rounds = new ArrayList<>();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            rounds.add(runUpdate());
+        }
+
+        System.out.printf("%n%-8s %10s %12s %12s %14s %12s %10s%n",
+                "round", "rows", "wall ms", "rows/sec", "p99 server ms", "peak heap MB", "errors");
+        for (int i = 0; i < rounds.size(); i++) {
+            System.out.printf("%-8d %s%n", i + 1, rounds.get(i));
+        }
+
+        assertThat(rounds).allSatisfy(round -> assertThat(round.rows()).isPositive());
+    }
+
+    private RoundResult runUpdate() {
+        STUB.refresh();
+        STUB.resetCounters();
+        long rowsBefore = countRows();
+        List<MemoryPoolMXBean> heapPools = resetHeapPeaks();
+        long start = System.nanoTime();
+
+        itemPriceUpdateService.update();
+
+        long wallMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        assertThat(latestRunStatus()).isEqualTo(ItemPriceUpdateStatus.SUCCEEDED.name());
+        long rows = countRows() - rowsBefore;
+        return new RoundResult(rows, wallMillis, rows * 1000.0 / wallMillis, p99ServerMillis(),
+                peakHeap / (1024 * 1024), STUB.injectedErrors());
+    }
+
+    private static List<MemoryPoolMXBean> resetHeapPeaks() {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        return heapPools;
+    }
+
+    private long countRows() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_price", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private String latestRunStatus() {
+        return jdbcTemplate.queryForObject("SELECT status FROM item_price_update_run ORDER BY id DESC LIMIT 1", String.class);
+    }
+
+    /**
+     * Time between the start of the last attempt of a server and its completion, so retried servers only count their
+     * successful attempt.
+     */
+    private long p99ServerMillis() {
+        Double p99 = jdbcTemplate.queryForObject("""
+                SELECT percentile_cont(0.99) WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM updated_at - snapshot_time))
+                FROM item_price_update_run_server
+                WHERE run_id = (SELECT MAX(id) FROM item_price_update_run)
+                """, Double.class);
+        return p99 == null ? 0 : Math.round(p99 * 1000);
+    }
+
+    private record RoundResult(long rows, long wallMillis, double rowsPerSecond, long p99ServerMillis,
+                               long peakHeapMegabytes, int injectedErrors) {
+
+        @Override
+        public String toString() {
+            return "%10d %12d %12.0f %14d %12d %10d".formatted(rows, wallMillis, rowsPerSecond, p99ServerMillis,
+                    peakHeapMegabytes, injectedErrors);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.PostgresqlContainerInitializer;
+import com.thoroldvix.economatic.item.Item;
+import com.thoroldvix.economatic.item.ItemQuality;
+import com.thoroldvix.economatic.item.ItemSlot;
+import com.thoroldvix.economatic.item.ItemType;
+import com.thoroldvix.economatic.search.SearchCriteria;
+import com.thoroldvix.economatic.search.SearchRequest;
+import com.thoroldvix.economatic.search.SpecificationBuilder;
+import com.thoroldvix.economatic.server.Faction;
+import com.thoroldvix.economatic.server.Region;
+import com.thoroldvix.economatic.server.Server;
+import com.thoroldvix.economatic.server.ServerType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles(profiles = {"integration"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ItemPriceLatestRepositoryTest implements PostgresqlContainerInitializer {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 5, 1, 12, 0);
+
+    @Autowired
+    private ItemPriceLatestRepository itemPriceLatestRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Server server;
+    private Item changedItem;
+    private Item unchangedItem;
+
+    @BeforeEach
+    void setup() {
+        server = new Server(1, "server1", Region.EU, Faction.ALLIANCE, Locale.GERMAN, ServerType.PVE, "server1-alliance");
+        entityManager.persist(server);
+
+        changedItem = buildItem(1, "item1");
+        unchangedItem = buildItem(2, "item2");
+        entityManager.persist(changedItem);
+        entityManager.persist(unchangedItem);
+
+        entityManager.persist(buildLatestPrice(changedItem, NOW));
+        entityManager.persist(buildLatestPrice(unchangedItem, NOW.minusHours(2)));
+        entityManager.persist(ItemPrice.builder()
+                .server(server)
+                .item(changedItem)
+                .minBuyout(10)
+                .marketValue(20)
+                .numAuctions(1)
+                .quantity(1)
+                .updatedAt(NOW)
+                .build());
+    }
+
+    @AfterEach
+    void cleanup() {
+        entityManager.clear();
+    }
+
+    @Test
+    void findAll_returnsItemsUnchangedInLatestSnapshot_forSearchSpecification() {
+        SearchRequest searchRequest = SearchRequest.builder()
+                .searchCriteria(List.of(SearchCriteria.builder()
+                        .joinTable("server")
+                        .column("uniqueName")
+                        .value("server1-alliance")
+                        .operation(SearchCriteria.Operation.EQUALS)
+                        .build()))
+                .globalOperator(SearchRequest.GlobalOperator.AND)
+                .build();
+
+        Page<ItemPriceLatest> page = itemPriceLatestRepository.findAll(SpecificationBuilder.from(searchRequest),
+                PageRequest.of(0, 10));
+
+        assertThat(page.getContent())
+                .extracting(ItemPriceLatest::getItemId)
+                .containsExactlyInAnyOrder(changedItem.getId(), unchangedItem.getId());
+    }
+
+    private ItemPriceLatest buildLatestPrice(Item item, LocalDateTime updatedAt) {
+        return ItemPriceLatest.builder()
+                .serverId(server.getId())
+                .itemId(item.getId())
+                .server(server)
+                .item(item)
+                .minBuyout(10)
+                .marketValue(20)
+                .numAuctions(1)
+                .quantity(1)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private Item buildItem(int id, String name) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .type(ItemType.TRADE_GOODS)
+                .slot(ItemSlot.NON_EQUIPABLE)
+                .vendorPrice(0)
+                .quality(ItemQuality.COMMON)
+                .build();
+    }
+}
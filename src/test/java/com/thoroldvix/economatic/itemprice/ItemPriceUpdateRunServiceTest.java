@@ -0,0 +1,156 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.common.lease.JobLeases;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemPriceUpdateRunServiceTest {
+
+    private static final LocalDateTime PREVIOUS_SNAPSHOT = LocalDateTime.of(2023, 5, 1, 12, 0);
+    private static final LocalDateTime SNAPSHOT = LocalDateTime.of(2023, 5, 1, 12, 5);
+    private static final String OWNER = "node-1";
+
+    @Mock
+    private ItemPriceUpdateRunJdbcRepository itemPriceUpdateRunJdbcRepository;
+    @Mock
+    private ItemPriceSnapshotService itemPriceSnapshotService;
+    @Mock
+    private JobLeases jobLeases;
+    @InjectMocks
+    private ItemPriceUpdateRunService underTest;
+
+    @Test
+    void startOrResume_createsRun_whenNoRunIsUnfinished() {
+        when(itemPriceUpdateRunJdbcRepository.findUnfinishedRunId()).thenReturn(Optional.empty());
+        when(itemPriceUpdateRunJdbcRepository.createRun(any(), eq(List.of(1, 2)))).thenReturn(3L);
+        when(itemPriceUpdateRunJdbcRepository.findUnfinishedServerIds(3)).thenReturn(List.of(1, 2));
+
+        ItemPriceUpdateRunService.UpdateRun run = underTest.startOrResume(List.of(1, 2));
+
+        assertThat(run).isEqualTo(new ItemPriceUpdateRunService.UpdateRun(3, false, List.of(1, 2)));
+    }
+
+    @Test
+    void startOrResume_resumesUnfinishedRun() {
+        when(itemPriceUpdateRunJdbcRepository.findUnfinishedRunId()).thenReturn(Optional.of(3L));
+        when(itemPriceUpdateRunJdbcRepository.findUnfinishedServerIds(3)).thenReturn(List.of(2));
+
+        ItemPriceUpdateRunService.UpdateRun run = underTest.startOrResume(List.of(1, 2));
+
+        assertThat(run).isEqualTo(new ItemPriceUpdateRunService.UpdateRun(3, true, List.of(2)));
+        verify(itemPriceUpdateRunJdbcRepository).resetFailedServers(3);
+        verify(itemPriceUpdateRunJdbcRepository, never()).createRun(any(), any());
+    }
+
+    @Test
+    void claimNext_claimsServerForThisNode() {
+        when(jobLeases.owner()).thenReturn(OWNER);
+        when(jobLeases.ttl()).thenReturn(Duration.ofSeconds(60));
+        when(itemPriceUpdateRunJdbcRepository.claimServer(3, OWNER, Duration.ofSeconds(60))).thenReturn(Optional.of(1));
+
+        assertThat(underTest.claimNext(3)).contains(1);
+    }
+
+    @Test
+    void startAttempt_discardsSnapshotOfUnfinishedAttempt() {
+        when(jobLeases.owner()).thenReturn(OWNER);
+        when(itemPriceUpdateRunJdbcRepository.findSnapshotTimeForUpdate(3, 1, OWNER)).thenReturn(Optional.of(PREVIOUS_SNAPSHOT));
+        when(itemPriceUpdateRunJdbcRepository.startAttempt(eq(3L), eq(1), eq(OWNER), eq(SNAPSHOT), any())).thenReturn(true);
+
+        underTest.startAttempt(3, 1, SNAPSHOT);
+
+        verify(itemPriceSnapshotService).discard(1, PREVIOUS_SNAPSHOT);
+    }
+
+    @Test
+    void startAttempt_doesNotDiscard_whenServerHasNoSnapshot() {
+        when(jobLeases.owner()).thenReturn(OWNER);
+        when(itemPriceUpdateRunJdbcRepository.findSnapshotTimeForUpdate(3, 1, OWNER)).thenReturn(Optional.empty());
+        when(itemPriceUpdateRunJdbcRepository.startAttempt(eq(3L), eq(1), eq(OWNER), eq(SNAPSHOT), any())).thenReturn(true);
+
+        underTest.startAttempt(3, 1, SNAPSHOT);
+
+        verify(itemPriceSnapshotService, never()).discard(anyInt(), any());
+    }
+
+    @Test
+    void startAttempt_throwsItemPriceClaimLostException_whenServerIsClaimedByAnotherNode() {
+        when(jobLeases.owner()).thenReturn(OWNER);
+        when(itemPriceUpdateRunJdbcRepository.findSnapshotTimeForUpdate(3, 1, OWNER)).thenReturn(Optional.empty());
+        when(itemPriceUpdateRunJdbcRepository.startAttempt(eq(3L), eq(1), eq(OWNER), eq(SNAPSHOT), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> underTest.startAttempt(3, 1, SNAPSHOT))
+                .isInstanceOf(ItemPriceClaimLostException.class)
+                .hasMessage("Server 1 of item price update run 3 is claimed by another node");
+    }
+
+    @Test
+    void complete_completesSnapshotAndMarksServerSucceeded() {
+        when(jobLeases.owner()).thenReturn(OWNER);
+        when(itemPriceUpdateRunJdbcRepository.markSucceeded(eq(3L), eq(1), eq(OWNER), any())).thenReturn(true);
+
+        underTest.complete(3, 1, SNAPSHOT);
+
+        verify(itemPriceSnapshotService).complete(1, SNAPSHOT);
+    }
+
+    @Test
+    void complete_throwsItemPriceClaimLostException_whenServerIsClaimedByAnotherNode() {
+        when(jobLeases.owner()).thenReturn(OWNER);
+        when(itemPriceUpdateRunJdbcRepository.markSucceeded(eq(3L), eq(1), eq(OWNER), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> underTest.complete(3, 1, SNAPSHOT))
+                .isInstanceOf(ItemPriceClaimLostException.class);
+    }
+
+    @Test
+    void completeUnchanged_marksServerSucceededWithoutCompletingSnapshot() {
+        when(jobLeases.owner()).thenReturn(OWNER);
+        when(itemPriceUpdateRunJdbcRepository.markSucceeded(eq(3L), eq(1), eq(OWNER), any())).thenReturn(true);
+
+        underTest.completeUnchanged(3, 1, SNAPSHOT);
+
+        verify(itemPriceSnapshotService).discard(1, SNAPSHOT);
+        verify(itemPriceSnapshotService, never()).complete(anyInt(), any());
+    }
+
+    @Test
+    void fail_discardsSnapshotAndStoresTruncatedError() {
+        when(jobLeases.owner()).thenReturn(OWNER);
+        when(itemPriceUpdateRunJdbcRepository.findSnapshotTimeForUpdate(3, 1, OWNER)).thenReturn(Optional.of(SNAPSHOT));
+
+        underTest.fail(3, 1, new IllegalStateException("x".repeat(2000)));
+
+        verify(itemPriceSnapshotService).discard(1, SNAPSHOT);
+        verify(itemPriceUpdateRunJdbcRepository).markFailed(eq(3L), eq(1), eq(OWNER),
+                argThat(error -> error.startsWith("IllegalStateException: x") && error.length() == 1000), any());
+    }
+
+    @Test
+    void getLatest_throwsItemPriceNotFoundException_whenNoRunsExist() {
+        when(itemPriceUpdateRunJdbcRepository.findLatestRun()).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> underTest.getLatest())
+                .isInstanceOf(ItemPriceNotFoundException.class)
+                .hasMessage("No item price update runs found");
+    }
+}
@@ -0,0 +1,328 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.common.cache.DataVersions;
+import com.thoroldvix.economatic.common.cache.Dataset;
+import com.thoroldvix.economatic.common.lease.JobLeases;
+import com.thoroldvix.economatic.server.ServerListResponse;
+import com.thoroldvix.economatic.server.ServerResponse;
+import com.thoroldvix.economatic.server.ServerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemPriceUpdateServiceTest {
+
+    private static final long RUN_ID = 7;
+    private static final NexusHubResponse.NexusHubPrice FIRST = new NexusHubResponse.NexusHubPrice(1, 10, 10, 10, 1, 1);
+    private static final NexusHubResponse.NexusHubPrice SECOND = new NexusHubResponse.NexusHubPrice(2, 20, 20, 20, 2, 2);
+    private static final NexusHubResponse.NexusHubPrice THIRD = new NexusHubResponse.NexusHubPrice(3, 30, 30, 30, 3, 3);
+
+    @Mock
+    private ItemPriceSnapshotService itemPriceSnapshotService;
+    @Mock
+    private ItemPriceUpdateRunService itemPriceUpdateRunService;
+    @Mock
+    private NexusHubService nexusHubService;
+    @Mock
+    private ServerService serverService;
+    @Mock
+    private LatestPriceSnapshot latestPriceSnapshot;
+    @Mock
+    private TaskScheduler taskScheduler;
+    @Mock
+    private JobLeases jobLeases;
+    @Mock
+    private DataVersions dataVersions;
+    private ItemPriceIngestionExecutor ingestionExecutor;
+    private ItemPriceUpdateService underTest;
+
+    @BeforeEach
+    void setUp() {
+        ItemPriceProp itemPriceProp = new ItemPriceProp(Duration.ofHours(3), ItemPriceProp.IngestionMode.STREAMING,
+                2, ItemPriceProp.Writer.BATCH, 2, 2, 1, 3, Duration.ofMillis(1));
+        ServerResponse everlook = ServerResponse.builder().id(1).uniqueName("everlook-alliance").build();
+        ServerResponse gehennas = ServerResponse.builder().id(2).uniqueName("gehennas-horde").build();
+        when(serverService.getAll()).thenReturn(new ServerListResponse(List.of(everlook, gehennas)));
+        ingestionExecutor = new ItemPriceIngestionExecutor(itemPriceProp, new SimpleMeterRegistry());
+        underTest = new ItemPriceUpdateService(itemPriceSnapshotService, itemPriceUpdateRunService, nexusHubService,
+                serverService, itemPriceProp, latestPriceSnapshot, ingestionExecutor, taskScheduler, jobLeases,
+                dataVersions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestionExecutor.destroy();
+    }
+
+    @Test
+    void update_writesEveryStreamedChunkBeforeCompletingSnapshot() {
+        startRun(1);
+        doAnswer(invocation -> {
+            Consumer<List<NexusHubResponse.NexusHubPrice>> consumer = invocation.getArgument(2);
+            List<NexusHubResponse.NexusHubPrice> chunk = new ArrayList<>(List.of(FIRST, SECOND));
+            consumer.accept(chunk);
+            chunk.clear();
+            chunk.add(THIRD);
+            consumer.accept(chunk);
+            chunk.clear();
+            invocation.<Runnable>getArgument(3).run();
+            return true;
+        }).when(nexusHubService).streamItemPricesForServer(eq("everlook-alliance"), eq(2), any(), any());
+
+        underTest.update();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NexusHubResponse.NexusHubPrice>> chunks = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<LocalDateTime> snapshotTime = ArgumentCaptor.forClass(LocalDateTime.class);
+        InOrder inOrder = inOrder(itemPriceUpdateRunService, itemPriceSnapshotService, dataVersions, latestPriceSnapshot);
+        inOrder.verify(itemPriceUpdateRunService).startAttempt(eq(RUN_ID), eq(1), snapshotTime.capture());
+        inOrder.verify(itemPriceSnapshotService, times(2)).saveAll(eq(1), any(), chunks.capture());
+        inOrder.verify(itemPriceUpdateRunService).complete(RUN_ID, 1, snapshotTime.getValue());
+        inOrder.verify(itemPriceUpdateRunService).finish(RUN_ID);
+        inOrder.verify(latestPriceSnapshot).reload();
+        inOrder.verify(dataVersions).bump(Dataset.ITEM_PRICE);
+        assertThat(chunks.getAllValues()).containsExactlyInAnyOrder(List.of(FIRST, SECOND), List.of(THIRD));
+    }
+
+    @Test
+    void update_marksServerFailed_whenEveryAttemptFails() {
+        startRun(1);
+        doAnswer(invocation -> {
+            Consumer<List<NexusHubResponse.NexusHubPrice>> consumer = invocation.getArgument(2);
+            consumer.accept(List.of(FIRST));
+            invocation.<Runnable>getArgument(3).run();
+            return true;
+        }).when(nexusHubService).streamItemPricesForServer(any(), anyInt(), any(), any());
+        IllegalStateException failure = new IllegalStateException("write failed");
+        doThrow(failure).when(itemPriceSnapshotService).saveAll(anyInt(), any(), any());
+
+        underTest.update();
+
+        verify(itemPriceUpdateRunService, times(3)).startAttempt(eq(RUN_ID), eq(1), any());
+        verify(itemPriceUpdateRunService, never()).complete(anyLong(), anyInt(), any());
+        verify(itemPriceUpdateRunService).fail(eq(RUN_ID), eq(1), same(failure));
+        verify(itemPriceUpdateRunService).finish(RUN_ID);
+        verify(dataVersions).bump(Dataset.ITEM_PRICE);
+    }
+
+    @Test
+    void update_retriesOnlyFailedServer() {
+        startRun(1, 2);
+        AtomicInteger everlookAttempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0).equals("everlook-alliance") && everlookAttempts.getAndIncrement() == 0) {
+                throw new IllegalStateException("connection reset");
+            }
+            invocation.<Runnable>getArgument(3).run();
+            return true;
+        }).when(nexusHubService).streamItemPricesForServer(any(), anyInt(), any(), any());
+
+        underTest.update();
+
+        verify(itemPriceUpdateRunService, times(2)).startAttempt(eq(RUN_ID), eq(1), any());
+        verify(itemPriceUpdateRunService).startAttempt(eq(RUN_ID), eq(2), any());
+        verify(nexusHubService).streamItemPricesForServer(eq("gehennas-horde"), anyInt(), any(), any());
+        verify(itemPriceUpdateRunService).complete(eq(RUN_ID), eq(1), any());
+        verify(itemPriceUpdateRunService).complete(eq(RUN_ID), eq(2), any());
+        verify(itemPriceUpdateRunService, never()).fail(anyLong(), anyInt(), any());
+        verify(dataVersions).bump(Dataset.ITEM_PRICE);
+    }
+
+    @Test
+    void update_fetchesOnlyUnfinishedServers_whenRunIsResumed() {
+        when(jobLeases.tryAcquire(ItemPriceUpdateService.JOB)).thenReturn(true);
+        when(itemPriceUpdateRunService.startOrResume(any()))
+                .thenReturn(new ItemPriceUpdateRunService.UpdateRun(RUN_ID, true, List.of(2)));
+        claimServers(2);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(3).run();
+            return true;
+        }).when(nexusHubService).streamItemPricesForServer(any(), anyInt(), any(), any());
+
+        underTest.update();
+
+        verify(nexusHubService, never()).streamItemPricesForServer(eq("everlook-alliance"), anyInt(), any(), any());
+        verify(nexusHubService).streamItemPricesForServer(eq("gehennas-horde"), anyInt(), any(), any());
+        verify(itemPriceUpdateRunService).complete(eq(RUN_ID), eq(2), any());
+        verify(itemPriceUpdateRunService).finish(RUN_ID);
+    }
+
+    @Test
+    void update_completesServerWithoutSnapshot_whenPricesHaveNotChanged() {
+        startRun(1);
+        when(nexusHubService.streamItemPricesForServer(any(), anyInt(), any(), any())).thenReturn(false);
+
+        underTest.update();
+
+        ArgumentCaptor<LocalDateTime> snapshotTime = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(itemPriceUpdateRunService).startAttempt(eq(RUN_ID), eq(1), snapshotTime.capture());
+        verify(itemPriceUpdateRunService).completeUnchanged(RUN_ID, 1, snapshotTime.getValue());
+        verify(itemPriceUpdateRunService, never()).complete(anyLong(), anyInt(), any());
+        verify(itemPriceSnapshotService, never()).saveAll(anyInt(), any(), any());
+    }
+
+    @Test
+    void update_fetchesEveryPrice_whenAnotherNodeStoredNewerSnapshot() {
+        startRun(1);
+        when(itemPriceSnapshotService.syncWithStored(1)).thenReturn(true);
+        when(nexusHubService.streamItemPricesForServer(any(), anyInt(), any(), any())).thenReturn(false);
+
+        underTest.update();
+
+        InOrder inOrder = inOrder(nexusHubService);
+        inOrder.verify(nexusHubService).forget("everlook-alliance");
+        inOrder.verify(nexusHubService).streamItemPricesForServer(eq("everlook-alliance"), anyInt(), any(), any());
+    }
+
+    @Test
+    void update_waitsForServersOfOtherNodes_beforeFinishingRun() {
+        startRun(1);
+        when(itemPriceUpdateRunService.hasActiveServers(RUN_ID)).thenReturn(true, false);
+        when(jobLeases.renewInterval()).thenReturn(Duration.ofMillis(1));
+        when(nexusHubService.streamItemPricesForServer(any(), anyInt(), any(), any())).thenReturn(false);
+
+        underTest.update();
+
+        InOrder inOrder = inOrder(itemPriceUpdateRunService);
+        inOrder.verify(itemPriceUpdateRunService, times(2)).hasActiveServers(RUN_ID);
+        inOrder.verify(itemPriceUpdateRunService).finish(RUN_ID);
+    }
+
+    @Test
+    void update_doesNothing_whenAnotherNodeRunsUpdate() {
+        when(jobLeases.tryAcquire(ItemPriceUpdateService.JOB)).thenReturn(false);
+
+        underTest.update();
+
+        verify(itemPriceUpdateRunService, never()).startOrResume(any());
+        verify(nexusHubService, never()).streamItemPricesForServer(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void update_leavesServerToNewOwner_whenClaimIsLost() {
+        startRun(1);
+        doThrow(new ItemPriceClaimLostException("claimed by another node"))
+                .when(itemPriceUpdateRunService).startAttempt(eq(RUN_ID), eq(1), any());
+
+        underTest.update();
+
+        verify(itemPriceUpdateRunService).startAttempt(eq(RUN_ID), eq(1), any());
+        verify(itemPriceUpdateRunService, never()).fail(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void update_waitsForJoinRun_insteadOfSkippingInterval() throws Exception {
+        startRun(1);
+        when(nexusHubService.streamItemPricesForServer(any(), anyInt(), any(), any())).thenReturn(false);
+        CountDownLatch joining = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemPriceUpdateRunService.findUnfinishedRunId()).thenAnswer(invocation -> {
+            joining.countDown();
+            release.await();
+            return Optional.empty();
+        });
+
+        CompletableFuture<Void> join = CompletableFuture.runAsync(underTest::joinRun);
+        joining.await();
+        CompletableFuture<Void> update = CompletableFuture.runAsync(underTest::update);
+
+        verify(itemPriceUpdateRunService, after(100).never()).startOrResume(any());
+        release.countDown();
+        join.get(5, TimeUnit.SECONDS);
+        update.get(5, TimeUnit.SECONDS);
+        verify(itemPriceUpdateRunService).finish(RUN_ID);
+    }
+
+    @Test
+    void joinRun_updatesClaimedServers_withoutFinishingRunStartedByAnotherNode() {
+        when(itemPriceUpdateRunService.findUnfinishedRunId()).thenReturn(Optional.of(RUN_ID));
+        claimServers(2);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(3).run();
+            return true;
+        }).when(nexusHubService).streamItemPricesForServer(any(), anyInt(), any(), any());
+
+        underTest.joinRun();
+
+        verify(itemPriceUpdateRunService).complete(eq(RUN_ID), eq(2), any());
+        verify(itemPriceUpdateRunService, never()).finish(anyLong());
+        verify(latestPriceSnapshot, never()).reload();
+    }
+
+    @Test
+    void reloadsLatestPrices_whenItemPriceVersionChanges() {
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(dataVersions).onChange(eq(Dataset.ITEM_PRICE), listener.capture());
+
+        listener.getValue().run();
+
+        verify(latestPriceSnapshot).reload();
+    }
+
+    @Test
+    void resumeUnfinishedRun_schedulesUpdate_whenRunIsUnfinished() {
+        when(itemPriceUpdateRunService.hasUnfinishedRun()).thenReturn(true);
+
+        underTest.resumeUnfinishedRun();
+
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void resumeUnfinishedRun_doesNothing_whenNoRunIsUnfinished() {
+        when(itemPriceUpdateRunService.hasUnfinishedRun()).thenReturn(false);
+
+        underTest.resumeUnfinishedRun();
+
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private void startRun(Integer... serverIds) {
+        when(jobLeases.tryAcquire(ItemPriceUpdateService.JOB)).thenReturn(true);
+        when(itemPriceUpdateRunService.startOrResume(any()))
+                .thenReturn(new ItemPriceUpdateRunService.UpdateRun(RUN_ID, false, List.of(serverIds)));
+        claimServers(serverIds);
+    }
+
+    private void claimServers(Integer... serverIds) {
+        Queue<Integer> unclaimed = new ConcurrentLinkedQueue<>(List.of(serverIds));
+        when(itemPriceUpdateRunService.claimNext(RUN_ID)).thenAnswer(invocation -> Optional.ofNullable(unclaimed.poll()));
+    }
+}
@@ -0,0 +1,184 @@
+package com.thoroldvix.economatic.itemprice;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+class ItemPriceWriterBenchmarkTest {
+
+    private static final int ITEM_COUNT = 17_000;
+    private static final int SERVER_COUNT = 10;
+    private static final int CHUNK_SIZE = 1000;
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int MEASURED_ROUNDS = 3;
+
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static DriverManagerDataSource dataSource;
+    private static List<NexusHubResponse.NexusHubPrice> prices;
+
+    @BeforeAll
+    static void setup() {
+        POSTGRES_CONTAINER.start();
+        dataSource = new DriverManagerDataSource(POSTGRES_CONTAINER.getJdbcUrl(),
+                POSTGRES_CONTAINER.getUsername(), POSTGRES_CONTAINER.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/changelog/1-database-ddl.sql")).execute(dataSource);
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION trigger_set_timestamp()
+                    RETURNS TRIGGER AS
+                $$
+                BEGIN
+                    NEW.updated_at = NOW();
+                    RETURN NEW;
+                END;
+                $$ LANGUAGE plpgsql
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO server (id, name, region, faction, type, unique_name, locale)
+                SELECT s, 'server' || s, 0, 0, 0, 'server-' || s, 'en_GB'
+                FROM generate_series(1, ?) s
+                """, SERVER_COUNT);
+        jdbcTemplate.update("""
+                INSERT INTO item (id, quality, type, name, slot)
+                SELECT i, 0, 0, 'item ' || i, 0
+                FROM generate_series(1, ?) i
+                """, ITEM_COUNT);
+        prices = generatePrices();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        POSTGRES_CONTAINER.stop();
+    }
+
+    private static List<NexusHubResponse.NexusHubPrice> generatePrices() {
+        Random random = new Random(42);
+        List<NexusHubResponse.NexusHubPrice> generated = new ArrayList<>(ITEM_COUNT);
+        for (int itemId = 1; itemId <= ITEM_COUNT; itemId++) {
+            generated.add(new NexusHubResponse.NexusHubPrice(itemId,
+                    random.nextInt(1_000_000),
+                    random.nextInt(1_000_000),
+                    random.nextInt(1_000_000),
+                    random.nextInt(500),
+                    random.nextInt(50)));
+        }
+        return generated;
+    }
+
+    @Test
+    void compareBatchAndCopyWriters() {
+        BenchmarkResult batchWithTrigger = run("batch + trigger", new BatchItemPriceWriter(jdbcTemplate), true);
+        BenchmarkResult batch = run("batch", new BatchItemPriceWriter(jdbcTemplate), false);
+        BenchmarkResult copy = run("copy", new CopyItemPriceWriter(dataSource), false);
+
+        System.out.printf("%n%-16s %14s %14s %16s%n", "writer", "rows", "rows/sec", "WAL bytes/row");
+        List.of(batchWithTrigger, batch, copy).forEach(System.out::println);
+
+        assertThat(copy.rows()).isEqualTo(batch.rows()).isEqualTo(batchWithTrigger.rows());
+    }
+
+    private BenchmarkResult run(String name, ItemPriceWriter writer, boolean withTrigger) {
+        setTrigger(withTrigger);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            writeSnapshot(writer);
+        }
+
+        long rows = 0;
+        long walBytes = 0;
+        Duration elapsed = Duration.ZERO;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            jdbcTemplate.execute("TRUNCATE item_price");
+            jdbcTemplate.execute("CHECKPOINT");
+            String walBefore = currentWalLsn();
+            long start = System.nanoTime();
+
+            writeSnapshot(writer);
+
+            elapsed = elapsed.plusNanos(System.nanoTime() - start);
+            walBytes += walDiff(walBefore);
+            rows += countRows();
+        }
+        assertSingleSnapshotPerServer(withTrigger);
+        jdbcTemplate.execute("TRUNCATE item_price");
+        return new BenchmarkResult(name, rows / MEASURED_ROUNDS, rows * 1000.0 / elapsed.toMillis(), walBytes / rows);
+    }
+
+    private void writeSnapshot(ItemPriceWriter writer) {
+        for (int serverId = 1; serverId <= SERVER_COUNT; serverId++) {
+            LocalDateTime snapshotTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            for (int from = 0; from < prices.size(); from += CHUNK_SIZE) {
+                List<NexusHubResponse.NexusHubPrice> chunk = prices.subList(from, Math.min(from + CHUNK_SIZE, prices.size()));
+                int id = serverId;
+                transactionTemplate.executeWithoutResult(status -> writer.write(id, snapshotTime, chunk));
+            }
+        }
+    }
+
+    private void setTrigger(boolean enabled) {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS set_timestamp ON item_price");
+        if (enabled) {
+            jdbcTemplate.execute("""
+                    CREATE TRIGGER set_timestamp
+                        BEFORE INSERT OR UPDATE
+                        ON item_price
+                        FOR EACH ROW
+                    EXECUTE PROCEDURE trigger_set_timestamp()
+                    """);
+        }
+    }
+
+    private void assertSingleSnapshotPerServer(boolean withTrigger) {
+        if (withTrigger) {
+            return;
+        }
+        Integer snapshots = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT (server_id, updated_at)) FROM item_price", Integer.class);
+        assertThat(snapshots).isEqualTo(SERVER_COUNT);
+    }
+
+    private String currentWalLsn() {
+        return jdbcTemplate.queryForObject("SELECT pg_current_wal_insert_lsn()::text", String.class);
+    }
+
+    private long walDiff(String before) {
+        Long diff = jdbcTemplate.queryForObject("SELECT pg_wal_lsn_diff(pg_current_wal_insert_lsn(), ?::pg_lsn)::bigint",
+                Long.class, before);
+        return diff == null ? 0 : diff;
+    }
+
+    private long countRows() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_price", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private record BenchmarkResult(String name, long rows, double rowsPerSecond, long walBytesPerRow) {
+
+        @Override
+        public String toString() {
+            return "%-16s %14d %14.0f %16d".formatted(name, rows, rowsPerSecond, walBytesPerRow);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.thoroldvix.economatic.itemprice;
+
+import com.thoroldvix.economatic.server.Faction;
+import com.thoroldvix.economatic.server.Region;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LatestPricesTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2023, 4, 1, 12, 30, 15, 123_456_000);
+
+    private LatestPrices latestPrices;
+
+    @BeforeEach
+    void setUp() {
+        List<LatestPrices.ServerRow> servers = List.of(
+                new LatestPrices.ServerRow(1, "everlook-alliance", Region.EU, Faction.ALLIANCE),
+                new LatestPrices.ServerRow(2, "everlook-horde", Region.EU, Faction.HORDE),
+                new LatestPrices.ServerRow(3, "whitemane-horde", Region.US, Faction.HORDE));
+        List<LatestPrices.ItemRow> items = List.of(
+                new LatestPrices.ItemRow(10, "copper-ore"),
+                new LatestPrices.ItemRow(20, "tin-ore"),
+                new LatestPrices.ItemRow(30, "iron-ore"));
+
+        latestPrices = LatestPrices.builder(servers, items)
+                .add(1, 10, 100, 110, 120, 5, 1, UPDATED_AT)
+                .add(1, 20, 300, 310, 320, 6, 2, UPDATED_AT)
+                .add(1, 30, 200, 210, 220, 7, 3, UPDATED_AT.minusHours(3))
+                .add(2, 10, 150, 160, 170, 8, 4, UPDATED_AT)
+                .add(3, 10, 50, 60, 70, 9, 5, UPDATED_AT)
+                .add(99, 10, 1, 1, 1, 1, 1, UPDATED_AT)
+                .build();
+    }
+
+    @Test
+    void forServer_returnsAllItemsOfServer() {
+        ItemPricePageResponse response = latestPrices.forServer(1, Pageable.unpaged());
+
+        assertThat(response.prices())
+                .extracting(ItemPriceResponse::itemId, ItemPriceResponse::itemName, ItemPriceResponse::server, ItemPriceResponse::minBuyout)
+                .containsExactly(
+                        tuple(10, "copper-ore", "everlook-alliance", 100L),
+                        tuple(20, "tin-ore", "everlook-alliance", 300L),
+                        tuple(30, "iron-ore", "everlook-alliance", 200L));
+        assertThat(response.prices().get(0).updatedAt()).isEqualTo(UPDATED_AT);
+    }
+
+    @Test
+    void forServer_sortsAndPages() {
+        ItemPricePageResponse response = latestPrices.forServer(1, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "minBuyout")));
+
+        assertThat(response.prices()).extracting(ItemPriceResponse::itemId).containsExactly(20, 30);
+        assertThat(response.paginationInfo().totalElements()).isEqualTo(3);
+        assertThat(response.paginationInfo().totalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void forServer_sortsByMultipleProperties() {
+        Sort sort = Sort.by(Sort.Order.desc("updated_at"), Sort.Order.asc("market_value"));
+
+        ItemPricePageResponse response = latestPrices.forServer(1, PageRequest.of(0, 10, sort));
+
+        assertThat(response.prices()).extracting(ItemPriceResponse::itemId).containsExactly(10, 20, 30);
+    }
+
+    @Test
+    void forServer_returnsEmptyPage_whenPageIsOutOfRange() {
+        ItemPricePageResponse response = latestPrices.forServer(1, PageRequest.of(5, 10));
+
+        assertThat(response.prices()).isEmpty();
+        assertThat(response.paginationInfo().totalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void forServer_throwsIllegalArgumentException_whenSortPropertyIsUnknown() {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("unknown"));
+
+        assertThatThrownBy(() -> latestPrices.forServer(1, pageable))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void forServerAndItem_returnsEmptyList_whenServerHasNoPriceForItem() {
+        assertThat(latestPrices.forServerAndItem(2, 20).prices()).isEmpty();
+        assertThat(latestPrices.forServerAndItem(2, 99).prices()).isEmpty();
+        assertThat(latestPrices.forServerAndItem(2, 10).prices()).extracting(ItemPriceResponse::minBuyout).containsExactly(150L);
+    }
+
+    @Test
+    void forRegionAndItem_returnsPricesOfServersInRegion() {
+        ItemPriceListResponse response = latestPrices.forRegionAndItem(Region.EU, 10);
+
+        assertThat(response.prices()).extracting(ItemPriceResponse::server).containsExactly("everlook-alliance", "everlook-horde");
+    }
+
+    @Test
+    void forFactionAndItem_returnsPricesOfServersOfFaction() {
+        ItemPriceListResponse response = latestPrices.forFactionAndItem(Faction.HORDE, 10);
+
+        assertThat(response.prices()).extracting(ItemPriceResponse::server).containsExactly("everlook-horde", "whitemane-horde");
+    }
+
+    @Test
+    void forItemsAndServers_returnsPricesForAllServers_whenServerListIsEmpty() {
+        ItemPricePageResponse response = latestPrices.forItemsAndServers(Set.of(10, 30, 99), Set.of(), Pageable.unpaged());
+
+        assertThat(response.prices())
+                .extracting(ItemPriceResponse::server, ItemPriceResponse::itemId)
+                .containsExactly(
+                        tuple("everlook-alliance", 10),
+                        tuple("everlook-alliance", 30),
+                        tuple("everlook-horde", 10),
+                        tuple("whitemane-horde", 10));
+    }
+
+    @Test
+    void forItemsAndServers_returnsPricesForGivenServers() {
+        ItemPricePageResponse response = latestPrices.forItemsAndServers(Set.of(10), Set.of(3, 2), Pageable.unpaged());
+
+        assertThat(response.prices()).extracting(ItemPriceResponse::server).containsExactly("everlook-horde", "whitemane-horde");
+    }
+}
@@ -0,0 +1,92 @@
+package com.thoroldvix.economatic.itemprice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NexusHubPriceParserTest {
+
+    public static final String JSON = """
+            {
+            "slug": "everlook-alliance",
+            "data": [
+            {
+            "itemId": 12811,
+            "name": "Righteous Orb",
+            "minBuyout": 1000,
+            "historicalValue": 1100,
+            "marketValue": 1200,
+            "quantity": 5,
+            "numAuctions": 2,
+            "previous": {"minBuyout": 900}
+            },
+            {
+            "itemId": 2589,
+            "minBuyout": 10,
+            "historicalValue": 11,
+            "marketValue": 12,
+            "quantity": 200,
+            "numAuctions": 20
+            }]
+            }""";
+
+    private final NexusHubPriceParser parser = new NexusHubPriceParser();
+
+    @Test
+    void parse_passesEveryPriceToConsumer() {
+        List<NexusHubResponse.NexusHubPrice> actual = new ArrayList<>();
+
+        parser.parse(toInputStream(JSON), actual::add);
+
+        assertThat(actual).containsExactly(
+                new NexusHubResponse.NexusHubPrice(12811, 1000, 1100, 1200, 5, 2),
+                new NexusHubResponse.NexusHubPrice(2589, 10, 11, 12, 200, 20)
+        );
+    }
+
+    @Test
+    void parse_passesNothingToConsumer_whenDataArrayEmpty() {
+        List<NexusHubResponse.NexusHubPrice> actual = new ArrayList<>();
+
+        parser.parse(toInputStream("""
+                {"slug": "everlook-alliance", "data": []}"""), actual::add);
+
+        assertThat(actual).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"slug\": \"everlook-alliance\"}", "{\"data\": {}}"})
+    void parse_throwsNexusHubParsingException_whenDataArrayMissing(String json) {
+        assertThatThrownBy(() -> parser.parse(toInputStream(json), price -> {
+        }))
+                .isInstanceOf(NexusHubParsingException.class)
+                .hasMessage("Received JSON doesn't contain expected node: data");
+    }
+
+    @Test
+    void parse_throwsNexusHubParsingException_whenJsonMalformed() {
+        assertThatThrownBy(() -> parser.parse(toInputStream("{\"data\": [{\"itemId\": 1"), price -> {
+        }))
+                .isInstanceOf(NexusHubParsingException.class);
+    }
+
+    @Test
+    void parse_throwsNullPointerException_whenBodyNull() {
+        assertThatThrownBy(() -> parser.parse(null, price -> {
+        }))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    private static InputStream toInputStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,162 @@
+package com.thoroldvix.economatic.itemprice;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.thoroldvix.economatic.UpstreamStubServer;
+import feign.Feign;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fetches and parses the item prices of 100 servers from a local NexusHub stub with Feign's default client and with the
+ * pooled Apache HttpClient 5 client, with and without gzip, reporting wall time, bytes on the wire and opened
+ * connections. The stub sends every connection at 100 Mbit/s, so transfer time counts like it does against the real
+ * API.
+ */
+@Tag("benchmark")
+class NexusHubTransportBenchmarkTest {
+
+    private static final int ITEM_COUNT = 17_000;
+    private static final int SERVER_COUNT = 100;
+    private static final int FETCH_CONCURRENCY = 4;
+    private static final int MAX_CONNECTIONS_PER_HOST = 8;
+    private static final long LINK_BYTES_PER_SECOND = 100_000_000 / 8;
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int MEASURED_ROUNDS = 3;
+
+    private static final NexusHubPriceParser nexusHubPriceParser = new NexusHubPriceParser();
+
+    private static UpstreamStubServer stub;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        ((Logger) LoggerFactory.getLogger("org.apache.hc")).setLevel(Level.INFO);
+        stub = UpstreamStubServer.builder()
+                .itemIds(IntStream.rangeClosed(1, ITEM_COUNT).toArray())
+                .bytesPerSecond(LINK_BYTES_PER_SECOND)
+                .threads(MAX_CONNECTIONS_PER_HOST)
+                .start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void compareDefaultAndPooledClients() throws Exception {
+        NexusHubClient defaultClient = Feign.builder()
+                .contract(new SpringMvcContract())
+                .target(NexusHubClient.class, stub.nexusHubUrl());
+        BenchmarkResult defaultResult = run("default", defaultClient);
+        BenchmarkResult pooledResult;
+        BenchmarkResult compressedResult;
+        try (CloseableHttpClient httpClient = pooledHttpClient().disableContentCompression().build()) {
+            pooledResult = run("hc5", hc5Client(httpClient));
+        }
+        try (CloseableHttpClient httpClient = pooledHttpClient().build()) {
+            compressedResult = run("hc5 + gzip", hc5Client(httpClient));
+        }
+
+        System.out.printf("%n%-12s %10s %12s %16s %12s%n", "client", "prices", "wall ms", "bytes on wire", "connections");
+        List.of(defaultResult, pooledResult, compressedResult).forEach(System.out::println);
+
+        assertThat(List.of(pooledResult.prices(), compressedResult.prices()))
+                .containsOnly(defaultResult.prices());
+        assertThat(compressedResult.bytesOnWire()).isLessThan(defaultResult.bytesOnWire());
+    }
+
+    private static HttpClientBuilder pooledHttpClient() {
+        return HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnPerRoute(MAX_CONNECTIONS_PER_HOST)
+                        .setMaxConnTotal(MAX_CONNECTIONS_PER_HOST)
+                        .build());
+    }
+
+    private static NexusHubClient hc5Client(CloseableHttpClient httpClient) {
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .client(new ApacheHttp5Client(httpClient))
+                .target(NexusHubClient.class, stub.nexusHubUrl());
+    }
+
+    private BenchmarkResult run(String name, NexusHubClient client) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            ingest(client);
+        }
+
+        long prices = 0;
+        long bytes = 0;
+        long connectionCount = 0;
+        Duration elapsed = Duration.ZERO;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            stub.resetCounters();
+            long start = System.nanoTime();
+
+            prices += ingest(client);
+
+            elapsed = elapsed.plusNanos(System.nanoTime() - start);
+            bytes += stub.bytesSent();
+            connectionCount += stub.connections();
+        }
+        return new BenchmarkResult(name, prices / MEASURED_ROUNDS, elapsed.toMillis() / MEASURED_ROUNDS,
+                bytes / MEASURED_ROUNDS, connectionCount / MEASURED_ROUNDS);
+    }
+
+    private long ingest(NexusHubClient client) throws Exception {
+        ExecutorService fetchExecutor = Executors.newFixedThreadPool(FETCH_CONCURRENCY);
+        try {
+            List<Future<Long>> fetches = IntStream.rangeClosed(1, SERVER_COUNT)
+                    .mapToObj(serverId -> fetchExecutor.submit(() -> fetch(client, "server-" + serverId)))
+                    .toList();
+            long prices = 0;
+            for (Future<Long> fetch : fetches) {
+                prices += fetch.get();
+            }
+            return prices;
+        } finally {
+            fetchExecutor.shutdown();
+        }
+    }
+
+    private long fetch(NexusHubClient client, String serverName) throws IOException {
+        AtomicLong prices = new AtomicLong();
+        try (Response response = client.fetchAllItemPricesForServer(serverName, Map.of());
+             InputStream body = response.body().asInputStream()) {
+            nexusHubPriceParser.parse(body, price -> prices.incrementAndGet());
+        }
+        return prices.get();
+    }
+
+    private record BenchmarkResult(String name, long prices, long wallMillis, long bytesOnWire, long connections) {
+
+        @Override
+        public String toString() {
+            return "%-12s %10d %12d %16d %12d".formatted(name, prices, wallMillis, bytesOnWire, connections);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.thoroldvix.economatic.itemprice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceColumnsTest {
+
+    @Test
+    void of_laysOutPricesColumnByColumnInOrder() {
+        List<NexusHubResponse.NexusHubPrice> prices = List.of(
+                new NexusHubResponse.NexusHubPrice(1, 10L, 11L, 12L, 13, 14),
+                new NexusHubResponse.NexusHubPrice(2, 20L, 21L, 22L, 23, 24));
+
+        PriceColumns columns = PriceColumns.of(prices);
+
+        assertThat(columns.itemIds()).containsExactly(1, 2);
+        assertThat(columns.minBuyouts()).containsExactly(10L, 20L);
+        assertThat(columns.historicalValues()).containsExactly(11L, 21L);
+        assertThat(columns.marketValues()).containsExactly(12L, 22L);
+        assertThat(columns.quantities()).containsExactly(13, 23);
+        assertThat(columns.numAuctions()).containsExactly(14, 24);
+    }
+}
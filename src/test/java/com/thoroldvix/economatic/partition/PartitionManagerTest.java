@@ -0,0 +1,104 @@
+package com.thoroldvix.economatic.partition;
+
+import com.thoroldvix.economatic.common.lease.JobLeases;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionManagerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 3, 30, 12, 0);
+
+    @Mock
+    private PartitionJdbcRepository partitionRepository;
+    @Mock
+    private JobLeases jobLeases;
+
+    @Test
+    void maintain_doesNothing_whenAnotherNodeHoldsLease() {
+        PartitionManager partitionManager = new PartitionManager(partitionRepository, prop(PartitionProp.RetentionAction.DETACH, Duration.ZERO), jobLeases);
+        when(jobLeases.tryAcquire(PartitionManager.JOB)).thenReturn(false);
+
+        partitionManager.maintain();
+
+        verifyNoInteractions(partitionRepository);
+    }
+
+    @Test
+    void maintain_createsDailyItemPricePartitionsForPremakePeriod() {
+        PartitionManager partitionManager = new PartitionManager(partitionRepository, prop(PartitionProp.RetentionAction.DETACH, Duration.ZERO), jobLeases);
+
+        partitionManager.maintain(NOW);
+
+        for (int day = 0; day <= 7; day++) {
+            verify(partitionRepository).create(PartitionedTable.ITEM_PRICE, LocalDateTime.of(2023, 3, 30, 0, 0).plusDays(day));
+        }
+        verify(partitionRepository, times(8)).create(eq(PartitionedTable.ITEM_PRICE), any());
+    }
+
+    @Test
+    void maintain_createsMonthlyPartitionsCoveringPremakePeriod() {
+        PartitionManager partitionManager = new PartitionManager(partitionRepository, prop(PartitionProp.RetentionAction.DETACH, Duration.ZERO), jobLeases);
+
+        partitionManager.maintain(NOW);
+
+        verify(partitionRepository).create(PartitionedTable.GOLD_PRICE, LocalDateTime.of(2023, 3, 1, 0, 0));
+        verify(partitionRepository).create(PartitionedTable.GOLD_PRICE, LocalDateTime.of(2023, 4, 1, 0, 0));
+        verify(partitionRepository, times(2)).create(eq(PartitionedTable.POPULATION), any());
+    }
+
+    @Test
+    void maintain_doesNotRemovePartitions_whenRetentionIsZero() {
+        PartitionManager partitionManager = new PartitionManager(partitionRepository, prop(PartitionProp.RetentionAction.DROP, Duration.ZERO), jobLeases);
+
+        partitionManager.maintain(NOW);
+
+        verify(partitionRepository, never()).findAll(any());
+        verify(partitionRepository, never()).drop(any());
+        verify(partitionRepository, never()).detach(any(), any());
+    }
+
+    @Test
+    void maintain_detachesOnlyExpiredPartitions() {
+        Partition expired = new Partition("item_price_p20230319", LocalDateTime.of(2023, 3, 20, 0, 0));
+        Partition boundary = new Partition("item_price_p20230320", LocalDateTime.of(2023, 3, 21, 0, 0));
+        Partition recent = new Partition("item_price_p20230321", LocalDateTime.of(2023, 3, 22, 0, 0));
+        when(partitionRepository.findAll(any())).thenReturn(List.of());
+        when(partitionRepository.findAll(PartitionedTable.ITEM_PRICE)).thenReturn(List.of(expired, boundary, recent));
+        PartitionManager partitionManager = new PartitionManager(partitionRepository, prop(PartitionProp.RetentionAction.DETACH, Duration.ofDays(9).plusHours(12)), jobLeases);
+
+        partitionManager.maintain(NOW);
+
+        verify(partitionRepository).detach(PartitionedTable.ITEM_PRICE, expired);
+        verify(partitionRepository).detach(PartitionedTable.ITEM_PRICE, boundary);
+        verify(partitionRepository, never()).detach(PartitionedTable.ITEM_PRICE, recent);
+        verify(partitionRepository, never()).drop(any());
+    }
+
+    @Test
+    void maintain_dropsExpiredPartitions_whenRetentionActionIsDrop() {
+        Partition expired = new Partition("gold_price_p202301", LocalDateTime.of(2023, 2, 1, 0, 0));
+        when(partitionRepository.findAll(any())).thenReturn(List.of());
+        when(partitionRepository.findAll(PartitionedTable.GOLD_PRICE)).thenReturn(List.of(expired));
+        PartitionManager partitionManager = new PartitionManager(partitionRepository, prop(PartitionProp.RetentionAction.DROP, Duration.ofDays(30)), jobLeases);
+
+        partitionManager.maintain(NOW);
+
+        verify(partitionRepository).drop(expired);
+        verify(partitionRepository, never()).detach(any(), any());
+    }
+
+    private PartitionProp prop(PartitionProp.RetentionAction action, Duration retention) {
+        return new PartitionProp(Duration.ofDays(7), action, retention, retention, retention);
+    }
+}
@@ -0,0 +1,122 @@
+package com.thoroldvix.economatic.population;
+
+import com.thoroldvix.economatic.population.PopulationActivityJdbcRepository.ServerActivity;
+import com.thoroldvix.economatic.population.PopulationServerPoller.Realm;
+import com.thoroldvix.economatic.server.Faction;
+import com.thoroldvix.economatic.server.Region;
+import com.thoroldvix.economatic.server.ServerResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PopulationServerPollerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 5, 1, 12, 0);
+
+    private static final ServerResponse EVERLOOK_ALLIANCE = server(1, "Everlook", Faction.ALLIANCE, Region.EU);
+    private static final ServerResponse EVERLOOK_HORDE = server(2, "Everlook", Faction.HORDE, Region.EU);
+    private static final ServerResponse FAERLINA_ALLIANCE = server(3, "Faerlina", Faction.ALLIANCE, Region.US);
+    private static final ServerResponse FAERLINA_HORDE = server(4, "Faerlina", Faction.HORDE, Region.US);
+    private static final ServerResponse PYREWOOD_ALLIANCE = server(5, "Pyrewood Village", Faction.ALLIANCE, Region.EU);
+
+    @Mock
+    private WarcraftTavernService warcraftTavernService;
+    @Mock
+    private PopulationActivityJdbcRepository activityRepository;
+
+    private PopulationServerPoller poller;
+
+    private static ServerResponse server(int id, String name, Faction faction, Region region) {
+        return ServerResponse.builder()
+                .id(id)
+                .name(name)
+                .faction(faction)
+                .region(region)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        PopulationProp populationProp = new PopulationProp(Period.ofDays(1), PopulationProp.UpdateMode.PER_SERVER,
+                Duration.ofHours(1), 1, 2);
+        poller = new PopulationServerPoller(warcraftTavernService, activityRepository, populationProp,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.destroy();
+    }
+
+    @Test
+    void dueRealms_picksHottestRealmAndStaleRealms() {
+        when(activityRepository.findActivity(NOW.minusDays(7))).thenReturn(Map.of(
+                1, new ServerActivity(5, NOW.minusHours(1)),
+                2, new ServerActivity(10, NOW.minusHours(1)),
+                3, new ServerActivity(50, NOW.minusHours(2)),
+                4, new ServerActivity(0, NOW.minusHours(2)),
+                5, new ServerActivity(1, NOW.minusDays(2))));
+
+        List<Realm> due = poller.dueRealms(List.of(EVERLOOK_ALLIANCE, EVERLOOK_HORDE, FAERLINA_ALLIANCE, FAERLINA_HORDE,
+                PYREWOOD_ALLIANCE), NOW);
+
+        assertThat(due).extracting(Realm::name).containsExactly("Faerlina", "Pyrewood Village");
+        assertThat(due.get(0).servers()).containsExactly(FAERLINA_ALLIANCE, FAERLINA_HORDE);
+    }
+
+    @Test
+    void prioritize_putsRealmsWithoutRecentPopulationFirst() {
+        List<Realm> realms = List.of(
+                new Realm("Everlook", Region.EU, List.of(EVERLOOK_ALLIANCE, EVERLOOK_HORDE)),
+                new Realm("Faerlina", Region.US, List.of(FAERLINA_ALLIANCE, FAERLINA_HORDE)));
+        Map<Integer, ServerActivity> activity = Map.of(
+                1, new ServerActivity(100, NOW),
+                2, new ServerActivity(100, NOW),
+                3, new ServerActivity(0, NOW));
+
+        List<Realm> due = PopulationServerPoller.prioritize(realms, activity, 0, NOW.minusDays(1));
+
+        assertThat(due).extracting(Realm::name).containsExactly("Faerlina");
+    }
+
+    @Test
+    void poll_passesEveryFetchedRealmAndSkipsFailedOnes() {
+        Realm everlook = new Realm("Everlook", Region.EU, List.of(EVERLOOK_ALLIANCE));
+        Realm pyrewood = new Realm("Pyrewood Village", Region.EU, List.of(PYREWOOD_ALLIANCE));
+        Realm faerlina = new Realm("Faerlina", Region.US, List.of(FAERLINA_ALLIANCE));
+        TotalPopResponse everlookPopulation = TotalPopResponse.builder().serverName("Everlook").popAlliance(10).build();
+        TotalPopResponse pyrewoodPopulation = TotalPopResponse.builder().serverName("Pyrewood Village").popAlliance(20).build();
+        when(warcraftTavernService.getPopulation(any(), any())).thenAnswer(invocation -> {
+            String slug = invocation.getArgument(1);
+            return switch (slug) {
+                case "everlook" -> everlookPopulation;
+                case "pyrewood-village" -> pyrewoodPopulation;
+                default -> throw new PopulationParsingException("Error while parsing population json");
+            };
+        });
+        Map<String, TotalPopResponse> saved = new ConcurrentHashMap<>();
+
+        int refreshed = poller.poll(List.of(everlook, pyrewood, faerlina), (realm, population) -> saved.put(realm.name(), population));
+
+        assertThat(refreshed).isEqualTo(2);
+        assertThat(saved).containsOnly(
+                Map.entry("Everlook", everlookPopulation),
+                Map.entry("Pyrewood Village", pyrewoodPopulation));
+    }
+}
@@ -0,0 +1,78 @@
+package com.thoroldvix.economatic.recommendation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerScoresTest {
+
+    private ServerScores scores;
+
+    @BeforeEach
+    void setUp() {
+        scores = new ServerScores(List.of("everlook", "gehennas", "firemaw", "mograine", "venoxis"));
+        for (int i = 0; i < 5; i++) {
+            scores.setPopulationScore(i, 0.1);
+            scores.setGoldPriceScore(scores.server(i), 0.5);
+        }
+    }
+
+    @Test
+    void top_returnsServersOrderedByDescendingTotalScore() {
+        scores.addItemPriceScore("gehennas", 3);
+        scores.addItemPriceScore("firemaw", 1);
+        scores.addItemPriceScore("firemaw", 1.5);
+        scores.addItemPriceScore("venoxis", 4);
+
+        int[] top = scores.top(3);
+
+        assertThat(servers(scores, top)).containsExactly("venoxis", "gehennas", "firemaw");
+        assertThat(scores.totalScore(top[2])).isEqualTo(3.1);
+    }
+
+    @Test
+    void top_returnsAllRankedServers_whenLimitExceedsServerCount() {
+        scores.addItemPriceScore("mograine", 1);
+
+        int[] top = scores.top(10);
+
+        assertThat(top).hasSize(5);
+        assertThat(scores.server(top[0])).isEqualTo("mograine");
+    }
+
+    @Test
+    void top_breaksTiesByServerOrder() {
+        int[] top = scores.top(2);
+
+        assertThat(servers(scores, top)).containsExactly("everlook", "gehennas");
+    }
+
+    @Test
+    void top_skipsServersWithoutGoldPrice() {
+        ServerScores partial = new ServerScores(List.of("everlook", "gehennas"));
+        partial.addItemPriceScore("everlook", 10);
+        partial.setGoldPriceScore("gehennas", 0.1);
+
+        int[] top = partial.top(2);
+
+        assertThat(servers(partial, top)).containsExactly("gehennas");
+    }
+
+    @Test
+    void addItemPriceScore_ignoresUnknownServers() {
+        scores.addItemPriceScore("unknown", 100);
+
+        assertThat(scores.indexOf("unknown")).isEqualTo(-1);
+        assertThat(Arrays.stream(scores.top(5)).mapToDouble(scores::itemPriceScore)).containsOnly(0.0);
+    }
+
+    private static List<String> servers(ServerScores scores, int[] indexes) {
+        return Arrays.stream(indexes)
+                .mapToObj(scores::server)
+                .toList();
+    }
+}
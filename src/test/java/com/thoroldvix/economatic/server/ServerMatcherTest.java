@@ -0,0 +1,96 @@
+package com.thoroldvix.economatic.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServerMatcherTest {
+
+    private static final ServerResponse EVERLOOK_ALLIANCE = server(1, "Everlook", Faction.ALLIANCE, "everlook-alliance");
+    private static final ServerResponse EVERLOOK_HORDE = server(2, "Everlook", Faction.HORDE, "everlook-horde");
+    private static final ServerResponse GEHENNAS_HORDE = server(3, "Gehennas", Faction.HORDE, "gehennas-horde");
+
+    @Mock
+    private ServerService serverService;
+    private SimpleMeterRegistry meterRegistry;
+    private ServerMatcher underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new ServerMatcher(serverService, meterRegistry);
+        when(serverService.getAll()).thenReturn(new ServerListResponse(List.of(EVERLOOK_ALLIANCE, EVERLOOK_HORDE, GEHENNAS_HORDE)));
+    }
+
+    private static ServerResponse server(int id, String name, Faction faction, String uniqueName) {
+        return ServerResponse.builder()
+                .id(id)
+                .name(name)
+                .faction(faction)
+                .region(Region.EU)
+                .uniqueName(uniqueName)
+                .build();
+    }
+
+    @Test
+    void matchByUniqueName_matchesFirstRecordOfEveryServer() {
+        List<Offer> offers = List.of(new Offer("gehennas-horde", 1), new Offer("everlook-alliance", 2),
+                new Offer("gehennas-horde", 3));
+
+        ServerMatcher.Matches<Offer> matches = underTest.matchByUniqueName("g2g", offers, Offer::server);
+
+        assertThat(matches.matched()).containsExactly(
+                new ServerMatcher.Match<>(EVERLOOK_ALLIANCE, new Offer("everlook-alliance", 2)),
+                new ServerMatcher.Match<>(GEHENNAS_HORDE, new Offer("gehennas-horde", 1)));
+    }
+
+    @Test
+    void matchByUniqueName_reportsUnmatchedServersAndRecords() {
+        List<Offer> offers = List.of(new Offer("everlook-alliance", 1), new Offer("firemaw-horde", 2));
+
+        ServerMatcher.Matches<Offer> matches = underTest.matchByUniqueName("g2g", offers, Offer::server);
+
+        assertThat(matches.unmatchedServers()).containsExactly(EVERLOOK_HORDE, GEHENNAS_HORDE);
+        assertThat(matches.unmatchedRecords()).containsExactly(new Offer("firemaw-horde", 2));
+        assertThat(gauge("economatic.server-match.unmatched-servers", "g2g")).isEqualTo(2);
+        assertThat(gauge("economatic.server-match.unmatched-records", "g2g")).isEqualTo(1);
+    }
+
+    @Test
+    void matchByUniqueName_updatesGaugesWithLatestMatch() {
+        underTest.matchByUniqueName("g2g", List.of(), Offer::server);
+
+        underTest.matchByUniqueName("g2g", List.of(new Offer("everlook-alliance", 1), new Offer("everlook-horde", 1),
+                new Offer("gehennas-horde", 1)), Offer::server);
+
+        assertThat(gauge("economatic.server-match.unmatched-servers", "g2g")).isZero();
+    }
+
+    @Test
+    void matchByName_matchesRecordToServersOfBothFactions() {
+        List<Offer> populations = List.of(new Offer("Everlook", 100));
+
+        ServerMatcher.Matches<Offer> matches = underTest.matchByName("warcrafttavern", populations, Offer::server);
+
+        assertThat(matches.matched()).extracting(ServerMatcher.Match::server)
+                .containsExactly(EVERLOOK_ALLIANCE, EVERLOOK_HORDE);
+        assertThat(matches.unmatchedServers()).containsExactly(GEHENNAS_HORDE);
+        assertThat(matches.unmatchedRecords()).isEmpty();
+    }
+
+    private double gauge(String name, String source) {
+        return meterRegistry.get(name).tag("source", source).gauge().value();
+    }
+
+    private record Offer(String server, int value) {
+    }
+}
@@ -1,73 +1,40 @@
 package com.thoroldvix.economatic.stats.goldprice;
 
 import com.thoroldvix.economatic.goldprice.GoldPriceResponse;
-import com.thoroldvix.economatic.stats.StatsProjection;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class GoldPriceStatMapperTest {
 
-    private static final BigDecimal MEAN = BigDecimal.valueOf(0.1).setScale(6, RoundingMode.HALF_UP);
-    private static final int MAX_ID = 1;
-    private static final int MIN_ID = 2;
-    private static final BigDecimal MEDIAN = BigDecimal.valueOf(0.2).setScale(6, RoundingMode.HALF_UP);
-    private static final int COUNT = 3;
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2023, 4, 1, 12, 0);
     private final GoldPriceStatMapper priceStatMapper = Mappers.getMapper(GoldPriceStatMapper.class);
 
     @Test
-    void toResponse_returnsValidGoldPriceStatResponse_whenValidStatProjectionProvided() {
-        StatsProjection statsProjection = getStatProjection();
+    void toResponse_returnsValidGoldPriceStatResponse_whenValidStatsProvided() {
+        GoldPriceStats stats = GoldPriceStats.of(observation(1, "0.001"))
+                .merge(GoldPriceStats.of(observation(2, "0.002")))
+                .merge(GoldPriceStats.of(observation(3, "0.0021")));
         GoldPriceResponse min = GoldPriceResponse.builder().build();
         GoldPriceResponse max = GoldPriceResponse.builder().build();
-        GoldPriceStatResponse expected = buildGoldPriceStatResponse(max, min);
-
-        GoldPriceStatResponse actual = priceStatMapper.toResponse(statsProjection, min, max);
-
-        assertThat(actual).isEqualTo(expected);
-    }
-
-    private static GoldPriceStatResponse buildGoldPriceStatResponse(GoldPriceResponse max, GoldPriceResponse min) {
-        return GoldPriceStatResponse.builder()
-                .count(COUNT)
+        GoldPriceStatResponse expected = GoldPriceStatResponse.builder()
+                .count(3)
                 .maximum(max)
-                .mean(MEAN)
-                .median(MEDIAN)
+                .mean(new BigDecimal("0.001700"))
+                .median(new BigDecimal("0.002000"))
                 .minimum(min)
                 .build();
-    }
 
-    private StatsProjection getStatProjection() {
-        return new StatsProjection() {
-            @Override
-            public BigDecimal getMean() {
-                return GoldPriceStatMapperTest.MEAN;
-            }
+        GoldPriceStatResponse actual = priceStatMapper.toResponse(stats, min, max);
 
-            @Override
-            public Number getMaxId() {
-                return GoldPriceStatMapperTest.MAX_ID;
-            }
-
-            @Override
-            public Number getMinId() {
-                return GoldPriceStatMapperTest.MIN_ID;
-            }
-
-            @Override
-            public BigDecimal getMedian() {
-                return GoldPriceStatMapperTest.MEDIAN;
-            }
-
-            @Override
-            public long getCount() {
-                return GoldPriceStatMapperTest.COUNT;
-            }
-        };
+        assertThat(actual).isEqualTo(expected);
     }
 
-}
\ No newline at end of file
+    private static GoldPriceStats.Observation observation(long id, String value) {
+        return new GoldPriceStats.Observation(id, 1, new BigDecimal(value), UPDATED_AT);
+    }
+}
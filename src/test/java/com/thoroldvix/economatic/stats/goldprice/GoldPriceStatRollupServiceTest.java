@@ -0,0 +1,90 @@
+package com.thoroldvix.economatic.stats.goldprice;
+
+import com.thoroldvix.economatic.goldprice.GoldPrice;
+import com.thoroldvix.economatic.server.Server;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GoldPriceStatRollupServiceTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2023, 4, 1, 14, 5);
+
+    @Mock
+    private GoldPriceStatJdbcRepository goldPriceStatJdbcRepository;
+
+    @InjectMocks
+    private GoldPriceStatRollupService goldPriceStatRollupService;
+
+    @Test
+    void addToRollups_mergesNewPricesIntoExistingRollups() {
+        var hourlyKey = new GoldPriceStatJdbcRepository.RollupKey(1, UPDATED_AT.withMinute(0));
+        var dailyKey = new GoldPriceStatJdbcRepository.RollupKey(1, UPDATED_AT.toLocalDate().atStartOfDay());
+        var existing = new GoldPriceStats.Observation(10, 1, new BigDecimal("0.001000"), UPDATED_AT.minusHours(5));
+        when(goldPriceStatJdbcRepository.findForUpdate(eq(RollupGranularity.HOURLY), any())).thenReturn(new HashMap<>());
+        when(goldPriceStatJdbcRepository.findForUpdate(eq(RollupGranularity.DAILY), any()))
+                .thenReturn(new HashMap<>(Map.of(dailyKey, GoldPriceStats.of(existing))));
+
+        goldPriceStatRollupService.addToRollups(List.of(goldPrice(11, 1, "0.003000")));
+
+        Map<GoldPriceStatJdbcRepository.RollupKey, GoldPriceStats> hourly = captureUpsert(RollupGranularity.HOURLY);
+        assertThat(hourly).containsOnlyKeys(hourlyKey);
+        assertThat(hourly.get(hourlyKey).count()).isEqualTo(1);
+
+        GoldPriceStats daily = captureUpsert(RollupGranularity.DAILY).get(dailyKey);
+        assertThat(daily.count()).isEqualTo(2);
+        assertThat(daily.sum()).isEqualByComparingTo("0.004");
+        assertThat(daily.min().id()).isEqualTo(10);
+        assertThat(daily.max().id()).isEqualTo(11);
+        assertThat(daily.median()).isEqualTo(new BigDecimal("0.002000"));
+    }
+
+    @Test
+    void addToRollups_keepsServersInSeparateRollups() {
+        when(goldPriceStatJdbcRepository.findForUpdate(any(), any())).thenAnswer(invocation -> new HashMap<>());
+
+        goldPriceStatRollupService.addToRollups(List.of(goldPrice(1, 1, "0.001"), goldPrice(2, 2, "0.002")));
+
+        assertThat(captureUpsert(RollupGranularity.HOURLY)).hasSize(2);
+    }
+
+    @Test
+    void addToRollups_doesNothing_whenNoPrices() {
+        goldPriceStatRollupService.addToRollups(List.of());
+
+        verifyNoInteractions(goldPriceStatJdbcRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<GoldPriceStatJdbcRepository.RollupKey, GoldPriceStats> captureUpsert(RollupGranularity granularity) {
+        ArgumentCaptor<Map<GoldPriceStatJdbcRepository.RollupKey, GoldPriceStats>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(goldPriceStatJdbcRepository).upsert(eq(granularity), captor.capture());
+        return captor.getValue();
+    }
+
+    private static GoldPrice goldPrice(long id, int serverId, String value) {
+        return GoldPrice.builder()
+                .id(id)
+                .value(new BigDecimal(value))
+                .updatedAt(UPDATED_AT)
+                .server(Server.builder().id(serverId).build())
+                .build();
+    }
+}
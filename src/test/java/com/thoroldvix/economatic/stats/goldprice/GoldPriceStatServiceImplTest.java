@@ -4,26 +4,29 @@ import com.thoroldvix.economatic.common.dto.TimeRange;
 import com.thoroldvix.economatic.error.ErrorMessages;
 import com.thoroldvix.economatic.error.StatisticsNotFoundException;
 import com.thoroldvix.economatic.goldprice.GoldPriceResponse;
-import com.thoroldvix.economatic.goldprice.GoldPriceService;
-import com.thoroldvix.economatic.server.Faction;
-import com.thoroldvix.economatic.server.Region;
+import com.thoroldvix.economatic.server.ServerListResponse;
 import com.thoroldvix.economatic.server.ServerResponse;
 import com.thoroldvix.economatic.server.ServerService;
-import com.thoroldvix.economatic.stats.StatsProjection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 
@@ -31,72 +34,40 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class GoldPriceStatServiceImplTest {
 
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2023, 4, 1, 12, 0);
+
     @Mock
     private ServerService serverService;
     @Mock
-    private GoldPriceStatRepository goldPriceStatRepository;
+    private GoldPriceStatJdbcRepository goldPriceStatJdbcRepository;
     @Mock
     private GoldPriceStatMapper goldPriceStatMapper;
-    @Mock
-    private GoldPriceService goldPriceService;
 
     @InjectMocks
     private GoldPriceStatServiceImpl goldPriceStatServiceImpl;
     private String serverIdentifier;
     private TimeRange timeRange;
-
-    private static StatsProjection getStatsProjection(BigDecimal mean, BigDecimal median, Number minId, Number maxId, long count) {
-        return new StatsProjection() {
-            @Override
-            public Number getMean() {
-                return mean;
-            }
-
-            @Override
-            public Number getMaxId() {
-                return maxId;
-            }
-
-            @Override
-            public Number getMinId() {
-                return maxId;
-            }
-
-            @Override
-            public Number getMedian() {
-                return median;
-            }
-
-            @Override
-            public long getCount() {
-                return count;
-            }
-        };
-    }
+    private ServerResponse alliance;
+    private ServerResponse horde;
 
     @BeforeEach
     void setUp() {
         serverIdentifier = "server1-alliance";
         timeRange = new TimeRange(7);
+        alliance = ServerResponse.builder().id(1).uniqueName("server1-alliance").build();
+        horde = ServerResponse.builder().id(2).uniqueName("server1-horde").build();
     }
 
     @Test
     void getForServer_returnsCorrectGoldPriceStatResponse() {
-        ServerResponse server = ServerResponse.builder().id(1).build();
-        when(serverService.getServer(serverIdentifier)).thenReturn(server);
-
-        long count = 5;
-        StatsProjection statsProjection = getStatsProjection(BigDecimal.TEN, BigDecimal.TEN, 1, 2, count);
-        when(goldPriceStatRepository.findStatsForServer(server.id(), timeRange.start(), timeRange.end())).thenReturn(statsProjection);
-
-        GoldPriceResponse min = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMinId().longValue())).thenReturn(min);
+        when(serverService.getServer(serverIdentifier)).thenReturn(alliance);
+        GoldPriceStats stats = getStats(alliance.id(), alliance.id());
+        when(goldPriceStatJdbcRepository.findStats(eq(Set.of(alliance.id())), any())).thenReturn(stats);
 
-        GoldPriceResponse max = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMaxId().longValue())).thenReturn(max);
-
-        GoldPriceStatResponse expected = getStatResponse(min, max, count);
-        when(goldPriceStatMapper.toResponse(statsProjection, min, max)).thenReturn(expected);
+        GoldPriceResponse min = getGoldPriceResponse("0.001000", alliance.uniqueName());
+        GoldPriceResponse max = getGoldPriceResponse("0.002000", alliance.uniqueName());
+        GoldPriceStatResponse expected = getStatResponse(min, max);
+        when(goldPriceStatMapper.toResponse(stats, min, max)).thenReturn(expected);
 
         GoldPriceStatResponse actual = goldPriceStatServiceImpl.getForServer(serverIdentifier, timeRange);
 
@@ -112,60 +83,29 @@ class GoldPriceStatServiceImplTest {
     }
 
     @Test
-    void getForServer_throwsStatisticsNotFoundException_whenRepositoryReturnsInvalidStatProjection() {
-        ServerResponse server = ServerResponse.builder().id(1).build();
-        when(serverService.getServer(serverIdentifier)).thenReturn(server);
-
-        StatsProjection statsProjection = getStatsProjection(null, null, null, null, 0);
-        when(goldPriceStatRepository.findStatsForServer(server.id(), timeRange.start(), timeRange.end())).thenReturn(statsProjection);
+    void getForServer_throwsStatisticsNotFoundException_whenNoPricesInRange() {
+        when(serverService.getServer(serverIdentifier)).thenReturn(alliance);
+        when(goldPriceStatJdbcRepository.findStats(eq(Set.of(alliance.id())), any())).thenReturn(GoldPriceStats.empty());
 
         assertThatThrownBy(() -> goldPriceStatServiceImpl.getForServer(serverIdentifier, timeRange))
                 .isInstanceOf(StatisticsNotFoundException.class);
     }
 
-    @Test
-    void getForRegion_returnsCorrectGoldPriceStatResponse_whenEuRegion() {
-        long count = 5;
-        StatsProjection statsProjection = getStatsProjection(BigDecimal.TEN, BigDecimal.TEN, 1, 2, count);
-        when(goldPriceStatRepository.findForRegion(Region.EU.ordinal(), timeRange.start(), timeRange.end())).thenReturn(statsProjection);
-
-        GoldPriceResponse min = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMinId().longValue())).thenReturn(min);
-
-        GoldPriceResponse max = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMaxId().longValue())).thenReturn(max);
-
-        GoldPriceStatResponse expectedResponse = getStatResponse(min, max, count);
-        when(goldPriceStatMapper.toResponse(statsProjection, min, max)).thenReturn(expectedResponse);
-
-        String regionName = "eu";
-        GoldPriceStatResponse actual = goldPriceStatServiceImpl.getForRegion(regionName, timeRange);
-
-
-        assertThat(actual).isEqualTo(expectedResponse);
-    }
-
-
-    @Test
-    void getForRegion_returnsCorrectGoldPriceStatResponse_whenUsRegion() {
-        long count = 5;
-        StatsProjection statsProjection = getStatsProjection(BigDecimal.TEN, BigDecimal.TEN, 1, 2, count);
-        when(goldPriceStatRepository.findForRegion(Region.US.ordinal(), timeRange.start(), timeRange.end())).thenReturn(statsProjection);
-
-        GoldPriceResponse min = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMinId().longValue())).thenReturn(min);
-
-        GoldPriceResponse max = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMaxId().longValue())).thenReturn(max);
+    @ParameterizedTest
+    @ValueSource(strings = {"eu", "us"})
+    void getForRegion_returnsCorrectGoldPriceStatResponse(String regionName) {
+        when(serverService.getAllForRegion(regionName)).thenReturn(new ServerListResponse(List.of(alliance, horde)));
+        GoldPriceStats stats = getStats(alliance.id(), horde.id());
+        when(goldPriceStatJdbcRepository.findStats(eq(Set.of(alliance.id(), horde.id())), any())).thenReturn(stats);
 
-        GoldPriceStatResponse expectedResponse = getStatResponse(min, max, count);
-        when(goldPriceStatMapper.toResponse(statsProjection, min, max)).thenReturn(expectedResponse);
+        GoldPriceResponse min = getGoldPriceResponse("0.001000", alliance.uniqueName());
+        GoldPriceResponse max = getGoldPriceResponse("0.002000", horde.uniqueName());
+        GoldPriceStatResponse expected = getStatResponse(min, max);
+        when(goldPriceStatMapper.toResponse(stats, min, max)).thenReturn(expected);
 
-        String regionName = "us";
         GoldPriceStatResponse actual = goldPriceStatServiceImpl.getForRegion(regionName, timeRange);
 
-
-        assertThat(actual).isEqualTo(expectedResponse);
+        assertThat(actual).isEqualTo(expected);
     }
 
     @ParameterizedTest
@@ -176,48 +116,21 @@ class GoldPriceStatServiceImplTest {
                 .hasMessage(ErrorMessages.REGION_NAME_CANNOT_BE_NULL_OR_EMPTY.message);
     }
 
-    @Test
-    void getForFaction_returnsCorrectGoldPriceStatResponse_whenAllianceFaction() {
-        long count = 5;
-        StatsProjection statsProjection = getStatsProjection(BigDecimal.TEN, BigDecimal.TEN, 1, 2, count);
-        when(goldPriceStatRepository.findForFaction(Faction.ALLIANCE.ordinal(), timeRange.start(), timeRange.end())).thenReturn(statsProjection);
-
-        GoldPriceResponse min = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMinId().longValue())).thenReturn(min);
-
-        GoldPriceResponse max = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMaxId().longValue())).thenReturn(max);
-
-        GoldPriceStatResponse expectedResponse = getStatResponse(min, max, count);
-        when(goldPriceStatMapper.toResponse(statsProjection, min, max)).thenReturn(expectedResponse);
-
-        String regionName = "alliance";
-        GoldPriceStatResponse actual = goldPriceStatServiceImpl.getForFaction(regionName, timeRange);
-
-
-        assertThat(actual).isEqualTo(expectedResponse);
-    }
-
-    @Test
-    void getForFaction_returnsCorrectGoldPriceStatResponse_whenHordeFaction() {
-        long count = 5;
-        StatsProjection statsProjection = getStatsProjection(BigDecimal.TEN, BigDecimal.TEN, 1, 2, count);
-        when(goldPriceStatRepository.findForFaction(Faction.HORDE.ordinal(), timeRange.start(), timeRange.end())).thenReturn(statsProjection);
-
-        GoldPriceResponse min = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMinId().longValue())).thenReturn(min);
-
-        GoldPriceResponse max = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMaxId().longValue())).thenReturn(max);
-
-        GoldPriceStatResponse expectedResponse = getStatResponse(min, max, count);
-        when(goldPriceStatMapper.toResponse(statsProjection, min, max)).thenReturn(expectedResponse);
+    @ParameterizedTest
+    @ValueSource(strings = {"alliance", "horde"})
+    void getForFaction_returnsCorrectGoldPriceStatResponse(String factionName) {
+        when(serverService.getAllForFaction(factionName)).thenReturn(new ServerListResponse(List.of(alliance)));
+        GoldPriceStats stats = getStats(alliance.id(), alliance.id());
+        when(goldPriceStatJdbcRepository.findStats(eq(Set.of(alliance.id())), any())).thenReturn(stats);
 
-        String regionName = "horde";
-        GoldPriceStatResponse actual = goldPriceStatServiceImpl.getForFaction(regionName, timeRange);
+        GoldPriceResponse min = getGoldPriceResponse("0.001000", alliance.uniqueName());
+        GoldPriceResponse max = getGoldPriceResponse("0.002000", alliance.uniqueName());
+        GoldPriceStatResponse expected = getStatResponse(min, max);
+        when(goldPriceStatMapper.toResponse(stats, min, max)).thenReturn(expected);
 
+        GoldPriceStatResponse actual = goldPriceStatServiceImpl.getForFaction(factionName, timeRange);
 
-        assertThat(actual).isEqualTo(expectedResponse);
+        assertThat(actual).isEqualTo(expected);
     }
 
     @ParameterizedTest
@@ -230,33 +143,40 @@ class GoldPriceStatServiceImplTest {
 
     @Test
     void getForAll_returnsCorrectGoldPriceStatResponse() {
-        long count = 5;
-        StatsProjection statsProjection = getStatsProjection(BigDecimal.TEN, BigDecimal.TEN, 1, 2, count);
-        when(goldPriceStatRepository.findStatsForAll(timeRange.start(), timeRange.end())).thenReturn(statsProjection);
-
-        GoldPriceResponse min = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMinId().longValue())).thenReturn(min);
-
-        GoldPriceResponse max = GoldPriceResponse.builder().build();
-        when(goldPriceService.getForId(statsProjection.getMaxId().longValue())).thenReturn(max);
-
-        GoldPriceStatResponse expectedResponse = getStatResponse(min, max, count);
-        when(goldPriceStatMapper.toResponse(statsProjection, min, max)).thenReturn(expectedResponse);
+        when(serverService.getAll()).thenReturn(new ServerListResponse(List.of(alliance, horde)));
+        GoldPriceStats stats = getStats(horde.id(), alliance.id());
+        when(goldPriceStatJdbcRepository.findStats(eq(Set.of(alliance.id(), horde.id())), any())).thenReturn(stats);
 
+        GoldPriceResponse min = getGoldPriceResponse("0.001000", horde.uniqueName());
+        GoldPriceResponse max = getGoldPriceResponse("0.002000", alliance.uniqueName());
+        GoldPriceStatResponse expected = getStatResponse(min, max);
+        when(goldPriceStatMapper.toResponse(stats, min, max)).thenReturn(expected);
 
         GoldPriceStatResponse actual = goldPriceStatServiceImpl.getForAll(timeRange);
 
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static GoldPriceStats getStats(int minServerId, int maxServerId) {
+        return GoldPriceStats.of(new GoldPriceStats.Observation(1, minServerId, new BigDecimal("0.001000"), UPDATED_AT))
+                .merge(GoldPriceStats.of(new GoldPriceStats.Observation(2, maxServerId, new BigDecimal("0.002000"), UPDATED_AT)));
+    }
 
-        assertThat(actual).isEqualTo(expectedResponse);
+    private static GoldPriceResponse getGoldPriceResponse(String price, String server) {
+        return GoldPriceResponse.builder()
+                .price(new BigDecimal(price))
+                .server(server)
+                .updatedAt(UPDATED_AT)
+                .build();
     }
 
-    private GoldPriceStatResponse getStatResponse(GoldPriceResponse min, GoldPriceResponse max, long count) {
+    private GoldPriceStatResponse getStatResponse(GoldPriceResponse min, GoldPriceResponse max) {
         return GoldPriceStatResponse.builder()
-                .mean(BigDecimal.TEN)
-                .median(BigDecimal.TEN)
-                .count(count)
+                .mean(new BigDecimal("0.001500"))
+                .median(new BigDecimal("0.001500"))
+                .count(2)
                 .maximum(max)
                 .minimum(min)
                 .build();
     }
-}
\ No newline at end of file
+}
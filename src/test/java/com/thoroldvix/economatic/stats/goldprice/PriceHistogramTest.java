@@ -0,0 +1,59 @@
+package com.thoroldvix.economatic.stats.goldprice;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceHistogramTest {
+
+    @Test
+    void median_returnsMiddleValue_whenCountIsOdd() {
+        PriceHistogram histogram = PriceHistogram.of(new int[]{3000, 1000, 2000}, new long[]{1, 1, 1});
+
+        assertThat(histogram.median()).isEqualTo(new BigDecimal("0.002000"));
+    }
+
+    @Test
+    void median_interpolatesBetweenMiddleValues_whenCountIsEven() {
+        PriceHistogram histogram = PriceHistogram.of(new int[]{1000, 2001}, new long[]{1, 1});
+
+        assertThat(histogram.median()).isEqualTo(new BigDecimal("0.001501"));
+    }
+
+    @Test
+    void median_respectsCounts() {
+        PriceHistogram histogram = PriceHistogram.of(new int[]{1000, 5000}, new long[]{4, 1});
+
+        assertThat(histogram.median()).isEqualTo(new BigDecimal("0.001000"));
+    }
+
+    @Test
+    void median_returnsNull_whenHistogramIsEmpty() {
+        assertThat(PriceHistogram.empty().median()).isNull();
+    }
+
+    @Test
+    void merge_combinesCountsOfEqualValues() {
+        PriceHistogram histogram = PriceHistogram.of(new int[]{1000, 3000}, new long[]{2, 1});
+
+        histogram.merge(PriceHistogram.of(new int[]{3000, 2000}, new long[]{4, 1}));
+        histogram.merge(PriceHistogram.of(new BigDecimal("0.001")));
+
+        assertThat(histogram.values()).containsExactly(1000, 2000, 3000);
+        assertThat(histogram.counts()).containsExactly(3, 1, 5);
+    }
+
+    @Test
+    void toMicros_roundsToPriceScale() {
+        assertThat(PriceHistogram.toMicros(new BigDecimal("0.0012345"))).isEqualTo(1235);
+    }
+
+    @Test
+    void of_throwsIllegalArgumentException_whenLengthsDiffer() {
+        assertThatThrownBy(() -> PriceHistogram.of(new int[]{1}, new long[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.thoroldvix.economatic.stats.goldprice;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RollupRangeTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2023, 4, 1, 0, 0);
+
+    @Test
+    void of_splitsMultiDayRangeIntoRawHourlyAndDailyParts() {
+        LocalDateTime start = DAY.plusHours(14).plusMinutes(23);
+        LocalDateTime end = DAY.plusDays(7).plusHours(14).plusMinutes(23);
+
+        RollupRange range = RollupRange.of(start, end);
+
+        assertThat(range.rawStart()).isEqualTo(interval(start, DAY.plusHours(15)));
+        assertThat(range.hourlyStart()).isEqualTo(interval(DAY.plusHours(15), DAY.plusDays(1)));
+        assertThat(range.daily()).isEqualTo(interval(DAY.plusDays(1), DAY.plusDays(7)));
+        assertThat(range.hourlyEnd()).isEqualTo(interval(DAY.plusDays(7), DAY.plusDays(7).plusHours(14)));
+        assertThat(range.rawEnd()).isEqualTo(interval(DAY.plusDays(7).plusHours(14), end));
+    }
+
+    @Test
+    void of_usesOnlyHourlyRollups_whenRangeHasNoFullDay() {
+        LocalDateTime start = DAY.plusHours(2).plusMinutes(30);
+        LocalDateTime end = DAY.plusDays(1).plusHours(1).plusMinutes(30);
+
+        RollupRange range = RollupRange.of(start, end);
+
+        assertThat(range.rawStart()).isEqualTo(interval(start, DAY.plusHours(3)));
+        assertThat(range.hourlyStart()).isEqualTo(interval(DAY.plusHours(3), DAY.plusDays(1).plusHours(1)));
+        assertThat(isEmpty(range.daily())).isTrue();
+        assertThat(isEmpty(range.hourlyEnd())).isTrue();
+        assertThat(range.rawEnd()).isEqualTo(interval(DAY.plusDays(1).plusHours(1), end));
+    }
+
+    @Test
+    void of_usesOnlyRawPrices_whenRangeIsWithinOneHour() {
+        LocalDateTime start = DAY.plusMinutes(10);
+        LocalDateTime end = DAY.plusMinutes(50);
+
+        RollupRange range = RollupRange.of(start, end);
+
+        assertThat(isEmpty(range.rawStart())).isTrue();
+        assertThat(isEmpty(range.hourlyStart())).isTrue();
+        assertThat(isEmpty(range.daily())).isTrue();
+        assertThat(isEmpty(range.hourlyEnd())).isTrue();
+        assertThat(range.rawEnd()).isEqualTo(interval(start, end));
+    }
+
+    @Test
+    void of_usesOnlyDailyRollups_whenRangeIsAlignedToDays() {
+        RollupRange range = RollupRange.of(DAY, DAY.plusDays(7));
+
+        assertThat(isEmpty(range.rawStart())).isTrue();
+        assertThat(isEmpty(range.hourlyStart())).isTrue();
+        assertThat(range.daily()).isEqualTo(interval(DAY, DAY.plusDays(7)));
+        assertThat(isEmpty(range.hourlyEnd())).isTrue();
+        assertThat(range.rawEnd()).isEqualTo(interval(DAY.plusDays(7), DAY.plusDays(7)));
+    }
+
+    @Test
+    void of_throwsIllegalArgumentException_whenEndIsBeforeStart() {
+        assertThatThrownBy(() -> RollupRange.of(DAY, DAY.minusHours(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RollupRange.Interval interval(LocalDateTime from, LocalDateTime to) {
+        return new RollupRange.Interval(from, to);
+    }
+
+    private static boolean isEmpty(RollupRange.Interval interval) {
+        return !interval.from().isBefore(interval.to());
+    }
+}
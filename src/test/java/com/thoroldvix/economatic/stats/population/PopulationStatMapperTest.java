@@ -5,25 +5,31 @@ import com.thoroldvix.economatic.stats.StatsProjection;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class PopulationStatMapperTest {
 
     public static final int MEAN = 10;
-    public static final int MAX_ID = 2;
-    public static final int MIN_ID = 1;
     public static final int MEDIAN = 5;
     public static final long COUNT = 3;
+    public static final int MIN_VALUE = 1;
+    public static final int MAX_VALUE = 20;
+    public static final LocalDateTime MIN_UPDATED_AT = LocalDateTime.of(2023, 4, 1, 10, 0);
+    public static final LocalDateTime MAX_UPDATED_AT = LocalDateTime.of(2023, 4, 2, 10, 0);
+    public static final String MIN_SERVER = "everlook-alliance";
+    public static final String MAX_SERVER = "gehennas-horde";
     private final PopulationStatMapper underTest = Mappers.getMapper(PopulationStatMapper.class);
 
     @Test
     void toResponse_returnsCorrectPopulationStatResponse() {
         StatsProjection statsProjection = getStatsProjection();
-        PopulationResponse min = PopulationResponse.builder().build();
-        PopulationResponse max = PopulationResponse.builder().build();
+        PopulationResponse min = new PopulationResponse(MIN_SERVER, MIN_VALUE, MIN_UPDATED_AT);
+        PopulationResponse max = new PopulationResponse(MAX_SERVER, MAX_VALUE, MAX_UPDATED_AT);
         PopulationStatResponse expected = buildPopulationStatResponse(max, min);
 
-        PopulationStatResponse actual = underTest.toResponse(statsProjection, min, max);
+        PopulationStatResponse actual = underTest.toResponse(statsProjection);
 
         assertThat(actual).isEqualTo(expected);
     }
@@ -46,24 +52,44 @@ class PopulationStatMapperTest {
             }
 
             @Override
-            public Number getMaxId() {
-                return PopulationStatMapperTest.MAX_ID;
+            public Number getMedian() {
+                return PopulationStatMapperTest.MEDIAN;
             }
 
             @Override
-            public Number getMinId() {
-                return PopulationStatMapperTest.MIN_ID;
+            public long getCount() {
+                return PopulationStatMapperTest.COUNT;
             }
 
             @Override
-            public Number getMedian() {
-                return PopulationStatMapperTest.MEDIAN;
+            public Number getMinValue() {
+                return PopulationStatMapperTest.MIN_VALUE;
             }
 
             @Override
-            public long getCount() {
-                return PopulationStatMapperTest.COUNT;
+            public LocalDateTime getMinUpdatedAt() {
+                return PopulationStatMapperTest.MIN_UPDATED_AT;
+            }
+
+            @Override
+            public String getMinServer() {
+                return PopulationStatMapperTest.MIN_SERVER;
+            }
+
+            @Override
+            public Number getMaxValue() {
+                return PopulationStatMapperTest.MAX_VALUE;
+            }
+
+            @Override
+            public LocalDateTime getMaxUpdatedAt() {
+                return PopulationStatMapperTest.MAX_UPDATED_AT;
+            }
+
+            @Override
+            public String getMaxServer() {
+                return PopulationStatMapperTest.MAX_SERVER;
             }
         };
     }
-}
\ No newline at end of file
+}
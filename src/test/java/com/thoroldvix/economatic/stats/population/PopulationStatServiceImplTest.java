@@ -4,7 +4,6 @@ import com.thoroldvix.economatic.common.dto.TimeRange;
 import com.thoroldvix.economatic.error.ErrorMessages;
 import com.thoroldvix.economatic.error.StatisticsNotFoundException;
 import com.thoroldvix.economatic.population.PopulationResponse;
-import com.thoroldvix.economatic.population.PopulationService;
 import com.thoroldvix.economatic.server.Faction;
 import com.thoroldvix.economatic.server.Region;
 import com.thoroldvix.economatic.server.ServerResponse;
@@ -18,6 +17,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
@@ -31,8 +32,6 @@ class PopulationStatServiceImplTest {
     private ServerService serverService;
     @Mock
     private PopulationStatMapper populationStatMapper;
-    @Mock
-    private PopulationService populationServiceImpl;
 
     @InjectMocks
     private PopulationStatServiceImpl underTest;
@@ -44,15 +43,12 @@ class PopulationStatServiceImplTest {
         when(serverService.getServer(uniqueServerName)).thenReturn(serverResponse);
 
         TimeRange timeRange = new TimeRange(7);
-        StatsProjection statProjection = getStatsProjection(10, 2, 1, 5, 3);
+        StatsProjection statProjection = getStatsProjection(10, 5, 3);
         when(statRepository.findStatsByServer(serverResponse.id(), timeRange.start(), timeRange.end())).thenReturn(statProjection);
 
         PopulationResponse min = PopulationResponse.builder().build();
         PopulationResponse max = PopulationResponse.builder().build();
 
-        when(populationServiceImpl.getForId(1)).thenReturn(min);
-        when(populationServiceImpl.getForId(2)).thenReturn(max);
-
         PopulationStatResponse expected = PopulationStatResponse.builder()
                 .mean(10)
                 .maximum(max)
@@ -60,13 +56,13 @@ class PopulationStatServiceImplTest {
                 .median(5)
                 .count(3)
                 .build();
-        when(populationStatMapper.toResponse(statProjection, min, max)).thenReturn(expected);
+        when(populationStatMapper.toResponse(statProjection)).thenReturn(expected);
         PopulationStatResponse actual = underTest.getForServer(uniqueServerName, timeRange);
 
         assertThat(actual).isEqualTo(expected);
     }
 
-    private StatsProjection getStatsProjection(Integer mean, Integer maxId, Integer minId, Integer median, long count) {
+    private StatsProjection getStatsProjection(Integer mean, Integer median, long count) {
         return new StatsProjection() {
             @Override
             public Number getMean() {
@@ -74,23 +70,43 @@ class PopulationStatServiceImplTest {
             }
 
             @Override
-            public Number getMaxId() {
-                return maxId;
+            public Number getMedian() {
+                return median;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
             }
 
             @Override
-            public Number getMinId() {
-                return minId;
+            public Number getMinValue() {
+                return null;
             }
 
             @Override
-            public Number getMedian() {
-                return median;
+            public LocalDateTime getMinUpdatedAt() {
+                return null;
             }
 
             @Override
-            public long getCount() {
-                return count;
+            public String getMinServer() {
+                return null;
+            }
+
+            @Override
+            public Number getMaxValue() {
+                return null;
+            }
+
+            @Override
+            public LocalDateTime getMaxUpdatedAt() {
+                return null;
+            }
+
+            @Override
+            public String getMaxServer() {
+                return null;
             }
         };
     }
@@ -111,7 +127,7 @@ class PopulationStatServiceImplTest {
         ServerResponse serverResponse = ServerResponse.builder().build();
         when(serverService.getServer(serverIdentifier)).thenReturn(serverResponse);
 
-        StatsProjection emptyStatProjection = getStatsProjection(null, null, null, null, 0);
+        StatsProjection emptyStatProjection = getStatsProjection(null, null, 0);
         when(statRepository.findStatsByServer(serverResponse.id(), timeRange.start(), timeRange.end())).thenReturn(emptyStatProjection);
 
         assertThatThrownBy(() -> underTest.getForServer(serverIdentifier, timeRange))
@@ -124,15 +140,12 @@ class PopulationStatServiceImplTest {
         String regionName = "eu";
 
         TimeRange timeRange = new TimeRange(7);
-        StatsProjection statProjection = getStatsProjection(10, 2, 1, 5, 3);
+        StatsProjection statProjection = getStatsProjection(10, 5, 3);
         when(statRepository.findStatsByRegion(Region.EU.ordinal(), timeRange.start(), timeRange.end())).thenReturn(statProjection);
 
         PopulationResponse min = PopulationResponse.builder().build();
         PopulationResponse max = PopulationResponse.builder().build();
 
-        when(populationServiceImpl.getForId(1)).thenReturn(min);
-        when(populationServiceImpl.getForId(2)).thenReturn(max);
-
         PopulationStatResponse expected = PopulationStatResponse.builder()
                 .mean(10)
                 .maximum(max)
@@ -140,7 +153,7 @@ class PopulationStatServiceImplTest {
                 .median(5)
                 .count(3)
                 .build();
-        when(populationStatMapper.toResponse(statProjection, min, max)).thenReturn(expected);
+        when(populationStatMapper.toResponse(statProjection)).thenReturn(expected);
 
         PopulationStatResponse actual = underTest.getForRegion(regionName, timeRange);
 
@@ -152,15 +165,12 @@ class PopulationStatServiceImplTest {
         String regionName = "us";
 
         TimeRange timeRange = new TimeRange(7);
-        StatsProjection statProjection = getStatsProjection(10, 2, 1, 5, 3);
+        StatsProjection statProjection = getStatsProjection(10, 5, 3);
         when(statRepository.findStatsByRegion(Region.US.ordinal(), timeRange.start(), timeRange.end())).thenReturn(statProjection);
 
         PopulationResponse min = PopulationResponse.builder().build();
         PopulationResponse max = PopulationResponse.builder().build();
 
-        when(populationServiceImpl.getForId(1)).thenReturn(min);
-        when(populationServiceImpl.getForId(2)).thenReturn(max);
-
         PopulationStatResponse expected = PopulationStatResponse.builder()
                 .mean(10)
                 .maximum(max)
@@ -168,7 +178,7 @@ class PopulationStatServiceImplTest {
                 .median(5)
                 .count(3)
                 .build();
-        when(populationStatMapper.toResponse(statProjection, min, max)).thenReturn(expected);
+        when(populationStatMapper.toResponse(statProjection)).thenReturn(expected);
 
         PopulationStatResponse actual = underTest.getForRegion(regionName, timeRange);
 
@@ -189,7 +199,7 @@ class PopulationStatServiceImplTest {
         String regionName = "eu";
         TimeRange timeRange = new TimeRange(7);
 
-        StatsProjection emptyStatProjection = getStatsProjection(null, null, null, null, 0);
+        StatsProjection emptyStatProjection = getStatsProjection(null, null, 0);
         when(statRepository.findStatsByRegion(Region.EU.ordinal(), timeRange.start(), timeRange.end())).thenReturn(emptyStatProjection);
 
         assertThatThrownBy(() -> underTest.getForRegion(regionName, timeRange))
@@ -202,15 +212,12 @@ class PopulationStatServiceImplTest {
         String factionName = "alliance";
 
         TimeRange timeRange = new TimeRange(7);
-        StatsProjection statProjection = getStatsProjection(10, 2, 1, 5, 3);
+        StatsProjection statProjection = getStatsProjection(10, 5, 3);
         when(statRepository.findStatsByFaction(Faction.ALLIANCE.ordinal(), timeRange.start(), timeRange.end())).thenReturn(statProjection);
 
         PopulationResponse min = PopulationResponse.builder().build();
         PopulationResponse max = PopulationResponse.builder().build();
 
-        when(populationServiceImpl.getForId(1)).thenReturn(min);
-        when(populationServiceImpl.getForId(2)).thenReturn(max);
-
         PopulationStatResponse expected = PopulationStatResponse.builder()
                 .mean(10)
                 .maximum(max)
@@ -218,7 +225,7 @@ class PopulationStatServiceImplTest {
                 .median(5)
                 .count(3)
                 .build();
-        when(populationStatMapper.toResponse(statProjection, min, max)).thenReturn(expected);
+        when(populationStatMapper.toResponse(statProjection)).thenReturn(expected);
 
         PopulationStatResponse actual = underTest.getForFaction(factionName, timeRange);
 
@@ -230,15 +237,12 @@ class PopulationStatServiceImplTest {
         String factionName = "horde";
 
         TimeRange timeRange = new TimeRange(7);
-        StatsProjection statProjection = getStatsProjection(10, 2, 1, 5, 3);
+        StatsProjection statProjection = getStatsProjection(10, 5, 3);
         when(statRepository.findStatsByFaction(Faction.HORDE.ordinal(), timeRange.start(), timeRange.end())).thenReturn(statProjection);
 
         PopulationResponse min = PopulationResponse.builder().build();
         PopulationResponse max = PopulationResponse.builder().build();
 
-        when(populationServiceImpl.getForId(1)).thenReturn(min);
-        when(populationServiceImpl.getForId(2)).thenReturn(max);
-
         PopulationStatResponse expected = PopulationStatResponse.builder()
                 .mean(10)
                 .maximum(max)
@@ -246,7 +250,7 @@ class PopulationStatServiceImplTest {
                 .median(5)
                 .count(3)
                 .build();
-        when(populationStatMapper.toResponse(statProjection, min, max)).thenReturn(expected);
+        when(populationStatMapper.toResponse(statProjection)).thenReturn(expected);
 
         PopulationStatResponse actual = underTest.getForFaction(factionName, timeRange);
 
@@ -267,7 +271,7 @@ class PopulationStatServiceImplTest {
         String factionName = "alliance";
         TimeRange timeRange = new TimeRange(7);
 
-        StatsProjection emptyStatProjection = getStatsProjection(null, null, null, null, 0);
+        StatsProjection emptyStatProjection = getStatsProjection(null, null, 0);
         when(statRepository.findStatsByFaction(Faction.ALLIANCE.ordinal(), timeRange.start(), timeRange.end())).thenReturn(emptyStatProjection);
 
         assertThatThrownBy(() -> underTest.getForFaction(factionName, timeRange))
@@ -278,15 +282,12 @@ class PopulationStatServiceImplTest {
     @Test
     void getForAll_returnsCorrectPopulationStatResponse() {
         TimeRange timeRange = new TimeRange(7);
-        StatsProjection statProjection = getStatsProjection(10, 2, 1, 5, 3);
+        StatsProjection statProjection = getStatsProjection(10, 5, 3);
         when(statRepository.findForTimeRange(timeRange.start(), timeRange.end())).thenReturn(statProjection);
 
         PopulationResponse min = PopulationResponse.builder().build();
         PopulationResponse max = PopulationResponse.builder().build();
 
-        when(populationServiceImpl.getForId(1)).thenReturn(min);
-        when(populationServiceImpl.getForId(2)).thenReturn(max);
-
         PopulationStatResponse expected = PopulationStatResponse.builder()
                 .mean(10)
                 .maximum(max)
@@ -294,7 +295,7 @@ class PopulationStatServiceImplTest {
                 .median(5)
                 .count(3)
                 .build();
-        when(populationStatMapper.toResponse(statProjection, min, max)).thenReturn(expected);
+        when(populationStatMapper.toResponse(statProjection)).thenReturn(expected);
 
         PopulationStatResponse actual = underTest.getForAll(timeRange);
 
@@ -305,7 +306,7 @@ class PopulationStatServiceImplTest {
     void getForAll_throwsStatisticsNotFoundException_whenRepositoryReturnsEmptyStatProjection() {
         TimeRange timeRange = new TimeRange(7);
 
-        StatsProjection emptyStatProjection = getStatsProjection(null, null, null, null, 0);
+        StatsProjection emptyStatProjection = getStatsProjection(null, null, 0);
         when(statRepository.findForTimeRange(timeRange.start(), timeRange.end())).thenReturn(emptyStatProjection);
 
         assertThatThrownBy(() -> underTest.getForAll(timeRange))
@@ -4,11 +4,17 @@ import com.thoroldvix.economatic.summary.item.ItemSummaryResponse.Quality;
 import com.thoroldvix.economatic.summary.item.ItemSummaryResponse.Slot;
 import com.thoroldvix.economatic.summary.item.ItemSummaryResponse.Summary;
 import com.thoroldvix.economatic.summary.item.ItemSummaryResponse.Type;
+import com.thoroldvix.economatic.common.concurrent.QueryExecutor;
+import com.thoroldvix.economatic.common.concurrent.QueryExecutorProp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -20,9 +26,22 @@ class ItemSummaryServiceImplTest {
     private ItemSummaryMapper itemSummaryMapper;
     @Mock
     private ItemSummaryRepository itemSummaryRepository;
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private QueryExecutor queryExecutor;
     private ItemSummaryServiceImpl underTest;
 
+    @BeforeEach
+    void setUp() {
+        queryExecutor = new QueryExecutor(transactionManager, new QueryExecutorProp(4, 0, Duration.ofSeconds(5)));
+        underTest = new ItemSummaryServiceImpl(itemSummaryMapper, itemSummaryRepository, queryExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryExecutor.destroy();
+    }
+
     @Test
     void getSummary_returnsCorrectItemSummaryResponse() {
         ItemSummaryQualityProjection qualityProjection = getQualityProjection();